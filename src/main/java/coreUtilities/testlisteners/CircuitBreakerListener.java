@@ -0,0 +1,51 @@
+package coreUtilities.testlisteners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import rest.CircuitBreaker;
+import rest.CircuitOpenException;
+import restConfig.ConfigManager;
+
+/**
+ * Skips tests while the OrangeHRM host is known to be down.
+ *
+ * <p>
+ * Before each test method the {@link CircuitBreaker} of <code>base.url</code>
+ * is checked; while it is open the test is skipped without running, with the
+ * breaker's description as the reason. A test that runs into an open breaker
+ * part way through, and fails with a {@link CircuitOpenException}, is reported
+ * as skipped as well rather than failed.
+ */
+public class CircuitBreakerListener implements IInvokedMethodListener
+{
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		if (method.isTestMethod() && ConfigManager.config().getBoolean("circuit.enabled", true)) {
+			CircuitBreaker breaker = CircuitBreaker.forUrl(ConfigManager.config().baseUrl());
+			if (breaker.isRejecting()) {
+				throw new SkipException(breaker.describe());
+			}
+		}
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE) {
+			return;
+		}
+		for (Throwable cause = testResult.getThrowable(); cause != null; cause = cause.getCause()) {
+			if (cause instanceof CircuitOpenException) {
+				testResult.setStatus(ITestResult.SKIP);
+				testResult.setThrowable(new SkipException(cause.getMessage(), testResult.getThrowable()));
+				return;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package coreUtilities.testlisteners;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import rest.FixtureCleanup;
+import rest.LoginUtil;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Deletes the entities the suite created once it has finished.
+ *
+ * <p>
+ * With <code>fixture.cleanup.on.finish=true</code> the entities tracked by
+ * {@link FixtureCleanup} are deleted in bulk. Entities whose names start with
+ * one of the comma separated <code>fixture.cleanup.sweep.prefixes</code> are
+ * swept as well, including those of earlier runs. A failing cleanup is
+ * reported but does not change the results of the suite.
+ */
+public class FixtureCleanupListener implements ISuiteListener
+{
+	@Override
+	public void onFinish(ISuite suite) {
+		Config config = ConfigManager.config();
+		String prefixes = config.get("fixture.cleanup.sweep.prefixes", "");
+		try {
+			if (config.getBoolean("fixture.cleanup.on.finish", true)) {
+				report("Fixture cleanup deleted", FixtureCleanup.cleanUpTracked());
+			}
+			if (!prefixes.trim().isEmpty()) {
+				List<String> sweep = Arrays.asList(prefixes.split(","));
+				report("Fixture sweep of " + sweep + " deleted", FixtureCleanup.sweep(LoginUtil.login(), sweep));
+			}
+		} catch (RuntimeException e) {
+			System.err.println("Fixture cleanup failed: " + e);
+		}
+	}
+
+	private static void report(String message, Map<FixtureCleanup.Resource, Integer> deleted) {
+		int total = 0;
+		for (int count : deleted.values()) {
+			total += count;
+		}
+		if (total > 0) {
+			System.out.println(message + ": " + deleted);
+		}
+	}
+
+}
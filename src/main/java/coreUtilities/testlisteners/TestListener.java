@@ -8,11 +8,16 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 
 import coreUtilities.utils.ExtentReportManager;
+import rest.RateLimiter;
+import rest.ResponseCache;
+import rest.RetryPolicy;
 import static coreUtilities.testutils.TestUtils.businessTestFile;
 import static coreUtilities.testutils.TestUtils.currentTest;
 import static coreUtilities.testutils.TestUtils.yakshaAssert;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 
@@ -29,6 +34,16 @@ public class TestListener implements ITestListener
  
     public synchronized void onFinish(ITestContext context) {
         System.out.println(("Extent Reports Version 3  Test Suite is ending!"));
+        if (!RetryPolicy.retryCounts().isEmpty()) {
+            System.out.println("Request retries per endpoint: " + RetryPolicy.retryCounts()
+                    + ", skipped for retry budget: " + RetryPolicy.budgetExhaustedCount());
+        }
+        for (RateLimiter limiter : RateLimiter.limiters().values()) {
+            System.out.println("Rate limit " + limiter);
+        }
+        if (ResponseCache.isEnabled()) {
+            System.out.println("Response cache: " + ResponseCache.stats());
+        }
         extent.flush();
     }
  
@@ -36,10 +51,14 @@ public class TestListener implements ITestListener
         System.out.println((result.getMethod().getMethodName() + " started!"));
         ExtentTest extentTest = extent.createTest(result.getMethod().getMethodName(),result.getMethod().getDescription());
         test.set(extentTest);
+        // retries and permit waits before this test started belong to no test
+        RetryPolicy.takeThreadRetryCounts();
+        RateLimiter.takeThreadWaitNanos();
     }
  
     public synchronized void onTestSuccess(ITestResult result) {
        System.out.println((result.getMethod().getMethodName() + " passed!"));
+        recordRequestStats(result);
         test.get().pass("Test passed");
         try {
             yakshaAssert(result.getMethod().getMethodName(), true, businessTestFile);
@@ -52,6 +71,7 @@ public class TestListener implements ITestListener
     public synchronized void onTestFailure(ITestResult result) {
         System.out.println((result.getMethod().getMethodName() + " failed!"));
         System.out.println(result.getThrowable().toString());
+        recordRequestStats(result);
         try {
             yakshaAssert(result.getMethod().getMethodName(), false, businessTestFile);
         } catch (IOException e) {
@@ -63,6 +83,7 @@ public class TestListener implements ITestListener
  
     public synchronized void onTestSkipped(ITestResult result) {
         System.out.println((result.getMethod().getMethodName() + " skipped!"));
+        recordRequestStats(result);
         try {
             yakshaAssert(result.getMethod().getMethodName(), false, businessTestFile);
         } catch (IOException e) {
@@ -76,4 +97,29 @@ public class TestListener implements ITestListener
         System.out.println(("onTestFailedButWithinSuccessPercentage for " + result.getMethod().getMethodName()));
     }	
 
+    /**
+     * Attaches the request retries made by the test's thread, per endpoint, and
+     * its time spent waiting for rate-limit permits to the result (attributes
+     * <code>retries</code> and <code>rateLimitWaitMs</code>) and to the report.
+     * The wait is part of the test's duration but not of any response time.
+     */
+    private static void recordRequestStats(ITestResult result) {
+        Map<String, Integer> retries = RetryPolicy.takeThreadRetryCounts();
+        if (!retries.isEmpty()) {
+            result.setAttribute("retries", retries);
+            System.out.println(result.getMethod().getMethodName() + " request retries: " + retries);
+            if (test.get() != null) {
+                test.get().info("Request retries: " + retries);
+            }
+        }
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(RateLimiter.takeThreadWaitNanos());
+        if (waitMs > 0) {
+            result.setAttribute("rateLimitWaitMs", waitMs);
+            System.out.println(result.getMethod().getMethodName() + " waited for rate limit: " + waitMs + " ms");
+            if (test.get() != null) {
+                test.get().info("Waited for rate limit: " + waitMs + " ms");
+            }
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,104 +1,72 @@
 package rest;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
-import java.util.Random;
-import java.util.Set;
 
 import org.testng.Assert;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
-import io.restassured.path.json.JsonPath;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.response.Response;
+import rest.dto.Currency;
+import rest.dto.EmployeeSubunit;
+import rest.dto.EmployeeSubunitDecoder;
+import rest.dto.EmploymentStatus;
+import rest.dto.EmploymentStatusDecoder;
+import rest.dto.Envelope;
+import rest.dto.JobCategory;
+import rest.dto.JobCategoryDecoder;
+import rest.dto.PayGrade;
+import rest.dto.PayGradeDecoder;
+import rest.dto.Subunit;
+import restConfig.Config;
+import restConfig.ConfigManager;
 
 public class ApiUtil {
-	private static final Set<Integer> usedNumbers = new HashSet<>();
-	private static final Random random = new Random();
-	private static String BASE_URL;
-	Properties prop;
+	private static volatile String BASE_URL = ConfigManager.config().baseUrl();
+
+	static {
+		ConfigManager.addListener(config -> BASE_URL = config.baseUrl());
+	}
 
 	/**
-	 * Retrieves the base URL from the configuration properties file.
+	 * Returns the base URL from the current configuration snapshot.
 	 *
 	 * <p>
-	 * This method loads the properties from the file located at
-	 * <code>{user.dir}/src/main/resources/config.properties</code> and extracts the
-	 * value associated with the key <code>base.url</code>. The value is stored in
-	 * the static variable <code>BASE_URL</code> and returned.
+	 * The value is <code>base.url</code> from <code>config.properties</code>,
+	 * unless it is overridden by a system property or environment variable (see
+	 * {@link Config}). It is the URL every request of this class is sent to and is
+	 * updated when the configuration is reloaded.
 	 *
-	 * @return the base URL string if successfully read from the properties file;
-	 *         {@code null} if an I/O error occurs while reading the file.
+	 * @return the base URL, without a trailing slash
 	 */
 	public String getBaseUrl() {
-		prop = new Properties();
-		try (FileInputStream fis = new FileInputStream(
-				System.getProperty("user.dir") + "\\src\\main\\resources\\config.properties")) {
-			prop.load(fis);
-			BASE_URL = prop.getProperty("base.url");
-			return BASE_URL;
-		} catch (IOException e) {
-			e.printStackTrace();
-			return null;
-		}
+		return BASE_URL;
 	}
 
 	/**
-	 * Retrieves the username from the configuration properties file.
-	 *
-	 * <p>
-	 * This method reads the properties from the file located at
-	 * <code>{user.dir}/src/main/resources/config.properties</code> and returns the
-	 * value associated with the key <code>username</code>.
+	 * Returns the username from the current configuration snapshot.
 	 *
-	 * @return the username as a {@code String} if found in the properties file;
-	 *         {@code null} if an I/O error occurs while reading the file.
+	 * @return the value of <code>username</code>, or {@code null} if it is not
+	 *         configured
 	 */
 	public String getUsername() {
-		prop = new Properties();
-		try (FileInputStream fis = new FileInputStream(
-				System.getProperty("user.dir") + "\\src\\main\\resources\\config.properties")) {
-			prop.load(fis);
-			return prop.getProperty("username");
-		} catch (IOException e) {
-			e.printStackTrace();
-			return null;
-		}
+		return ConfigManager.config().username();
 	}
 
 	/**
-	 * Retrieves the password value from the configuration properties file.
-	 *
-	 * <p>
-	 * This method reads the <code>config.properties</code> file located in the
-	 * <code>src/main/resources</code> directory relative to the project root. It
-	 * loads the properties from the file and returns the value associated with the
-	 * <code>password</code> key.
-	 *
-	 * <p>
-	 * If an <code>IOException</code> occurs while accessing or reading the file,
-	 * the exception stack trace is printed and the method returns
-	 * <code>null</code>.
+	 * Returns the password from the current configuration snapshot.
 	 *
-	 * @return the password value as a <code>String</code> from the properties file,
-	 *         or <code>null</code> if an error occurs during file access
+	 * @return the value of <code>password</code>, or {@code null} if it is not
+	 *         configured
 	 */
 	public String getPassword() {
-		prop = new Properties();
-		try (FileInputStream fis = new FileInputStream(
-				System.getProperty("user.dir") + "\\src\\main\\resources\\config.properties")) {
-			prop.load(fis);
-			return prop.getProperty("password");
-		} catch (IOException e) {
-			e.printStackTrace();
-			return null;
-		}
+		return ConfigManager.config().password();
 	}
 
 	/**
@@ -122,8 +90,8 @@ public class ApiUtil {
 	 *         and status line
 	 */
 	public CustomResponse GetLogin(String endpoint, String cookieValue, Map<String, String> body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
-				"application/json");
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.header("Content-Type", "application/json");
 
 		Response response = request.get(BASE_URL + endpoint); // ✅ Send the request
 		int statusCode = response.getStatusCode();
@@ -154,8 +122,8 @@ public class ApiUtil {
 	 *         and status line
 	 */
 	public CustomResponse GetEmpActionSummary(String endpoint, String cookieValue, Map<String, String> body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
-				"application/json");
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.header("Content-Type", "application/json");
 		Response response = request.get(BASE_URL + endpoint);
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
@@ -189,13 +157,17 @@ public class ApiUtil {
 	 *         status line, and extracted permission flags from the response body
 	 */
 	public CustomResponse GetDashboardShortcut(String endpoint, String cookieValue, Map<String, String> body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
-				"application/json");
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.header("Content-Type", "application/json");
 		Response response = request.get(BASE_URL + endpoint);
+		return parseDashboardShortcut(response);
+	}
+
+	static CustomResponse parseDashboardShortcut(Response response) {
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
-		JsonPath jsonPath = response.jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
+		JsonNode json = JsonPathAccessor.read(response);
+		Map<String, Object> data = JsonPathAccessor.DATA.getMap(json);
 
 		Boolean leaveAssignLeave = (Boolean) data.get("leave.assign_leave");
 		Boolean leavLeaveList = (Boolean) data.get("leave.leave_list");
@@ -205,7 +177,7 @@ public class ApiUtil {
 		Boolean timeMyTimesheet = (Boolean) data.get("time.my_timesheet");
 
 		return new CustomResponse(response, statusCode, statusLine, leaveAssignLeave, leavLeaveList, leaveApplyLeave,
-				leaveMyLeave, timeEmployeeTimesheet, timeMyTimesheet);
+				leaveMyLeave, timeEmployeeTimesheet, timeMyTimesheet).withJson(json);
 	}
 
 	/**
@@ -229,8 +201,8 @@ public class ApiUtil {
 	 *         and status line
 	 */
 	public CustomResponse GetEmpLeaveInfo(String endpoint, String cookieValue, Map<String, String> body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
-				"application/json");
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.header("Content-Type", "application/json");
 		Response response = request.get(BASE_URL + endpoint);
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
@@ -262,23 +234,26 @@ public class ApiUtil {
 	 *         status line, subunit ID, subunit name, and subunit employee count
 	 */
 	public CustomResponse GetEmpSubunit(String endpoint, String cookieValue, Map<String, String> body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue).header("Content-Type",
-				"application/json");
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.header("Content-Type", "application/json");
 		Response response = request.get(BASE_URL + endpoint);
-		int statusCode = response.getStatusCode();
-		String statusLine = response.getStatusLine();
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> dataList = jsonPath.getList("data");
-		Map<String, Object> firstItem = dataList.get(0);
-		Map<String, Object> subunit = (Map<String, Object>) firstItem.get("subunit");
-
-		int subUnitId = (int) subunit.get("id");
-		String subUnitName = (String) subunit.get("name");
-		int subUnitCount = (int) firstItem.get("count");
 
 		if (body != null) {
 			request.body(body);
 		}
+		return parseEmpSubunit(response);
+	}
+
+	static CustomResponse parseEmpSubunit(Response response) {
+		int statusCode = response.getStatusCode();
+		String statusLine = response.getStatusLine();
+		EmployeeSubunit firstItem = Envelope.read(response.asByteArray(), EmployeeSubunitDecoder.INSTANCE).first();
+		Subunit subunit = firstItem.getSubunit();
+
+		int subUnitId = subunit.getId();
+		String subUnitName = subunit.getName();
+		int subUnitCount = firstItem.getCount();
+
 		return new CustomResponse(response, statusCode, statusLine, subUnitId, subUnitName, subUnitCount);
 	}
 
@@ -303,31 +278,30 @@ public class ApiUtil {
 	 *         status line, lists of employee IDs, names, and currency details
 	 */
 	public CustomResponse PutEmpName(String endpoint, String cookieValue, Object body) {
-		RequestSpecification request = RestAssured.given().cookie("orangehrm", cookieValue)
+		RequestSpecification request = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
 				.header("Content-Type", "application/json").body(body);
 		Response response = request.put(BASE_URL + endpoint);
+		return parseEmpName(response);
+	}
 
+	static CustomResponse parseEmpName(Response response) {
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
 
-		JsonPath jsonPath = response.jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
+		PayGrade data = Envelope.read(response.asByteArray(), PayGradeDecoder.INSTANCE).first();
 
 		// Store ID and name in lists (each with a single value)
-		List<Integer> idList = new ArrayList<>();
+		List<Integer> idList = new IntList();
 		List<String> nameList = new ArrayList<>();
 
-		idList.add((Integer) data.get("id"));
-		nameList.add((String) data.get("name"));
+		idList.add(data.getId());
+		nameList.add(data.getName());
 
 		// Extract currencies
-		List<Map<String, Object>> currencies = (List<Map<String, Object>>) data.get("currencies");
 		List<String> currencyDetails = new ArrayList<>();
 
-		for (Map<String, Object> currency : currencies) {
-			String currencyName = (String) currency.get("name");
-			String currencyId = (String) currency.get("id");
-			currencyDetails.add("Currency Name: " + currencyName + ", Currency ID: " + currencyId);
+		for (Currency currency : data.getCurrencies()) {
+			currencyDetails.add("Currency Name: " + currency.getName() + ", Currency ID: " + currency.getId());
 		}
 		return new CustomResponse(response, statusCode, statusLine, idList, nameList, currencyDetails);
 	}
@@ -353,24 +327,59 @@ public class ApiUtil {
 	 * @return a {@link CustomResponse} object containing the response, status code,
 	 *         status line, and lists with the created employee status ID and name
 	 */
-	public CustomResponse PostEmpStatus(String endpoint, String cookieValue, String body) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue)
+	public CustomResponse PostEmpStatus(String endpoint, String cookieValue, byte[] body) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
 				.header("Content-Type", "application/json").body(body).post(BASE_URL + endpoint);
+		return parseIdAndName(response);
+	}
+
+	/**
+	 * Same as {@link #PostEmpStatus(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param body        the JSON body
+	 * @return the parsed response
+	 */
+	public CustomResponse PostEmpStatus(String endpoint, String cookieValue, String body) {
+		return PostEmpStatus(endpoint, cookieValue, body.getBytes(StandardCharsets.UTF_8));
+	}
 
+	/**
+	 * Same as {@link #PostEmpStatus(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PostEmpStatus(String endpoint, String cookieValue, BodyTemplate template, Object... values) {
+		return PostEmpStatus(endpoint, cookieValue, template.render(values));
+	}
+
+	static CustomResponse parseIdAndName(Response response) {
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
 
-		JsonPath jsonPath = response.jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
+		JsonNode json = JsonPathAccessor.read(response);
+		Map<String, Object> data = JsonPathAccessor.DATA.getMap(json);
 
 		// Store ID and name in lists (each with a single value)
-		List<Integer> idList = new ArrayList<>();
+		List<Integer> idList = new IntList();
 		List<String> nameList = new ArrayList<>();
 
-		idList.add((Integer) data.get("id"));
+		Object id = data.get("id");
+		if (!(id instanceof Number)) {
+			throw new IllegalStateException("Response data has no integer id: " + data);
+		}
+		idList.add(((Number) id).intValue());
 		nameList.add((String) data.get("name"));
 
-		return new CustomResponse(response, statusCode, statusLine, idList, nameList);
+		return new CustomResponse(response, statusCode, statusLine, idList, nameList).withJson(json);
 	}
 
 	/**
@@ -397,24 +406,11 @@ public class ApiUtil {
 	public CustomResponse PutEmpStatus(String endpoint, String cookieValue, Object requestBody) {
 		System.out.println("Requestbody in apiutil: " + requestBody);
 
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue)
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
 				.header("Content-Type", "application/json").body(requestBody).put(BASE_URL + endpoint);
 
-		int statusCode = response.getStatusCode();
-		String statusLine = response.getStatusLine();
 		System.out.println("Raw Response:\n" + response.getBody().asString());
-
-		JsonPath jsonPath = response.jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
-
-		// Store ID and name in lists (each with a single value)
-		List<Integer> idList = new ArrayList<>();
-		List<String> nameList = new ArrayList<>();
-
-		idList.add((Integer) data.get("id"));
-		nameList.add((String) data.get("name"));
-
-		return new CustomResponse(response, statusCode, statusLine, idList, nameList);
+		return parseIdAndName(response);
 	}
 
 	/**
@@ -438,49 +434,56 @@ public class ApiUtil {
 	 * @return a {@link CustomResponse} object containing the response, status code,
 	 *         status line, and lists with the created employee ID and name
 	 */
-	public CustomResponse PostEmpName(String endpoint, String cookieValue, String body) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue)
+	public CustomResponse PostEmpName(String endpoint, String cookieValue, byte[] body) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
 				.header("Content-Type", "application/json").body(body).post(BASE_URL + endpoint);
+		return parseIdAndName(response);
+	}
 
-		int statusCode = response.getStatusCode();
-		String statusLine = response.getStatusLine();
-
-		JsonPath jsonPath = response.jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
-
-		// Store ID and name in lists (each with a single value)
-		List<Integer> idList = new ArrayList<>();
-		List<String> nameList = new ArrayList<>();
-
-		idList.add((Integer) data.get("id"));
-		nameList.add((String) data.get("name"));
+	/**
+	 * Same as {@link #PostEmpName(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param body        the JSON body
+	 * @return the parsed response
+	 */
+	public CustomResponse PostEmpName(String endpoint, String cookieValue, String body) {
+		return PostEmpName(endpoint, cookieValue, body.getBytes(StandardCharsets.UTF_8));
+	}
 
-		return new CustomResponse(response, statusCode, statusLine, idList, nameList);
+	/**
+	 * Same as {@link #PostEmpName(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PostEmpName(String endpoint, String cookieValue, BodyTemplate template, Object... values) {
+		return PostEmpName(endpoint, cookieValue, template.render(values));
 	}
 
 	/**
-	 * Generates a unique name by appending a random 4-digit number to the provided
+	 * Generates a unique name by appending a compact unique ID to the provided
 	 * base string.
 	 *
 	 * <p>
-	 * This method generates a random number between 1000 and 9999 and ensures its
-	 * uniqueness by checking against the <code>usedNumbers</code> set. Once a
-	 * unique number is identified, it is added to the set to avoid future
-	 * duplicates.
+	 * The ID comes from {@link UniqueIdGenerator}: it combines the time, a per-JVM
+	 * node ID and a per-thread sequence, so names are unique across parallel
+	 * tests and JVMs without a shared set of used numbers. The result fits
+	 * OrangeHRM's 50 character name limit.
 	 *
-	 * @param base the base string to which the unique 4-digit number will be
-	 *             appended
+	 * @param base the base string to which the unique ID will be appended
 	 * @return a <code>String</code> combining the base value and the generated
-	 *         unique number
+	 *         unique ID
 	 */
 	public static String generateUniqueName(String base) {
-		int uniqueNumber;
-		do {
-			uniqueNumber = 1000 + random.nextInt(9000);
-		} while (usedNumbers.contains(uniqueNumber));
-
-		usedNumbers.add(uniqueNumber);
-		return base + uniqueNumber;
+		return UniqueIdGenerator.name(base);
 	}
 
 	/*
@@ -510,16 +513,20 @@ public class ApiUtil {
 	 */
 
 	public CustomResponse getEmployeeLocations(String endpoint, String cookieValue) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(BASE_URL + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return parseEmployeeLocations(response);
+	}
 
+	static CustomResponse parseEmployeeLocations(Response response) {
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
 
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> locationList = jsonPath.getList("data");
-		Map<String, Object> metaMap = jsonPath.getMap("meta");
+		JsonNode json = JsonPathAccessor.read(response);
+		List<Map<String, Object>> locationList = JsonPathAccessor.DATA.getList(json);
+		Map<String, Object> metaMap = JsonPathAccessor.META.getMap(json);
 
-		return new CustomResponse(response, statusCode, statusLine, locationList, metaMap);
+		return new CustomResponse(response, statusCode, statusLine, locationList, metaMap).withJson(json);
 	}
 
 	/*
@@ -552,40 +559,30 @@ public class ApiUtil {
 	 */
 
 	public CustomResponse getAdminUsers(String endpoint, String cookieValue) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(BASE_URL + endpoint);
-
-		int statusCode = response.getStatusCode();
-		String statusLine = response.getStatusLine();
-		JsonPath jsonPath = response.jsonPath();
-
-		List<Map<String, Object>> userList = jsonPath.getList("data");
-		Map<String, Object> metaMap = jsonPath.getMap("meta");
-
-		// Extract extra fields
-		List<Integer> userIdList = new ArrayList<>();
-		List<String> userNameList = new ArrayList<>();
-		Set<String> userRoleNameSet = new HashSet<>();
-		List<String> employeeIdList = new ArrayList<>();
-
-		for (Map<String, Object> user : userList) {
-			userIdList.add((Integer) user.get("id"));
-			userNameList.add((String) user.get("userName"));
-
-			Map<String, Object> userRole = (Map<String, Object>) user.get("userRole");
-			if (userRole != null) {
-				userRoleNameSet.add((String) userRole.get("name"));
-			}
-
-			Map<String, Object> employee = (Map<String, Object>) user.get("employee");
-			if (employee != null) {
-				employeeIdList.add((String) employee.get("employeeId"));
-			}
-		}
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return parseAdminUsers(response);
+	}
 
-		int userCount = userList.size();
+	static CustomResponse parseAdminUsers(Response response) {
+		return StreamingJsonExtractor.adminUsers(response, false);
+	}
 
-		return new CustomResponse(response, statusCode, statusLine, userList, metaMap, userIdList, userNameList,
-				userRoleNameSet, employeeIdList, userCount);
+	/**
+	 * Same as {@link #getAdminUsers(String, String)}, optionally in fields-only
+	 * mode: the ID, name, role and employee ID lists are filled while streaming the
+	 * body, but <code>userList</code> is left <code>null</code> so the user
+	 * objects are never materialized.
+	 *
+	 * @param endpoint    the API endpoint path relative to the base URL
+	 * @param cookieValue the OrangeHRM session cookie
+	 * @param fieldsOnly  <code>true</code> to skip retaining <code>userList</code>
+	 * @return the populated {@link CustomResponse}
+	 */
+	public CustomResponse getAdminUsers(String endpoint, String cookieValue, boolean fieldsOnly) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return StreamingJsonExtractor.adminUsers(response, fieldsOnly);
 	}
 
 	/*
@@ -618,35 +615,36 @@ public class ApiUtil {
 	 */
 
 	public CustomResponse getJobTitles(String endpoint, String cookieValue) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(BASE_URL + endpoint);
-
-		int statusCode = response.getStatusCode();
-		String statusLine = response.getStatusLine();
-		JsonPath jsonPath = response.jsonPath();
-
-		List<Map<String, Object>> jobList = jsonPath.getList("data");
-		Map<String, Object> metaMap = jsonPath.getMap("meta");
-
-		// Extract fields
-		List<Integer> jobIdList = new ArrayList<>();
-		List<String> jobTitleList = new ArrayList<>();
-		List<Map<String, Object>> jobSpecList = new ArrayList<>();
-
-		for (Map<String, Object> job : jobList) {
-			jobIdList.add((Integer) job.get("id"));
-			jobTitleList.add((String) job.get("title"));
-
-			Map<String, Object> jobSpec = (Map<String, Object>) job.get("jobSpecification");
-			jobSpecList.add(jobSpec);
-		}
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return parseJobTitles(response);
+	}
 
-		int jobCount = jobList.size();
+	static CustomResponse parseJobTitles(Response response) {
+		return StreamingJsonExtractor.jobTitles(response, false);
+	}
 
-		return new CustomResponse(response, statusCode, statusLine, jobList, metaMap, jobIdList, jobSpecList, jobCount);
+	/**
+	 * Same as {@link #getJobTitles(String, String)}, optionally in fields-only
+	 * mode: the ID and job specification lists are filled while streaming the
+	 * body, but <code>jobTitleDataList</code> is left <code>null</code> so the job
+	 * title objects are never materialized.
+	 *
+	 * @param endpoint    the API endpoint path relative to the base URL
+	 * @param cookieValue the OrangeHRM session cookie
+	 * @param fieldsOnly  <code>true</code> to skip retaining
+	 *                    <code>jobTitleDataList</code>
+	 * @return the populated {@link CustomResponse}
+	 */
+	public CustomResponse getJobTitles(String endpoint, String cookieValue, boolean fieldsOnly) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return StreamingJsonExtractor.jobTitles(response, fieldsOnly);
 	}
 
 	public CustomResponse deleteJobTitleById(String endpoint, String cookieValue) {
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).when().delete(BASE_URL + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue).when()
+				.delete(BASE_URL + endpoint);
 
 		int statusCode = response.getStatusCode();
 		String statusLine = response.getStatusLine();
@@ -689,34 +687,13 @@ public class ApiUtil {
 
 	public CustomResponse GetPaygrades(String endpoint, String cookieValue) {
 		// Send API request
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(BASE_URL + endpoint);
-
-		// Parse JSON response
-		JsonPath jsonPath = response.jsonPath();
-		List<Map<String, Object>> dataList = jsonPath.getList("data");
-
-		// Prepare lists for constructor
-		List<Integer> gradeIdList = new ArrayList<>();
-		List<String> gradeNameList = new ArrayList<>();
-		List<String> currencyList = new ArrayList<>();
-
-		// Extract data
-		for (Map<String, Object> grade : dataList) {
-			gradeIdList.add(((Number) grade.get("id")).intValue());
-			gradeNameList.add((String) grade.get("name"));
-
-			List<Map<String, String>> currencies = (List<Map<String, String>>) grade.get("currencies");
-			if (currencies != null) {
-				for (Map<String, String> currency : currencies) {
-					String currencyDetail = currency.get("name") + " (" + currency.get("id") + ")";
-					currencyList.add(currencyDetail);
-				}
-			}
-		}
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(BASE_URL + endpoint);
+		return parsePaygrades(response);
+	}
 
-		// Return populated CustomResponse
-		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), gradeIdList,
-				gradeNameList, currencyList);
+	static CustomResponse parsePaygrades(Response response) {
+		return StreamingJsonExtractor.paygrades(response);
 	}
 
 	/*
@@ -749,29 +726,49 @@ public class ApiUtil {
 	 * updated accordingly.
 	 */
 
+	public CustomResponse PutPaygrades(String endpoint, String cookieValue, byte[] requestBody) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody).when()
+				.put(BASE_URL + endpoint).then().extract().response();
+		return parseUpdatedPaygrades(response);
+	}
+
+	/**
+	 * Same as {@link #PutPaygrades(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response
+	 */
 	public CustomResponse PutPaygrades(String endpoint, String cookieValue, String requestBody) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).when().put(BASE_URL + endpoint).then()
-				.extract().response();
+		return PutPaygrades(endpoint, cookieValue, requestBody.getBytes(StandardCharsets.UTF_8));
+	}
 
-		JsonPath jsonPath = response.jsonPath();
+	/**
+	 * Same as {@link #PutPaygrades(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PutPaygrades(String endpoint, String cookieValue, BodyTemplate template, Object... values) {
+		return PutPaygrades(endpoint, cookieValue, template.render(values));
+	}
 
+	static CustomResponse parseUpdatedPaygrades(Response response) {
 		// Prepare lists for constructor
-		List<Integer> gradeIdList = new ArrayList<>();
+		List<Integer> gradeIdList = new IntList();
 		List<String> gradeNameList = new ArrayList<>();
 		List<String> currencyList = new ArrayList<>();
 
-		Object dataObj = jsonPath.get("data");
-
-		if (dataObj instanceof List) {
-			// Handle if API returns a list
-			List<Map<String, Object>> dataList = (List<Map<String, Object>>) dataObj;
-			for (Map<String, Object> grade : dataList) {
-				extractGradeData(grade, gradeIdList, gradeNameList, currencyList);
-			}
-		} else if (dataObj instanceof Map) {
-			// Handle if API returns a single object
-			Map<String, Object> grade = (Map<String, Object>) dataObj;
+		// "data" may be a single object or a list; the envelope returns both as a list
+		for (PayGrade grade : Envelope.read(response.asByteArray(), PayGradeDecoder.INSTANCE).data()) {
 			extractGradeData(grade, gradeIdList, gradeNameList, currencyList);
 		}
 
@@ -804,21 +801,52 @@ public class ApiUtil {
 	 * should be updated accordingly.
 	 */
 
+	public CustomResponse DeleteJobTitleById(String endpoint, String cookieValue, byte[] requestBody) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody).when()
+				.delete(BASE_URL + endpoint).then().extract().response();
+		return parseDeletedIds(response);
+	}
+
+	/**
+	 * Same as {@link #DeleteJobTitleById(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response
+	 */
 	public CustomResponse DeleteJobTitleById(String endpoint, String cookieValue, String requestBody) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).when().delete(BASE_URL + endpoint).then()
-				.extract().response();
+		return DeleteJobTitleById(endpoint, cookieValue, requestBody.getBytes(StandardCharsets.UTF_8));
+	}
 
-		JsonPath jsonPath = response.jsonPath();
+	/**
+	 * Same as {@link #DeleteJobTitleById(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse DeleteJobTitleById(String endpoint, String cookieValue,
+			BodyTemplate template, Object... values) {
+		return DeleteJobTitleById(endpoint, cookieValue, template.render(values));
+	}
 
+	static CustomResponse parseDeletedIds(Response response) {
 		// Extract [id] from: { "data": [19], ... }
-		List<Integer> empStatusIdList = jsonPath.getList("data", Integer.class);
+		JsonNode json = JsonPathAccessor.read(response);
+		List<Integer> empStatusIdList = JsonPathAccessor.DATA.getIntList(json);
 
 		// For DELETE, name list is usually not present — leave empty
 		List<String> empStatusNameList = new ArrayList<>();
 
 		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), empStatusIdList,
-				empStatusNameList);
+				empStatusNameList).withJson(json);
 	}
 
 	/*
@@ -849,22 +877,50 @@ public class ApiUtil {
 	 * implementation should be updated to handle that case safely.
 	 */
 
+	public CustomResponse PostEmpStatuses(String endpoint, String cookieValue, byte[] requestBody) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody).when()
+				.post(BASE_URL + endpoint).then().extract().response();
+		return parseCreatedEmploymentStatus(response);
+	}
+
+	/**
+	 * Same as {@link #PostEmpStatuses(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response
+	 */
 	public CustomResponse PostEmpStatuses(String endpoint, String cookieValue, String requestBody) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).when().post(BASE_URL + endpoint).then()
-				.extract().response();
+		return PostEmpStatuses(endpoint, cookieValue, requestBody.getBytes(StandardCharsets.UTF_8));
+	}
 
-		JsonPath jsonPath = response.jsonPath();
+	/**
+	 * Same as {@link #PostEmpStatuses(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PostEmpStatuses(String endpoint, String cookieValue,
+			BodyTemplate template, Object... values) {
+		return PostEmpStatuses(endpoint, cookieValue, template.render(values));
+	}
 
-		List<Integer> empStatusIdList = new ArrayList<>();
+	static CustomResponse parseCreatedEmploymentStatus(Response response) {
+		List<Integer> empStatusIdList = new IntList();
 		List<String> empStatusNameList = new ArrayList<>();
 
-		Object dataObj = jsonPath.get("data");
-		if (dataObj instanceof Map) {
-			Map<String, Object> status = (Map<String, Object>) dataObj;
-			empStatusIdList.add(((Number) status.get("id")).intValue());
-			empStatusNameList.add((String) status.get("name"));
-//        extractEmploymentStatusData(status, empStatusIdList, empStatusNameList);
+		EmploymentStatus status = Envelope.read(response.asByteArray(), EmploymentStatusDecoder.INSTANCE).first();
+		if (status != null) {
+			empStatusIdList.add(status.getId());
+			empStatusNameList.add(status.getName());
 		}
 
 		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), empStatusIdList,
@@ -900,28 +956,50 @@ public class ApiUtil {
 	 * updates.
 	 */
 
+	public CustomResponse PutEmploymentStatus(String endpoint, String cookieValue, byte[] requestBody) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody).when()
+				.put(BASE_URL + endpoint).then().extract().response();
+		return parseEmploymentStatuses(response);
+	}
+
+	/**
+	 * Same as {@link #PutEmploymentStatus(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response
+	 */
 	public CustomResponse PutEmploymentStatus(String endpoint, String cookieValue, String requestBody) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).when().put(BASE_URL + endpoint).then()
-				.extract().response();
+		return PutEmploymentStatus(endpoint, cookieValue, requestBody.getBytes(StandardCharsets.UTF_8));
+	}
 
-		JsonPath jsonPath = response.jsonPath();
+	/**
+	 * Same as {@link #PutEmploymentStatus(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PutEmploymentStatus(String endpoint, String cookieValue,
+			BodyTemplate template, Object... values) {
+		return PutEmploymentStatus(endpoint, cookieValue, template.render(values));
+	}
 
+	static CustomResponse parseEmploymentStatuses(Response response) {
 		// Prepare lists for constructor
-		List<Integer> empStatusIdList = new ArrayList<>();
+		List<Integer> empStatusIdList = new IntList();
 		List<String> empStatusNameList = new ArrayList<>();
 
-		Object dataObj = jsonPath.get("data");
-
-		if (dataObj instanceof List) {
-			// API returned a list
-			List<Map<String, Object>> dataList = (List<Map<String, Object>>) dataObj;
-			for (Map<String, Object> status : dataList) {
-				extractEmploymentStatusData(status, empStatusIdList, empStatusNameList);
-			}
-		} else if (dataObj instanceof Map) {
-			// API returned a single object
-			Map<String, Object> status = (Map<String, Object>) dataObj;
+		// "data" may be a single object or a list; the envelope returns both as a list
+		for (EmploymentStatus status : Envelope.read(response.asByteArray(), EmploymentStatusDecoder.INSTANCE)
+				.data()) {
 			extractEmploymentStatusData(status, empStatusIdList, empStatusNameList);
 		}
 
@@ -953,19 +1031,48 @@ public class ApiUtil {
 	 * "data", additional parsing logic should be added to handle it safely.
 	 */
 
+	public CustomResponse PostJobCategories(String endpoint, String cookieValue, byte[] requestBody) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody).when()
+				.post(BASE_URL + endpoint).then().extract().response();
+		return parseJobCategory(response);
+	}
+
+	/**
+	 * Same as {@link #PostJobCategories(String, String, byte[])}, with the body given as a
+	 * string and sent as UTF-8.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response
+	 */
 	public CustomResponse PostJobCategories(String endpoint, String cookieValue, String requestBody) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).when().post(BASE_URL + endpoint).then()
-				.extract().response();
+		return PostJobCategories(endpoint, cookieValue, requestBody.getBytes(StandardCharsets.UTF_8));
+	}
 
-		JsonPath jsonPath = response.jsonPath();
+	/**
+	 * Same as {@link #PostJobCategories(String, String, byte[])}, with the body rendered
+	 * from a template.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param template    the body template
+	 * @param values      the template values, in the order of
+	 *                    {@link BodyTemplate#names()}
+	 * @return the parsed response
+	 */
+	public CustomResponse PostJobCategories(String endpoint, String cookieValue,
+			BodyTemplate template, Object... values) {
+		return PostJobCategories(endpoint, cookieValue, template.render(values));
+	}
 
-		List<Integer> jobCategoryIdList = new ArrayList<>();
+	static CustomResponse parseJobCategory(Response response) {
+		List<Integer> jobCategoryIdList = new IntList();
 		List<String> jobCategoryNameList = new ArrayList<>();
 
-		Object dataObj = jsonPath.get("data");
-		if (dataObj instanceof Map) {
-			Map<String, Object> jobCat = (Map<String, Object>) dataObj;
+		JobCategory jobCat = Envelope.read(response.asByteArray(), JobCategoryDecoder.INSTANCE).first();
+		if (jobCat != null) {
 			extractJobCategoryData(jobCat, jobCategoryIdList, jobCategoryNameList);
 		}
 
@@ -974,51 +1081,44 @@ public class ApiUtil {
 	}
 
 	private List<Integer> getAllJobTitleIds(String cookieValue) {
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue).when()
-				.get(BASE_URL + "/web/index.php/api/v2/admin/job-titles").then().extract().response();
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).when().get(BASE_URL + "/web/index.php/api/v2/admin/job-titles").then()
+				.extract().response();
 
-		JsonPath jsonPath = response.jsonPath();
-		return jsonPath.getList("data.id");
+		return JsonPathAccessor.DATA_IDS.getIntList(JsonPathAccessor.read(response));
 	}
 
 // Helper method to extract grade data
-	private void extractGradeData(Map<String, Object> grade, List<Integer> gradeIdList, List<String> gradeNameList,
+	private static void extractGradeData(PayGrade grade, List<Integer> gradeIdList, List<String> gradeNameList,
 			List<String> currencyList) {
-		if (grade.get("id") != null) {
-			gradeIdList.add(((Number) grade.get("id")).intValue());
-		}
-		if (grade.get("name") != null) {
-			gradeNameList.add((String) grade.get("name"));
+		gradeIdList.add(grade.getId());
+		if (grade.getName() != null) {
+			gradeNameList.add(grade.getName());
 		}
 
-		List<Map<String, String>> currencies = (List<Map<String, String>>) grade.get("currencies");
-		if (currencies != null) {
-			for (Map<String, String> currency : currencies) {
-				String currencyDetail = currency.get("name") + " (" + currency.get("id") + ")";
+		if (grade.getCurrencies() != null) {
+			for (Currency currency : grade.getCurrencies()) {
+				String currencyDetail = currency.getName() + " (" + currency.getId() + ")";
 				currencyList.add(currencyDetail);
 			}
 		}
 	}
 // Helper method to extract EmploymentStatusData
 
-	private void extractEmploymentStatusData(Map<String, Object> status, List<Integer> empStatusIdList,
+	private static void extractEmploymentStatusData(EmploymentStatus status, List<Integer> empStatusIdList,
 			List<String> empStatusNameList) {
-		if (status.get("id") != null) {
-			empStatusIdList.add(((Number) status.get("id")).intValue());
-		}
-		if (status.get("name") != null) {
-			empStatusNameList.add((String) status.get("name"));
+		empStatusIdList.add(status.getId());
+		if (status.getName() != null) {
+			empStatusNameList.add(status.getName());
 		}
 	}
 
 //Helper method to extract JobCategoryData
-	private void extractJobCategoryData(Map<String, Object> category, List<Integer> jobCategoryIdList,
+	private static void extractJobCategoryData(JobCategory category, List<Integer> jobCategoryIdList,
 			List<String> jobCategoryNameList) {
-		if (category.get("id") != null) {
-			jobCategoryIdList.add(((Number) category.get("id")).intValue());
-		}
-		if (category.get("name") != null) {
-			jobCategoryNameList.add((String) category.get("name"));
+		jobCategoryIdList.add(category.getId());
+		if (category.getName() != null) {
+			jobCategoryNameList.add(category.getName());
 		}
 	}
 
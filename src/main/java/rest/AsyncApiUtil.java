@@ -0,0 +1,532 @@
+package rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Non-blocking counterpart of {@link ApiUtil}.
+ *
+ * <p>
+ * Every operation of {@link ApiUtil} has a method of the same name here that
+ * returns a {@link CompletableFuture} instead of blocking the calling thread.
+ * Requests are sent through a shared, Netty based {@link AsyncHttpClient}, so a
+ * handful of I/O threads can keep hundreds of requests in flight. Once a
+ * response arrives it is converted to a RestAssured {@link Response} and parsed
+ * by the same code that {@link ApiUtil} uses, so callers receive exactly the
+ * same {@link CustomResponse} fields.
+ *
+ * <p>
+ * JSON parsing runs on the supplied {@link Executor} (the common
+ * {@link ForkJoinPool} by default) rather than on the I/O threads.
+ *
+ * <p>
+ * At most <code>http.async.max.in.flight</code> requests are on the wire at
+ * once; further requests are queued without blocking the caller and are sent as
+ * soon as earlier ones complete. Requests wait for their {@link RateLimiter}
+ * permits on a timer rather than on the calling thread. The client shares the
+ * idle and socket timeouts with {@link HttpClientPool} and uses
+ * <code>http.async.io.threads</code> event loop threads. Server certificates
+ * are validated unless <code>http.async.relaxed.https</code> is
+ * <code>true</code>, for test servers with self-signed certificates.
+ *
+ * <p>
+ * Of the hooks that {@link HttpClientPool#requestSpec()} adds to blocking
+ * calls, async calls only get the {@link RateLimiter} and the invalidation of
+ * the {@link ResponseCache} after a write. They are not sent through the
+ * {@link CircuitBreaker}, are not retried by the {@link RetryPolicy}, are not
+ * answered from the response cache, do not mark expired {@link SessionPool}
+ * sessions, and the entities they create are not tracked by
+ * {@link FixtureCleanup}; callers that create fixtures must
+ * {@link FixtureCleanup#track track} the returned ids themselves.
+ */
+public class AsyncApiUtil {
+
+	private static final AsyncHttpClient CLIENT;
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final int MAX_IN_FLIGHT = HttpClientPool.intProperty("http.async.max.in.flight",
+			HttpClientPool.intProperty("http.pool.max.per.route", 50));
+	private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+	private static final Queue<Runnable> PENDING = new ConcurrentLinkedQueue<>();
+
+	static {
+		DefaultAsyncHttpClientConfig config = new DefaultAsyncHttpClientConfig.Builder().setThreadPoolName("async-api")
+				.setIoThreadsCount(HttpClientPool.intProperty("http.async.io.threads", 2))
+				.setPooledConnectionIdleTimeout(HttpClientPool.intProperty("http.pool.idle.timeout.ms", 30000))
+				.setConnectTimeout(HttpClientPool.intProperty("http.connect.timeout.ms", 10000))
+				.setReadTimeout(HttpClientPool.intProperty("http.socket.timeout.ms", 30000))
+				.setKeepAlive(true)
+				.setUseInsecureTrustManager(ConfigManager.config().getBoolean("http.async.relaxed.https", false))
+				.build();
+		CLIENT = new DefaultAsyncHttpClient(config);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				CLIENT.close();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}, "async-api-shutdown"));
+	}
+
+	private final String baseUrl;
+	private final Executor parseExecutor;
+
+	/**
+	 * Creates an instance that targets <code>base.url</code> from
+	 * <code>config.properties</code>.
+	 */
+	public AsyncApiUtil() {
+		this(ConfigManager.getProperty("base.url"));
+	}
+
+	/**
+	 * Creates an instance that targets the given base URL.
+	 *
+	 * @param baseUrl the OrangeHRM base URL, without a trailing slash
+	 */
+	public AsyncApiUtil(String baseUrl) {
+		this(baseUrl, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an instance that targets the given base URL and parses responses on
+	 * the given executor.
+	 *
+	 * @param baseUrl       the OrangeHRM base URL, without a trailing slash
+	 * @param parseExecutor the executor used to turn responses into
+	 *                      {@link CustomResponse} objects
+	 */
+	public AsyncApiUtil(String baseUrl, Executor parseExecutor) {
+		this.baseUrl = baseUrl;
+		this.parseExecutor = parseExecutor;
+	}
+
+	/**
+	 * Sends a GET request to the login endpoint. The asynchronous form of
+	 * {@link ApiUtil#GetLogin(String, String, Map)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetLogin(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, AsyncApiUtil::plainResponse);
+	}
+
+	/**
+	 * Sends a GET request to the employee action summary endpoint. The asynchronous
+	 * form of {@link ApiUtil#GetEmpActionSummary(String, String, Map)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetEmpActionSummary(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, AsyncApiUtil::plainResponse);
+	}
+
+	/**
+	 * Sends a GET request to the dashboard shortcut endpoint and extracts the
+	 * permission flags. The asynchronous form of
+	 * {@link ApiUtil#GetDashboardShortcut(String, String, Map)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetDashboardShortcut(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parseDashboardShortcut);
+	}
+
+	/**
+	 * Sends a GET request to the employee leave information endpoint. The
+	 * asynchronous form of {@link ApiUtil#GetEmpLeaveInfo(String, String, Map)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetEmpLeaveInfo(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, AsyncApiUtil::plainResponse);
+	}
+
+	/**
+	 * Sends a GET request to the employee subunit endpoint and extracts the subunit
+	 * details. The asynchronous form of
+	 * {@link ApiUtil#GetEmpSubunit(String, String, Map)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetEmpSubunit(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parseEmpSubunit);
+	}
+
+	/**
+	 * Sends a PUT request that updates an employee name and extracts the ID, name
+	 * and currency details. The asynchronous form of
+	 * {@link ApiUtil#PutEmpName(String, String, Object)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param body        the request body, a JSON string or an object serialized
+	 *                    with Jackson
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PutEmpName(String endpoint, String cookieValue, Object body) {
+		return send("PUT", endpoint, cookieValue, body, ApiUtil::parseEmpName);
+	}
+
+	/**
+	 * Sends a POST request that creates an employee status and extracts its ID and
+	 * name. The asynchronous form of
+	 * {@link ApiUtil#PostEmpStatus(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param body        the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PostEmpStatus(String endpoint, String cookieValue, String body) {
+		return send("POST", endpoint, cookieValue, body, ApiUtil::parseIdAndName);
+	}
+
+	/**
+	 * Sends a PUT request that updates an employee status and extracts its ID and
+	 * name. The asynchronous form of
+	 * {@link ApiUtil#PutEmpStatus(String, String, Object)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the request body, a JSON string or an object serialized
+	 *                    with Jackson
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PutEmpStatus(String endpoint, String cookieValue, Object requestBody) {
+		return send("PUT", endpoint, cookieValue, requestBody, ApiUtil::parseIdAndName);
+	}
+
+	/**
+	 * Sends a POST request that creates an employee name entry and extracts its ID
+	 * and name. The asynchronous form of
+	 * {@link ApiUtil#PostEmpName(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param body        the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PostEmpName(String endpoint, String cookieValue, String body) {
+		return send("POST", endpoint, cookieValue, body, ApiUtil::parseIdAndName);
+	}
+
+	/**
+	 * Sends a GET request for the employee locations and extracts them. The
+	 * asynchronous form of {@link ApiUtil#getEmployeeLocations(String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> getEmployeeLocations(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parseEmployeeLocations);
+	}
+
+	/**
+	 * Sends a GET request for the admin users and extracts them. The asynchronous
+	 * form of {@link ApiUtil#getAdminUsers(String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> getAdminUsers(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parseAdminUsers);
+	}
+
+	/**
+	 * Sends a GET request for the job titles and extracts them. The asynchronous
+	 * form of {@link ApiUtil#getJobTitles(String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> getJobTitles(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parseJobTitles);
+	}
+
+	/**
+	 * Sends a DELETE request for the job title in the endpoint. The asynchronous
+	 * form of {@link ApiUtil#deleteJobTitleById(String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> deleteJobTitleById(String endpoint, String cookieValue) {
+		return send("DELETE", endpoint, cookieValue, null, AsyncApiUtil::plainResponse);
+	}
+
+	/**
+	 * Sends a GET request for the pay grades and extracts them. The asynchronous
+	 * form of {@link ApiUtil#GetPaygrades(String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> GetPaygrades(String endpoint, String cookieValue) {
+		return get(endpoint, cookieValue, ApiUtil::parsePaygrades);
+	}
+
+	/**
+	 * Sends a PUT request that updates a pay grade and extracts the updated values.
+	 * The asynchronous form of
+	 * {@link ApiUtil#PutPaygrades(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PutPaygrades(String endpoint, String cookieValue, String requestBody) {
+		return send("PUT", endpoint, cookieValue, requestBody, ApiUtil::parseUpdatedPaygrades);
+	}
+
+	/**
+	 * Sends a DELETE request for the job titles listed in the body and extracts the
+	 * deleted IDs. The asynchronous form of
+	 * {@link ApiUtil#DeleteJobTitleById(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body, for example <code>{"ids":[1,2]}</code>
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> DeleteJobTitleById(String endpoint, String cookieValue,
+			String requestBody) {
+		return send("DELETE", endpoint, cookieValue, requestBody, ApiUtil::parseDeletedIds);
+	}
+
+	/**
+	 * Sends a POST request that creates an employment status and extracts its ID
+	 * and name. The asynchronous form of
+	 * {@link ApiUtil#PostEmpStatuses(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PostEmpStatuses(String endpoint, String cookieValue, String requestBody) {
+		return send("POST", endpoint, cookieValue, requestBody, ApiUtil::parseCreatedEmploymentStatus);
+	}
+
+	/**
+	 * Sends a PUT request that updates an employment status and extracts the
+	 * statuses of the response. The asynchronous form of
+	 * {@link ApiUtil#PutEmploymentStatus(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PutEmploymentStatus(String endpoint, String cookieValue,
+			String requestBody) {
+		return send("PUT", endpoint, cookieValue, requestBody, ApiUtil::parseEmploymentStatuses);
+	}
+
+	/**
+	 * Sends a POST request that creates a job category and extracts its ID and
+	 * name. The asynchronous form of
+	 * {@link ApiUtil#PostJobCategories(String, String, String)}.
+	 *
+	 * @param endpoint    the API endpoint, relative to the base URL
+	 * @param cookieValue the value of the <code>orangehrm</code> cookie
+	 * @param requestBody the JSON body
+	 * @return the parsed response, completed exceptionally if the request or
+	 *         parsing fails
+	 */
+	public CompletableFuture<CustomResponse> PostJobCategories(String endpoint, String cookieValue,
+			String requestBody) {
+		return send("POST", endpoint, cookieValue, requestBody, ApiUtil::parseJobCategory);
+	}
+
+	private CompletableFuture<CustomResponse> get(String endpoint, String cookieValue,
+			Function<Response, CustomResponse> parser) {
+		return send("GET", endpoint, cookieValue, null, parser);
+	}
+
+	private CompletableFuture<CustomResponse> send(String method, String endpoint, String cookieValue, Object body,
+			Function<Response, CustomResponse> parser) {
+		RequestBuilder request = new RequestBuilder(method).setUrl(baseUrl + endpoint)
+				.setHeader("Cookie", "orangehrm=" + cookieValue).setHeader("Content-Type", "application/json");
+		if (body != null) {
+			request.setBody(toJson(body));
+		}
+		Request built = request.build();
+		CompletableFuture<Response> response = RateLimiter.acquireAsyncFor(endpoint)
+				.thenCompose(waited -> execute(built));
+		if (!"GET".equals(method) && ResponseCache.isEnabled()) {
+			// again once the write is done, dropping what reads cached while it was under way
+			ResponseCache.invalidate(baseUrl + endpoint);
+			response = response.whenComplete((done, error) -> ResponseCache.invalidate(baseUrl + endpoint));
+		}
+		return response.thenApplyAsync(parser, parseExecutor);
+	}
+
+	/**
+	 * Queues the request and sends it once fewer than {@link #MAX_IN_FLIGHT}
+	 * requests are outstanding. Never blocks the calling thread.
+	 */
+	private static CompletableFuture<Response> execute(Request request) {
+		CompletableFuture<Response> result = new CompletableFuture<>();
+		PENDING.add(() -> {
+			try {
+				CLIENT.executeRequest(request, new RestAssuredResponseHandler()).toCompletableFuture()
+						.whenComplete((response, error) -> {
+							IN_FLIGHT.decrementAndGet();
+							drain();
+							if (error != null) {
+								result.completeExceptionally(error);
+							} else {
+								result.complete(response);
+							}
+						});
+			} catch (RuntimeException e) {
+				IN_FLIGHT.decrementAndGet();
+				drain();
+				result.completeExceptionally(e);
+			}
+		});
+		drain();
+		return result;
+	}
+
+	private static void drain() {
+		while (!PENDING.isEmpty()) {
+			int current = IN_FLIGHT.get();
+			if (current >= MAX_IN_FLIGHT) {
+				return;
+			}
+			if (!IN_FLIGHT.compareAndSet(current, current + 1)) {
+				continue;
+			}
+			Runnable next = PENDING.poll();
+			if (next == null) {
+				IN_FLIGHT.decrementAndGet();
+			} else {
+				next.run();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of requests currently on the wire.
+	 *
+	 * @return the in-flight request count
+	 */
+	public static int inFlight() {
+		return IN_FLIGHT.get();
+	}
+
+	/**
+	 * Returns the number of requests waiting for an in-flight slot.
+	 *
+	 * @return the queued request count
+	 */
+	public static int queued() {
+		return PENDING.size();
+	}
+
+	private static byte[] toJson(Object body) {
+		if (body instanceof String) {
+			return ((String) body).getBytes(StandardCharsets.UTF_8);
+		}
+		try {
+			return MAPPER.writeValueAsBytes(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Request body could not be serialized to JSON", e);
+		}
+	}
+
+	private static CustomResponse plainResponse(Response response) {
+		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine());
+	}
+
+	/**
+	 * Converts an async-http-client response into a RestAssured {@link Response},
+	 * keeping the protocol version the server answered with so the status line
+	 * matches what RestAssured reports for blocking calls.
+	 */
+	private static final class RestAssuredResponseHandler extends AsyncCompletionHandler<Response> {
+		private volatile String protocol = "HTTP/1.1";
+
+		@Override
+		public State onStatusReceived(HttpResponseStatus status) throws Exception {
+			protocol = status.getProtocolText();
+			return super.onStatusReceived(status);
+		}
+
+		@Override
+		public Response onCompleted(org.asynchttpclient.Response response) {
+			List<Header> headers = new ArrayList<>();
+			for (Map.Entry<String, String> header : response.getHeaders()) {
+				headers.add(new Header(header.getKey(), header.getValue()));
+			}
+			ResponseBuilder builder = new ResponseBuilder().setStatusCode(response.getStatusCode())
+					.setStatusLine(protocol + " " + response.getStatusCode() + " " + response.getStatusText())
+					.setHeaders(new Headers(headers)).setBody(response.getResponseBodyAsBytes());
+			if (response.getContentType() != null) {
+				builder.setContentType(response.getContentType());
+			}
+			return builder.build();
+		}
+	}
+}
@@ -0,0 +1,298 @@
+package rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Finds a fixed set of literal needles in a response body with a single pass
+ * over its raw bytes.
+ *
+ * <p>
+ * The needles are compiled once into an Aho-Corasick automaton over UTF-8
+ * bytes, stored as a dense transition table with the failure links already
+ * folded in. Scanning a body then costs one table lookup per byte, however many
+ * needles there are, and the body is never decoded to a {@link String}. The
+ * scan stops as soon as every needle has been seen.
+ *
+ * <p>
+ * Matching is exact and case sensitive, and assumes the body is UTF-8 (or, for
+ * ASCII needles, any ASCII compatible charset), which holds for OrangeHRM's
+ * HTML and JSON. A compiled matcher is immutable and can be shared by any
+ * number of threads, so a typical use is a constant:
+ *
+ * <pre>
+ * private static final BodyMatcher LOGIN_PAGE = BodyMatcher.of("&lt;html&gt;", "&lt;title&gt;OrangeHRM&lt;/title&gt;");
+ * ...
+ * boolean ok = customResponse.match(LOGIN_PAGE).allFound();
+ * </pre>
+ */
+public final class BodyMatcher {
+
+	private static final int ALPHABET = 256;
+	private static final int[] NONE = new int[0];
+
+	private final List<String> needles;
+	private final int[] transitions;
+	private final int[][] outputs;
+
+	private BodyMatcher(List<String> needles) {
+		this.needles = Collections.unmodifiableList(new ArrayList<>(needles));
+		byte[][] encoded = new byte[needles.size()][];
+		int maxStates = 1;
+		for (int i = 0; i < encoded.length; i++) {
+			encoded[i] = needles.get(i).getBytes(StandardCharsets.UTF_8);
+			maxStates += encoded[i].length;
+		}
+
+		// Trie of all needles; -1 marks a missing edge
+		int[] table = new int[maxStates * ALPHABET];
+		Arrays.fill(table, -1);
+		List<List<Integer>> ends = new ArrayList<>();
+		ends.add(new ArrayList<>());
+		int states = 1;
+		for (int i = 0; i < encoded.length; i++) {
+			int state = 0;
+			for (byte b : encoded[i]) {
+				int edge = state * ALPHABET + (b & 0xFF);
+				if (table[edge] < 0) {
+					table[edge] = states++;
+					ends.add(new ArrayList<>());
+				}
+				state = table[edge];
+			}
+			ends.get(state).add(i);
+		}
+
+		// Breadth first: fill missing edges from the failure state and inherit its
+		// outputs, turning the trie into a DFA
+		int[] failure = new int[states];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int c = 0; c < ALPHABET; c++) {
+			int child = table[c];
+			if (child < 0) {
+				table[c] = 0;
+			} else {
+				queue.add(child);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			ends.get(state).addAll(ends.get(failure[state]));
+			for (int c = 0; c < ALPHABET; c++) {
+				int edge = state * ALPHABET + c;
+				int fallback = table[failure[state] * ALPHABET + c];
+				if (table[edge] < 0) {
+					table[edge] = fallback;
+				} else {
+					failure[table[edge]] = fallback;
+					queue.add(table[edge]);
+				}
+			}
+		}
+
+		this.transitions = Arrays.copyOf(table, states * ALPHABET);
+		this.outputs = new int[states][];
+		for (int state = 0; state < states; state++) {
+			List<Integer> matches = ends.get(state);
+			outputs[state] = matches.isEmpty() ? NONE : matches.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Compiles a set of needles.
+	 *
+	 * @param needles the literal strings to look for
+	 * @return the matcher
+	 */
+	public static BodyMatcher of(String... needles) {
+		return new BodyMatcher(Arrays.asList(needles));
+	}
+
+	/**
+	 * Compiles a set of needles.
+	 *
+	 * @param needles the literal strings to look for
+	 * @return the matcher
+	 */
+	public static BodyMatcher of(Collection<String> needles) {
+		return new BodyMatcher(new ArrayList<>(needles));
+	}
+
+	/**
+	 * Returns the needles, in the order they were given.
+	 *
+	 * @return an unmodifiable list
+	 */
+	public List<String> needles() {
+		return needles;
+	}
+
+	/**
+	 * Scans a whole body.
+	 *
+	 * @param body the raw body bytes
+	 * @return which needles were found
+	 */
+	public Result scan(byte[] body) {
+		return scan(body, 0, body.length);
+	}
+
+	/**
+	 * Scans part of a buffer.
+	 *
+	 * @param buffer the bytes
+	 * @param offset the index of the first byte to scan
+	 * @param length the number of bytes to scan
+	 * @return which needles were found
+	 */
+	public Result scan(byte[] buffer, int offset, int length) {
+		long[] found = new long[(needles.size() + 63) >>> 6];
+		int remaining = needles.size() - mark(found, outputs[0]);
+		int state = 0;
+		for (int i = offset, end = offset + length; i < end && remaining > 0; i++) {
+			state = transitions[state * ALPHABET + (buffer[i] & 0xFF)];
+			if (outputs[state] != NONE) {
+				remaining -= mark(found, outputs[state]);
+			}
+		}
+		return new Result(found);
+	}
+
+	/**
+	 * Checks a body for a single needle without building an automaton or
+	 * decoding the body.
+	 *
+	 * @param body   the raw body bytes
+	 * @param needle the literal string to look for
+	 * @return <code>true</code> if the UTF-8 bytes of the needle occur in the
+	 *         body
+	 */
+	public static boolean contains(byte[] body, String needle) {
+		byte[] pattern = needle.getBytes(StandardCharsets.UTF_8);
+		if (pattern.length == 0) {
+			return true;
+		}
+		byte first = pattern[0];
+		for (int i = 0, last = body.length - pattern.length; i <= last; i++) {
+			if (body[i] == first && regionMatches(body, i, pattern)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean regionMatches(byte[] body, int start, byte[] pattern) {
+		for (int j = 1; j < pattern.length; j++) {
+			if (body[start + j] != pattern[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int mark(long[] found, int[] matches) {
+		int newlyFound = 0;
+		for (int index : matches) {
+			long bit = 1L << index;
+			if ((found[index >>> 6] & bit) == 0) {
+				found[index >>> 6] |= bit;
+				newlyFound++;
+			}
+		}
+		return newlyFound;
+	}
+
+	/**
+	 * The needles found by one scan.
+	 */
+	public final class Result {
+		private final long[] found;
+
+		private Result(long[] found) {
+			this.found = found;
+		}
+
+		/**
+		 * Indicates whether a needle was found.
+		 *
+		 * @param index the index of the needle in {@link BodyMatcher#needles()}
+		 * @return <code>true</code> if it occurs in the body
+		 */
+		public boolean found(int index) {
+			return (found[index >>> 6] & (1L << index)) != 0;
+		}
+
+		/**
+		 * Indicates whether a needle was found.
+		 *
+		 * @param needle one of the compiled needles
+		 * @return <code>true</code> if it occurs in the body
+		 * @throws IllegalArgumentException if the needle was not compiled into
+		 *                                  this matcher
+		 */
+		public boolean found(String needle) {
+			int index = needles.indexOf(needle);
+			if (index < 0) {
+				throw new IllegalArgumentException("Not a needle of this matcher: " + needle);
+			}
+			return found(index);
+		}
+
+		/**
+		 * Indicates whether every needle was found.
+		 *
+		 * @return <code>true</code> if the body contains all needles
+		 */
+		public boolean allFound() {
+			return foundCount() == needles.size();
+		}
+
+		/**
+		 * Indicates whether at least one needle was found.
+		 *
+		 * @return <code>true</code> if the body contains any needle
+		 */
+		public boolean anyFound() {
+			return foundCount() > 0;
+		}
+
+		/**
+		 * Returns the number of needles found.
+		 *
+		 * @return the count
+		 */
+		public int foundCount() {
+			int count = 0;
+			for (long word : found) {
+				count += Long.bitCount(word);
+			}
+			return count;
+		}
+
+		/**
+		 * Returns the needles that were not found, for assertion messages.
+		 *
+		 * @return the missing needles, in compile order
+		 */
+		public List<String> missing() {
+			List<String> missing = new ArrayList<>();
+			for (int i = 0; i < needles.size(); i++) {
+				if (!found(i)) {
+					missing.add(needles.get(i));
+				}
+			}
+			return missing;
+		}
+
+		@Override
+		public String toString() {
+			return foundCount() + "/" + needles.size() + " found, missing " + missing();
+		}
+	}
+}
@@ -0,0 +1,519 @@
+package rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A JSON request body parsed once, with typed placeholders for the values that
+ * change per request.
+ *
+ * <p>
+ * A template is plain JSON in which a value may be replaced by a placeholder
+ * <code>${name:type}</code>:
+ * <ul>
+ * <li><code>string</code> - any {@link CharSequence}, written as a quoted and
+ * escaped JSON string; <code>null</code> is written as <code>null</code></li>
+ * <li><code>int</code> - an integral {@link Number}</li>
+ * <li><code>number</code> - any finite {@link Number}</li>
+ * <li><code>boolean</code> - a {@link Boolean}</li>
+ * <li><code>ints</code> - an array of integers, given as an <code>int[]</code>,
+ * an {@link IntList} or a collection of numbers</li>
+ * </ul>
+ * The type defaults to <code>string</code>. Placeholders are only recognized
+ * outside string literals, and the template is checked to be valid JSON when
+ * it is compiled. Whitespace outside string literals is dropped.
+ *
+ * <p>
+ * Rendering writes the literal parts, already encoded as UTF-8, and the values
+ * straight into a growable byte buffer that each thread reuses, escaping
+ * strings on the way. A request then costs one exactly sized
+ * <code>byte[]</code> instead of the intermediate strings of concatenation or
+ * <code>String.format</code>, and a title containing a quote or a backslash
+ * can no longer break the body. Values are passed in the order the placeholder
+ * names first appear; a name used twice takes one value:
+ *
+ * <pre>
+ * byte[] body = BodyTemplate.NAME.render(uniqueName);
+ * CustomResponse customResponse = apiUtil.PostEmpStatuses(endpoint, cookieValue, BodyTemplate.NAME, uniqueName);
+ * </pre>
+ *
+ * A compiled template is immutable and can be shared by any number of threads.
+ */
+public final class BodyTemplate {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+	private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	/** <code>{"name": ...}</code> for pay grades, employment statuses and job categories. */
+	public static final BodyTemplate NAME = compile("{\"name\": ${name}}");
+	/** <code>{"ids": [...]}</code> for bulk deletes. */
+	public static final BodyTemplate IDS = compile("{\"ids\": ${ids:ints}}");
+	/** A job title with a description and a note, and no specification. */
+	public static final BodyTemplate JOB_TITLE = compile(
+			"{\"title\": ${title}, \"description\": ${description}, \"specification\": null, \"note\": ${note}}");
+
+	private enum Type {
+		STRING, INT, NUMBER, BOOLEAN, INTS
+	}
+
+	private final String source;
+	/** Literal UTF-8 bytes; one more entry than there are placeholders. */
+	private final byte[][] literals;
+	private final Type[] types;
+	/** For each placeholder, the index of its value. */
+	private final int[] slots;
+	private final List<String> names;
+
+	private BodyTemplate(String source, List<byte[]> literals, List<Type> types, List<Integer> slots,
+			List<String> names) {
+		this.source = source;
+		this.literals = literals.toArray(new byte[0][]);
+		this.types = types.toArray(new Type[0]);
+		this.slots = new int[slots.size()];
+		for (int i = 0; i < this.slots.length; i++) {
+			this.slots[i] = slots.get(i);
+		}
+		this.names = Collections.unmodifiableList(new ArrayList<>(names));
+	}
+
+	/**
+	 * Parses a template.
+	 *
+	 * @param source the JSON text with placeholders
+	 * @return the compiled template
+	 * @throws IllegalArgumentException if a placeholder is malformed, its type is
+	 *                                  unknown or the template is not valid JSON
+	 */
+	public static BodyTemplate compile(String source) {
+		List<byte[]> literals = new ArrayList<>();
+		List<Type> types = new ArrayList<>();
+		List<Integer> slots = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		boolean inString = false;
+		int i = 0;
+		while (i < source.length()) {
+			char c = source.charAt(i);
+			if (inString) {
+				literal.append(c);
+				if (c == '\\' && i + 1 < source.length()) {
+					literal.append(source.charAt(++i));
+				} else if (c == '"') {
+					inString = false;
+				}
+				i++;
+			} else if (c == '$' && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+				int close = source.indexOf('}', i);
+				if (close < 0) {
+					throw new IllegalArgumentException("Unclosed placeholder at position " + i + " of " + source);
+				}
+				String placeholder = source.substring(i + 2, close).trim();
+				int colon = placeholder.indexOf(':');
+				String name = (colon < 0 ? placeholder : placeholder.substring(0, colon)).trim();
+				String type = colon < 0 ? "string" : placeholder.substring(colon + 1).trim();
+				if (name.isEmpty()) {
+					throw new IllegalArgumentException("Placeholder without a name at position " + i + " of " + source);
+				}
+				literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+				literal.setLength(0);
+				types.add(type(type, source));
+				int slot = names.indexOf(name);
+				if (slot < 0) {
+					slot = names.size();
+					names.add(name);
+				}
+				slots.add(slot);
+				i = close + 1;
+			} else {
+				if (c == '"') {
+					inString = true;
+				}
+				if (!Character.isWhitespace(c)) {
+					literal.append(c);
+				}
+				i++;
+			}
+		}
+		literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+
+		BodyTemplate template = new BodyTemplate(source, literals, types, slots, names);
+		template.validate();
+		return template;
+	}
+
+	/**
+	 * Returns the placeholder names, in the order their values are expected.
+	 *
+	 * @return an unmodifiable list
+	 */
+	public List<String> names() {
+		return names;
+	}
+
+	/**
+	 * Renders the body.
+	 *
+	 * @param values one value per placeholder name, in the order of
+	 *               {@link #names()}
+	 * @return the UTF-8 encoded JSON body
+	 * @throws IllegalArgumentException if the number of values or the type of a
+	 *                                  value does not match the template
+	 */
+	public byte[] render(Object... values) {
+		Buffer buffer = BUFFER.get();
+		buffer.reset();
+		renderTo(buffer, values);
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Renders the body, appending it to a caller-owned buffer.
+	 *
+	 * @param out    the buffer to append to
+	 * @param values one value per placeholder name, in the order of
+	 *               {@link #names()}
+	 * @throws IllegalArgumentException if the number of values or the type of a
+	 *                                  value does not match the template
+	 */
+	public void renderTo(Buffer out, Object... values) {
+		if (values.length != names.size()) {
+			throw new IllegalArgumentException(
+					"Template " + source + " takes " + names.size() + " values " + names + ", got " + values.length);
+		}
+		for (int i = 0; i < types.length; i++) {
+			out.write(literals[i]);
+			writeValue(out, types[i], names.get(slots[i]), values[slots[i]]);
+		}
+		out.write(literals[types.length]);
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+
+	private void validate() {
+		Object[] samples = new Object[names.size()];
+		for (int i = 0; i < types.length; i++) {
+			samples[slots[i]] = sample(types[i]);
+		}
+		byte[] rendered = render(samples);
+		try {
+			MAPPER.readTree(rendered);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Template is not valid JSON: " + source, e);
+		}
+	}
+
+	private static Object sample(Type type) {
+		switch (type) {
+		case INT:
+		case NUMBER:
+			return 0;
+		case BOOLEAN:
+			return Boolean.FALSE;
+		case INTS:
+			return new int[0];
+		default:
+			return "";
+		}
+	}
+
+	private static Type type(String name, String source) {
+		switch (name) {
+		case "string":
+			return Type.STRING;
+		case "int":
+			return Type.INT;
+		case "number":
+			return Type.NUMBER;
+		case "boolean":
+			return Type.BOOLEAN;
+		case "ints":
+			return Type.INTS;
+		default:
+			throw new IllegalArgumentException("Unknown placeholder type '" + name + "' in " + source);
+		}
+	}
+
+	private static void writeValue(Buffer out, Type type, String name, Object value) {
+		if (value == null) {
+			out.write(NULL);
+			return;
+		}
+		switch (type) {
+		case STRING:
+			if (!(value instanceof CharSequence)) {
+				throw mismatch(name, "a string", value);
+			}
+			writeString(out, (CharSequence) value);
+			break;
+		case INT:
+			if (!(value instanceof Integer || value instanceof Long || value instanceof Short
+					|| value instanceof Byte)) {
+				throw mismatch(name, "an integer", value);
+			}
+			writeLong(out, ((Number) value).longValue());
+			break;
+		case NUMBER:
+			if (!(value instanceof Number)) {
+				throw mismatch(name, "a number", value);
+			}
+			writeNumber(out, name, (Number) value);
+			break;
+		case BOOLEAN:
+			if (!(value instanceof Boolean)) {
+				throw mismatch(name, "a boolean", value);
+			}
+			out.write(((Boolean) value).booleanValue() ? "true" : "false");
+			break;
+		default:
+			writeInts(out, name, value);
+			break;
+		}
+	}
+
+	private static void writeInts(Buffer out, String name, Object value) {
+		out.write('[');
+		if (value instanceof int[]) {
+			int[] ints = (int[]) value;
+			for (int i = 0; i < ints.length; i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				writeLong(out, ints[i]);
+			}
+		} else if (value instanceof IntList) {
+			IntList ints = (IntList) value;
+			for (int i = 0; i < ints.size(); i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				writeLong(out, ints.getInt(i));
+			}
+		} else if (value instanceof Collection) {
+			boolean first = true;
+			for (Object element : (Collection<?>) value) {
+				if (!(element instanceof Number)) {
+					throw mismatch(name, "a collection of numbers", element);
+				}
+				if (!first) {
+					out.write(',');
+				}
+				writeLong(out, ((Number) element).longValue());
+				first = false;
+			}
+		} else {
+			throw mismatch(name, "an int[], IntList or collection of numbers", value);
+		}
+		out.write(']');
+	}
+
+	private static void writeNumber(Buffer out, String name, Number value) {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			writeLong(out, value.longValue());
+			return;
+		}
+		double d = value.doubleValue();
+		if (Double.isNaN(d) || Double.isInfinite(d)) {
+			throw new IllegalArgumentException("Placeholder '" + name + "' cannot hold " + value);
+		}
+		out.write(value.toString());
+	}
+
+	private static void writeLong(Buffer out, long value) {
+		if (value == Long.MIN_VALUE) {
+			out.write(Long.toString(value));
+			return;
+		}
+		if (value < 0) {
+			out.write('-');
+			value = -value;
+		}
+		int digits = 1;
+		for (long rest = value / 10; rest != 0; rest /= 10) {
+			digits++;
+		}
+		out.ensure(digits);
+		int end = out.length + digits;
+		for (int i = end - 1; i >= out.length; i--) {
+			out.bytes[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		out.length = end;
+	}
+
+	private static void writeString(Buffer out, CharSequence value) {
+		int length = value.length();
+		// every char takes at most 6 bytes (\\u escape), plus the quotes
+		out.ensure(length * 6 + 2);
+		byte[] b = out.bytes;
+		int p = out.length;
+		b[p++] = '"';
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				if (c == '"' || c == '\\') {
+					b[p++] = '\\';
+					b[p++] = (byte) c;
+				} else if (c >= 0x20) {
+					b[p++] = (byte) c;
+				} else {
+					p = writeControl(b, p, c);
+				}
+			} else if (c < 0x800) {
+				b[p++] = (byte) (0xC0 | c >> 6);
+				b[p++] = (byte) (0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < length
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, value.charAt(++i));
+				b[p++] = (byte) (0xF0 | cp >> 18);
+				b[p++] = (byte) (0x80 | cp >> 12 & 0x3F);
+				b[p++] = (byte) (0x80 | cp >> 6 & 0x3F);
+				b[p++] = (byte) (0x80 | cp & 0x3F);
+			} else if (Character.isSurrogate(c)) {
+				// a lone surrogate has no UTF-8 form; keep it as an escape
+				p = writeUnicodeEscape(b, p, c);
+			} else {
+				b[p++] = (byte) (0xE0 | c >> 12);
+				b[p++] = (byte) (0x80 | c >> 6 & 0x3F);
+				b[p++] = (byte) (0x80 | c & 0x3F);
+			}
+		}
+		b[p++] = '"';
+		out.length = p;
+	}
+
+	private static int writeControl(byte[] b, int p, char c) {
+		switch (c) {
+		case '\n':
+			b[p++] = '\\';
+			b[p++] = 'n';
+			return p;
+		case '\r':
+			b[p++] = '\\';
+			b[p++] = 'r';
+			return p;
+		case '\t':
+			b[p++] = '\\';
+			b[p++] = 't';
+			return p;
+		case '\b':
+			b[p++] = '\\';
+			b[p++] = 'b';
+			return p;
+		case '\f':
+			b[p++] = '\\';
+			b[p++] = 'f';
+			return p;
+		default:
+			return writeUnicodeEscape(b, p, c);
+		}
+	}
+
+	private static int writeUnicodeEscape(byte[] b, int p, char c) {
+		b[p++] = '\\';
+		b[p++] = 'u';
+		b[p++] = HEX[c >> 12 & 0xF];
+		b[p++] = HEX[c >> 8 & 0xF];
+		b[p++] = HEX[c >> 4 & 0xF];
+		b[p++] = HEX[c & 0xF];
+		return p;
+	}
+
+	private static IllegalArgumentException mismatch(String name, String expected, Object value) {
+		return new IllegalArgumentException("Placeholder '" + name + "' expects " + expected + " but got "
+				+ (value == null ? "null" : value.getClass().getSimpleName()));
+	}
+
+	/**
+	 * A growable byte buffer that templates render into. Reuse one per thread by
+	 * calling {@link #reset()} between bodies.
+	 */
+	public static final class Buffer {
+		private byte[] bytes;
+		private int length;
+
+		public Buffer() {
+			this(256);
+		}
+
+		public Buffer(int capacity) {
+			this.bytes = new byte[Math.max(capacity, 16)];
+		}
+
+		/**
+		 * Empties the buffer, keeping its capacity.
+		 */
+		public void reset() {
+			length = 0;
+		}
+
+		/**
+		 * Returns the number of bytes written.
+		 *
+		 * @return the length
+		 */
+		public int length() {
+			return length;
+		}
+
+		/**
+		 * Returns the backing array; only the first {@link #length()} bytes are
+		 * valid, and the array is replaced when the buffer grows.
+		 *
+		 * @return the backing array
+		 */
+		public byte[] array() {
+			return bytes;
+		}
+
+		/**
+		 * Copies the written bytes.
+		 *
+		 * @return a new array of exactly {@link #length()} bytes
+		 */
+		public byte[] toByteArray() {
+			return Arrays.copyOf(bytes, length);
+		}
+
+		@Override
+		public String toString() {
+			return new String(bytes, 0, length, StandardCharsets.UTF_8);
+		}
+
+		void ensure(int extra) {
+			if (length + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+			}
+		}
+
+		void write(int b) {
+			ensure(1);
+			bytes[length++] = (byte) b;
+		}
+
+		void write(byte[] b) {
+			ensure(b.length);
+			System.arraycopy(b, 0, bytes, length, b.length);
+			length += b.length;
+		}
+
+		/** Writes ASCII text such as numbers and keywords. */
+		void write(String ascii) {
+			ensure(ascii.length());
+			for (int i = 0; i < ascii.length(); i++) {
+				bytes[length++] = (byte) ascii.charAt(i);
+			}
+		}
+	}
+}
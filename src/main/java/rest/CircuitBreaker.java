@@ -0,0 +1,291 @@
+package rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import coreUtilities.utils.Log;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Fails requests to an unhealthy host immediately instead of letting each one
+ * wait for its socket timeout.
+ *
+ * <p>
+ * There is one breaker per host (scheme, host and port), fed by
+ * {@link #FILTER} with the outcome of every request sent through
+ * {@link HttpClientPool#requestSpec()}. A request fails when the connection
+ * fails or times out, or when it returns <code>502</code>, <code>503</code> or
+ * <code>504</code>, the statuses of an overloaded or unreachable server. Other
+ * server errors, such as a <code>500</code> from a bad payload, say nothing
+ * about the health of the host and count as successes. A request is slow when
+ * it takes at least <code>circuit.slow.call.ms</code>, retries included. The
+ * breaker moves between three states:
+ * <ul>
+ * <li><b>closed</b> - requests pass. The outcomes of the last
+ * <code>circuit.window.size</code> requests are kept in a ring; once at least
+ * <code>circuit.minimum.calls</code> have been seen and the failure rate
+ * reaches <code>circuit.failure.rate.percent</code>, or the slow-call rate
+ * reaches <code>circuit.slow.call.rate.percent</code>, the breaker opens.</li>
+ * <li><b>open</b> - requests are rejected with a
+ * {@link CircuitOpenException} without being sent, for
+ * <code>circuit.open.ms</code>.</li>
+ * <li><b>half-open</b> - up to <code>circuit.half.open.calls</code> trial
+ * requests are let through, others are rejected. If all trials succeed the
+ * breaker closes with an empty window; the first failed or slow trial opens it
+ * again.</li>
+ * </ul>
+ * <code>circuit.enabled=false</code> turns the breaker off. The test listener
+ * <code>CircuitBreakerListener</code> skips tests while the breaker of
+ * <code>base.url</code> is open and reports tests that ran into an open
+ * breaker as skipped, with {@link #describe()} as the reason.
+ */
+public final class CircuitBreaker {
+
+	/** The breaker states. */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Filter added to every request by {@link HttpClientPool#requestSpec()};
+	 * rejects requests while the breaker of their host is open and records the
+	 * outcome of the others.
+	 */
+	static final Filter FILTER = new Filter() {
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec,
+				FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			if (!ConfigManager.config().getBoolean("circuit.enabled", true)) {
+				return ctx.next(requestSpec, responseSpec);
+			}
+			CircuitBreaker breaker = forUrl(requestSpec.getURI());
+			breaker.acquire();
+			long start = System.nanoTime();
+			Response response;
+			try {
+				response = ctx.next(requestSpec, responseSpec);
+			} catch (Exception e) {
+				breaker.record(isTransportFailure(e), System.nanoTime() - start);
+				throw e;
+			}
+			breaker.record(RetryPolicy.isTransientStatus(response.getStatusCode()), System.nanoTime() - start);
+			return response;
+		}
+	};
+
+	private final String host;
+	private volatile State state = State.CLOSED;
+	/** When the breaker last opened, in {@link System#nanoTime()} terms. */
+	private long openedAt;
+	private int trialsStarted;
+	private int trialsSucceeded;
+
+	/** Ring of the latest outcomes while closed. */
+	private boolean[] failed = new boolean[0];
+	private boolean[] slow = new boolean[0];
+	private int calls;
+	private int next;
+	private int failures;
+	private int slowCalls;
+	/** Failure and slow-call rates when the breaker last opened, for messages. */
+	private String openReason = "";
+
+	private CircuitBreaker(String host) {
+		this.host = host;
+	}
+
+	/**
+	 * Returns the breaker of the host of a URL.
+	 *
+	 * @param url an absolute URL, for example <code>base.url</code>
+	 * @return the breaker, created closed on first use
+	 */
+	public static CircuitBreaker forUrl(String url) {
+		return BREAKERS.computeIfAbsent(hostOf(url), CircuitBreaker::new);
+	}
+
+	/**
+	 * Returns the current state. An open breaker whose open time has passed
+	 * reports {@link State#OPEN} until the next request turns it half-open.
+	 *
+	 * @return the state
+	 */
+	public State state() {
+		return state;
+	}
+
+	/**
+	 * Indicates whether requests are currently rejected without a trial: the
+	 * breaker is open and its open time has not yet passed.
+	 *
+	 * @return <code>true</code> while requests to the host fail fast
+	 */
+	public synchronized boolean isRejecting() {
+		return state == State.OPEN && remainingOpenNanos(ConfigManager.config()) > 0;
+	}
+
+	/**
+	 * Describes the state for skip messages and logs.
+	 *
+	 * @return for example <code>OrangeHRM host https://example.org:443 is
+	 *         unavailable: circuit OPEN after 12 of the last 20 calls failed
+	 *         (60%), 0 slow; next trial in 25 s</code>
+	 */
+	public synchronized String describe() {
+		if (state == State.CLOSED) {
+			return "Circuit for " + host + " is CLOSED: " + failures + " of the last " + calls + " calls failed, "
+					+ slowCalls + " slow";
+		}
+		long remaining = TimeUnit.NANOSECONDS.toSeconds(remainingOpenNanos(ConfigManager.config()) + 999999999);
+		return "OrangeHRM host " + host + " is unavailable: circuit " + state + " after " + openReason
+				+ (state == State.OPEN ? "; next trial in " + remaining + " s" : "; trial calls in progress");
+	}
+
+	/**
+	 * Lets a request through or rejects it.
+	 *
+	 * @throws CircuitOpenException if the breaker is open, or half-open with all
+	 *                              trial calls taken
+	 */
+	synchronized void acquire() {
+		if (state == State.CLOSED) {
+			return;
+		}
+		Config config = ConfigManager.config();
+		if (state == State.OPEN) {
+			if (remainingOpenNanos(config) > 0) {
+				throw new CircuitOpenException(describe());
+			}
+			state = State.HALF_OPEN;
+			trialsStarted = 0;
+			trialsSucceeded = 0;
+		}
+		if (trialsStarted >= Math.max(1, config.getInt("circuit.half.open.calls", 3))) {
+			throw new CircuitOpenException(describe());
+		}
+		trialsStarted++;
+	}
+
+	/**
+	 * Records the outcome of a request that was let through.
+	 *
+	 * @param failure       whether the connection failed or the server was
+	 *                      unavailable
+	 * @param durationNanos how long it took
+	 */
+	synchronized void record(boolean failure, long durationNanos) {
+		Config config = ConfigManager.config();
+		boolean isSlow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(config.getLong("circuit.slow.call.ms", 10000));
+		if (state == State.HALF_OPEN) {
+			if (failure || isSlow) {
+				open(failure ? "a trial call failed" : "a trial call was slow");
+			} else if (++trialsSucceeded >= Math.max(1, config.getInt("circuit.half.open.calls", 3))) {
+				close();
+			}
+			return;
+		}
+		if (state == State.OPEN) {
+			// a request let through just before the breaker opened
+			return;
+		}
+
+		int size = Math.max(1, config.getInt("circuit.window.size", 20));
+		if (failed.length != size) {
+			resize(size);
+		}
+		if (calls == size) {
+			failures -= failed[next] ? 1 : 0;
+			slowCalls -= slow[next] ? 1 : 0;
+		} else {
+			calls++;
+		}
+		failed[next] = failure;
+		slow[next] = isSlow;
+		failures += failure ? 1 : 0;
+		slowCalls += isSlow ? 1 : 0;
+		next = (next + 1) % size;
+
+		if (calls < Math.max(1, config.getInt("circuit.minimum.calls", 10))) {
+			return;
+		}
+		double failureRate = 100.0 * failures / calls;
+		double slowRate = 100.0 * slowCalls / calls;
+		if (failureRate >= config.getDouble("circuit.failure.rate.percent", 50)
+				|| slowRate >= config.getDouble("circuit.slow.call.rate.percent", 80)) {
+			open(failures + " of the last " + calls + " calls failed (" + Math.round(failureRate) + "%), "
+					+ slowCalls + " slow (" + Math.round(slowRate) + "%)");
+		}
+	}
+
+	private void open(String reason) {
+		if (state != State.OPEN) {
+			Log.warn("Circuit for " + host + " opened: " + reason);
+		}
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+		openReason = reason;
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		resize(failed.length);
+		Log.info("Circuit for " + host + " closed after successful trial calls");
+	}
+
+	private void resize(int size) {
+		failed = new boolean[size];
+		slow = new boolean[size];
+		calls = 0;
+		next = 0;
+		failures = 0;
+		slowCalls = 0;
+	}
+
+	private long remainingOpenNanos(Config config) {
+		long openNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("circuit.open.ms", 30000));
+		return Math.max(0, openedAt + openNanos - System.nanoTime());
+	}
+
+	/**
+	 * Indicates whether an exception, or one of its causes, is an I/O failure,
+	 * as opposed to an error of the test or of the response handling.
+	 */
+	static boolean isTransportFailure(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IOException) {
+				return true;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	private static String hostOf(String url) {
+		try {
+			URI uri = URI.create(url);
+			if (uri.getHost() == null) {
+				return url;
+			}
+			int port = uri.getPort();
+			if (port < 0) {
+				port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+			}
+			return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+		} catch (IllegalArgumentException e) {
+			return url;
+		}
+	}
+}
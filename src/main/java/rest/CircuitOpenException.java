@@ -0,0 +1,14 @@
+package rest;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} of its
+ * host is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CircuitOpenException(String message) {
+		super(message);
+	}
+}
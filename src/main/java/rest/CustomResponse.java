@@ -7,15 +7,41 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import io.restassured.path.json.JsonPath;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.restassured.response.Response;
+import rest.dto.Envelope;
+import rest.dto.JsonDecoder;
 
+/**
+ * Result of an {@link ApiUtil} call: the raw response plus the fields the
+ * parsers extracted from it.
+ *
+ * <p>
+ * The body is held once, as the byte array already owned by the RestAssured
+ * {@link Response}. It is decoded to a {@link String} only when
+ * {@link #getResponseBody()} or {@link #containsText(String)} first needs it,
+ * and parsed into a Jackson tree only when {@link #json()} is first called;
+ * both are memoized and shared by every accessor.
+ */
 public class CustomResponse {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final TypeReference<List<Map<String, Object>>> LIST_OF_MAPS = new TypeReference<List<Map<String, Object>>>() {
+	};
+
 	private final Response response;
 	public int empId;
 	private final int statusCode;
 	private final String statusLine;
-	private final String responseBody;
+	private final byte[] body;
+	private volatile String responseBody;
+	private volatile JsonNode json;
+	private volatile Envelope<?> envelope;
 	public Boolean leaveAssignLeave;
 	public Boolean leavLeaveList;
 	public Boolean leaveApplyLeave;
@@ -70,7 +96,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 	}
 
 	/**
@@ -104,7 +130,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.leaveAssignLeave = leaveAssignLeave;
 		this.leavLeaveList = leavLeaveList;
 		this.leaveApplyLeave = leaveApplyLeave;
@@ -136,7 +162,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.subUnitCount = subUnitCount;
 		this.subUnitId = subUnitId;
 		this.subUnitName = subUnitName;
@@ -165,7 +191,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.statusIdList = idList;
 		this.statusNameList = nameList;
 	}
@@ -180,9 +206,58 @@ public class CustomResponse {
 		return statusLine;
 	}
 
-	// Getter for body as raw string
+	// Getter for body as raw string, decoded on first use
 	public String getResponseBody() {
-		return responseBody;
+		String decoded = responseBody;
+		if (decoded == null) {
+			decoded = response.asString();
+			responseBody = decoded;
+		}
+		return decoded;
+	}
+
+	/**
+	 * Returns the raw body bytes. The array is shared with the underlying
+	 * {@link Response} and must not be modified.
+	 *
+	 * @return the body bytes
+	 */
+	public byte[] getBodyBytes() {
+		return body;
+	}
+
+	/**
+	 * Returns the body parsed as a Jackson tree. The tree is built on first call
+	 * and shared by all later calls.
+	 *
+	 * @return the root node of the JSON body
+	 * @throws UncheckedIOException if the body is not valid JSON
+	 */
+	public JsonNode json() {
+		JsonNode tree = json;
+		if (tree == null) {
+			try {
+				tree = MAPPER.readTree(body);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Response body is not valid JSON", e);
+			}
+			json = tree;
+		}
+		return tree;
+	}
+
+	/**
+	 * Takes a tree a parser already built from this body as the one returned by
+	 * {@link #json()}, so the body is not parsed twice.
+	 *
+	 * @param tree the root node of the body
+	 * @return this response
+	 */
+	CustomResponse withJson(JsonNode tree) {
+		if (json == null) {
+			json = tree;
+		}
+		return this;
 	}
 
 	// Getter for full Response object (if needed)
@@ -205,7 +280,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.employeeLocationList = locationList;
 		this.employeeMetaMap = metaMap;
 	}
@@ -214,7 +289,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.empId = id;
 	}
 
@@ -238,7 +313,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 
 		this.userList = userList;
 		this.userMetaMap = userMetaMap;
@@ -253,6 +328,11 @@ public class CustomResponse {
 	/**
 	 * Constructs a CustomResponse for the GET Job Titles API.
 	 *
+	 * <p>
+	 * For the <code>getJobTitles</code> tag, {@link #jobTitleList} and
+	 * {@link #totalJobTitles} are filled from <code>data</code> and
+	 * <code>meta.total</code> of the shared {@link #json()} tree.
+	 *
 	 * @param response the HTTP Response object
 	 * @param tag      a tag to indicate which API is calling (for overload clarity)
 	 */
@@ -260,15 +340,160 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = response.getStatusCode();
 		this.statusLine = response.getStatusLine();
-		this.responseBody = response.getBody().asString();
-
-		JsonPath jsonPath = response.jsonPath();
+		this.body = response.asByteArray();
 
 		if ("getJobTitles".equals(tag)) {
-			this.jobTitleList = jsonPath.getList("data");
-			Map<String, Object> meta = jsonPath.getMap("meta");
-			this.totalJobTitles = meta != null ? (int) meta.getOrDefault("total", 0) : 0;
+			JsonNode data = json().get("data");
+			this.jobTitleList = data == null || data.isNull() ? null : MAPPER.convertValue(data, LIST_OF_MAPS);
+			this.totalJobTitles = json().path("meta").path("total").asInt(0);
+		}
+	}
+
+	/**
+	 * Returns the value at a JSON path such as <code>data[0].id</code>, like
+	 * <code>getResponse().jsonPath().getInt(path)</code> but with the path
+	 * compiled once by {@link JsonPathAccessor} and evaluated against the shared
+	 * {@link #json()} tree.
+	 *
+	 * @param path the JSON path
+	 * @return the value
+	 * @throws IllegalStateException if there is no number at the path
+	 */
+	public int getInt(String path) {
+		return JsonPathAccessor.compile(path).getInt(json());
+	}
+
+	/**
+	 * Returns the text at a JSON path.
+	 *
+	 * @param path the JSON path
+	 * @return the text, or <code>null</code> if the path is missing
+	 * @see #getInt(String)
+	 */
+	public String getString(String path) {
+		return JsonPathAccessor.compile(path).getString(json());
+	}
+
+	/**
+	 * Returns the array at a JSON path as a list of plain Java objects.
+	 *
+	 * @param path the JSON path
+	 * @param <T>  the element type
+	 * @return the list, or <code>null</code> if the path holds no array
+	 * @see #getInt(String)
+	 */
+	public <T> List<T> getList(String path) {
+		return JsonPathAccessor.compile(path).getList(json());
+	}
+
+	/**
+	 * Returns the object at a JSON path as a map of plain Java objects.
+	 *
+	 * @param path the JSON path
+	 * @return the map, or <code>null</code> if the path holds no object
+	 * @see #getInt(String)
+	 */
+	public Map<String, Object> getMap(String path) {
+		return JsonPathAccessor.compile(path).getMap(json());
+	}
+
+	/**
+	 * Returns {@link #empIdList} (the grade IDs of the pay grade calls) as an
+	 * {@link IntList}, for unboxed <code>min()</code>, <code>max()</code> and
+	 * <code>allPositive()</code> checks. Lists filled by {@link ApiUtil} already
+	 * are one and are returned as they are; any other list is copied on each call
+	 * and the field is left unchanged.
+	 *
+	 * @return the IDs, or <code>null</code> if the field is not set
+	 */
+	public IntList empIds() {
+		return intList(empIdList);
+	}
+
+	/**
+	 * Returns {@link #statusIdList} as an {@link IntList}.
+	 *
+	 * @return the IDs, or <code>null</code> if the field is not set
+	 * @see #empIds()
+	 */
+	public IntList statusIds() {
+		return intList(statusIdList);
+	}
+
+	/**
+	 * Returns {@link #userIdList} as an {@link IntList}.
+	 *
+	 * @return the IDs, or <code>null</code> if the field is not set
+	 * @see #empIds()
+	 */
+	public IntList userIds() {
+		return intList(userIdList);
+	}
+
+	/**
+	 * Returns {@link #jobTitleIdList} as an {@link IntList}.
+	 *
+	 * @return the IDs, or <code>null</code> if the field is not set
+	 * @see #empIds()
+	 */
+	public IntList jobTitleIds() {
+		return intList(jobTitleIdList);
+	}
+
+	/**
+	 * Returns the job title IDs as an {@link IntSet} for membership checks:
+	 * {@link #jobTitleIdSet} if it already is one, otherwise a copy of it or, if
+	 * it is not set, of {@link #jobTitleIdList}. The fields are left unchanged.
+	 *
+	 * @return the IDs, or <code>null</code> if neither field is set
+	 */
+	public IntSet jobTitleIdSet() {
+		if (jobTitleIdSet instanceof IntSet) {
+			return (IntSet) jobTitleIdSet;
+		}
+		return IntSet.copyOf(jobTitleIdSet != null ? jobTitleIdSet : jobTitleIdList);
+	}
+
+	private static IntList intList(List<Integer> ids) {
+		return ids == null || ids instanceof IntList ? (IntList) ids : IntList.copyOf(ids);
+	}
+
+	/**
+	 * Returns the body decoded into typed DTOs, for example
+	 * <code>envelope(PayGradeDecoder.INSTANCE).data()</code>. The result of the
+	 * last decoder used is memoized.
+	 *
+	 * @param decoder the generated decoder of the DTO type
+	 * @param <T>     the DTO type
+	 * @return the decoded <code>data</code> and <code>meta.total</code>
+	 * @throws java.io.UncheckedIOException if the body does not match the DTO
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Envelope<T> envelope(JsonDecoder<T> decoder) {
+		Envelope<?> decoded = envelope;
+		if (decoded == null || decoded.decoder() != decoder) {
+			decoded = Envelope.read(body, decoder);
+			envelope = decoded;
 		}
+		return (Envelope<T>) decoded;
+	}
+
+	/**
+	 * Returns the job title objects from <code>data</code>.
+	 *
+	 * @return the job title list, or <code>null</code> if not available
+	 */
+	public List<Map<String, Object>> getJobTitleList() {
+		return jobTitleList;
+	}
+
+	/**
+	 * Returns the total number of job titles.
+	 *
+	 * @return the total job title count
+	 */
+	public int getTotalJobTitles() {
+		return totalJobTitles;
 	}
 
 	public CustomResponse(Response response, int statusCode, String statusLine, List<Map<String, Object>> jobList,
@@ -276,7 +501,7 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 
 		this.jobTitleDataList = jobList;
 		this.jobTitleMetaMap = metaMap;
@@ -306,14 +531,33 @@ public class CustomResponse {
 		this.response = response;
 		this.statusCode = statusCode;
 		this.statusLine = statusLine;
-		this.responseBody = response.getBody().asString();
+		this.body = response.asByteArray();
 		this.empIdList = gradeIdList; // Reusing empIdList for grade IDs
 		this.empNameList = gradeNameList; // Reusing empNameList for grade names
 		this.currencyList = currencyList;
 	}
 
+	/**
+	 * Indicates whether the body contains a literal text. If the body has not been
+	 * decoded yet it is searched as UTF-8 bytes instead of being decoded for this
+	 * check.
+	 *
+	 * @param text the text to look for
+	 * @return <code>true</code> if the body contains it
+	 */
 	public boolean containsText(String text) {
-		return response.asString().contains(text);
+		String decoded = responseBody;
+		return decoded != null ? decoded.contains(text) : BodyMatcher.contains(body, text);
+	}
+
+	/**
+	 * Scans the raw body once for every needle of a compiled matcher.
+	 *
+	 * @param matcher the needles, compiled with {@link BodyMatcher#of(String...)}
+	 * @return which needles were found
+	 */
+	public BodyMatcher.Result match(BodyMatcher matcher) {
+		return matcher.scan(body);
 	}
 
 }
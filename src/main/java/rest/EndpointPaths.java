@@ -0,0 +1,73 @@
+package rest;
+
+import java.net.URI;
+
+/**
+ * Path matching shared by the settings that are configured per endpoint, such
+ * as <code>rate.limit.endpoint.&lt;path&gt;</code> and
+ * <code>http.cache.ttl.&lt;path&gt;</code>.
+ */
+final class EndpointPaths {
+
+	private EndpointPaths() {
+	}
+
+	/**
+	 * Returns the path of a URL without its query string.
+	 *
+	 * @param url an absolute URL, or a path with or without a query string
+	 * @return the raw path, for example
+	 *         <code>/orangehrm-5.7/web/index.php/api/v2/admin/job-titles</code>
+	 */
+	static String pathOf(String url) {
+		String path = url;
+		try {
+			String rawPath = URI.create(url).getRawPath();
+			if (rawPath != null) {
+				path = rawPath;
+			}
+		} catch (IllegalArgumentException e) {
+			// not a valid URI; fall back to cutting off the query string
+		}
+		int query = path.indexOf('?');
+		return query < 0 ? path : path.substring(0, query);
+	}
+
+	/**
+	 * Indicates whether a configured endpoint key occurs in a path at a segment
+	 * boundary: <code>/api/v2/admin/job-titles</code> matches
+	 * <code>/web/index.php/api/v2/admin/job-titles/5</code> but not
+	 * <code>.../job-titles-archive</code>.
+	 *
+	 * @param path a request path without query string
+	 * @param key  the configured endpoint path
+	 * @return <code>true</code> if the key matches
+	 */
+	static boolean matches(String path, String key) {
+		for (int index = path.indexOf(key); index >= 0; index = path.indexOf(key, index + 1)) {
+			int end = index + key.length();
+			if (end == path.length() || path.charAt(end) == '/' || key.endsWith("/")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Indicates whether two paths name the same resource, or one is a collection
+	 * containing the other, such as <code>/api/v2/pim/employees</code> and
+	 * <code>/api/v2/pim/employees/7</code>.
+	 *
+	 * @param a a request path without query string
+	 * @param b another request path without query string
+	 * @return <code>true</code> if a change to one may change the other
+	 */
+	static boolean related(String a, String b) {
+		if (a.length() == b.length()) {
+			return a.equals(b);
+		}
+		String shorter = a.length() < b.length() ? a : b;
+		String longer = shorter == a ? b : a;
+		return longer.startsWith(shorter) && (longer.charAt(shorter.length()) == '/' || shorter.endsWith("/"));
+	}
+}
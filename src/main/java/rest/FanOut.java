@@ -0,0 +1,137 @@
+package rest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import restConfig.ConfigManager;
+
+/**
+ * Runs many blocking {@link ApiUtil} calls concurrently from a single test.
+ *
+ * <p>
+ * When virtual threads are enabled (system property or config key
+ * <code>api.virtual.threads=true</code>) and the JVM is Java 21 or newer, every
+ * task gets its own virtual thread, so fanning out thousands of GETs such as
+ * {@link ApiUtil#getEmployeeLocations(String, String)} or
+ * {@link ApiUtil#getJobTitles(String, String)} costs a few kilobytes per
+ * request instead of a platform thread. Otherwise a fixed pool of
+ * <code>api.fanout.platform.threads</code> platform threads is used, which keeps
+ * the classic Java 8 build working unchanged.
+ *
+ * <p>
+ * The number of open sockets is still bounded by {@link HttpClientPool}; extra
+ * virtual threads simply park until a pooled connection is free.
+ */
+public final class FanOut {
+
+	private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+	private FanOut() {
+	}
+
+	/**
+	 * Indicates whether tasks submitted through this class run on virtual
+	 * threads.
+	 *
+	 * @return <code>true</code> when virtual threads are both requested and
+	 *         available on the running JVM
+	 */
+	public static boolean virtualThreadsEnabled() {
+		return NEW_VIRTUAL_THREAD_EXECUTOR != null && ConfigManager.config().getBoolean("api.virtual.threads", false);
+	}
+
+	/**
+	 * Creates a new executor for a fan-out. The caller owns the executor and must
+	 * shut it down.
+	 *
+	 * @return a virtual-thread-per-task executor, or a fixed platform thread pool
+	 *         when virtual threads are disabled or unavailable
+	 */
+	public static ExecutorService newExecutor() {
+		if (virtualThreadsEnabled()) {
+			try {
+				return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Unable to create a virtual thread executor", e);
+			}
+		}
+		return Executors.newFixedThreadPool(HttpClientPool.intProperty("api.fanout.platform.threads", 50));
+	}
+
+	/**
+	 * Runs the same call <code>copies</code> times concurrently and waits for all
+	 * of them.
+	 *
+	 * @param copies the number of concurrent invocations
+	 * @param task   the call to run, for example
+	 *               <code>() -&gt; apiUtil.getJobTitles(endpoint, cookie)</code>
+	 * @param <T>    the result type
+	 * @return the results in submission order
+	 */
+	public static <T> List<T> repeat(int copies, Callable<T> task) {
+		List<Callable<T>> tasks = new ArrayList<>(copies);
+		for (int i = 0; i < copies; i++) {
+			tasks.add(task);
+		}
+		return invokeAll(tasks);
+	}
+
+	/**
+	 * Applies a call to every input concurrently and waits for all of them.
+	 *
+	 * @param inputs   the values to fan out over, for example endpoints or IDs
+	 * @param function the call to apply to each input
+	 * @param <I>      the input type
+	 * @param <T>      the result type
+	 * @return the results in the same order as <code>inputs</code>
+	 */
+	public static <I, T> List<T> map(List<I> inputs, Function<I, T> function) {
+		List<Callable<T>> tasks = new ArrayList<>(inputs.size());
+		for (I input : inputs) {
+			tasks.add(() -> function.apply(input));
+		}
+		return invokeAll(tasks);
+	}
+
+	/**
+	 * Runs all tasks concurrently and waits for all of them. The first failure is
+	 * rethrown once every task has finished.
+	 *
+	 * @param tasks the tasks to run
+	 * @param <T>   the result type
+	 * @return the results in the same order as <code>tasks</code>
+	 */
+	public static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+		ExecutorService executor = newExecutor();
+		try {
+			List<Future<T>> futures = executor.invokeAll(tasks);
+			List<T> results = new ArrayList<>(futures.size());
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Fan-out interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Fan-out task failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Method findVirtualThreadExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
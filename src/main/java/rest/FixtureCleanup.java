@@ -0,0 +1,322 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * Deletes the entities a run creates, in bulk.
+ *
+ * <p>
+ * {@link #FILTER}, part of {@link HttpClientPool#requestSpec()}, tracks every
+ * entity created with a successful <code>POST</code> to one of the
+ * {@link Resource} collections, by {@link ApiUtil} and the test helpers alike,
+ * and forgets the ones a successful <code>DELETE</code> removed.
+ * {@link #cleanUpTracked()} then deletes what is left: every resource type on
+ * its own {@link FanOut} thread, each in
+ * <code>DELETE {"ids":[...]}</code> batches of
+ * <code>fixture.cleanup.batch.size</code> ids (default 50). A batch the server
+ * refuses with <code>404</code> or <code>422</code>, because one of its
+ * entities is gone already, is split in halves until the missing ids are
+ * isolated and skipped.
+ *
+ * <p>
+ * {@link #sweep(String, Iterable)} deletes, by name prefix, entities left
+ * behind by earlier runs, for example everything named <code>Job_...</code>.
+ * The listener <code>FixtureCleanupListener</code> cleans up at the end of the
+ * suite when <code>fixture.cleanup.on.finish=true</code> and sweeps the
+ * prefixes in <code>fixture.cleanup.sweep.prefixes</code>, if any. Sweeping
+ * also removes matching entities of other suites running against the same
+ * server, so it is off by default.
+ */
+public final class FixtureCleanup {
+
+	/** The resource types that are tracked and cleaned up. */
+	public enum Resource {
+		JOB_TITLES("/web/index.php/api/v2/admin/job-titles", "title"),
+		EMPLOYMENT_STATUSES("/web/index.php/api/v2/admin/employment-statuses", "name"),
+		JOB_CATEGORIES("/web/index.php/api/v2/admin/job-categories", "name"),
+		PAY_GRADES("/web/index.php/api/v2/admin/pay-grades", "name");
+
+		private final String endpoint;
+		private final String nameField;
+		private final Set<Integer> tracked = ConcurrentHashMap.newKeySet();
+
+		Resource(String endpoint, String nameField) {
+			this.endpoint = endpoint;
+			this.nameField = nameField;
+		}
+
+		/**
+		 * Returns the collection endpoint that creates and deletes this resource.
+		 *
+		 * @return the endpoint relative to the base URL
+		 */
+		public String endpoint() {
+			return endpoint;
+		}
+
+		/**
+		 * Returns the field holding the name of an entity, used by
+		 * {@link FixtureCleanup#sweep(String, Iterable)}.
+		 *
+		 * @return for example <code>title</code> or <code>name</code>
+		 */
+		public String nameField() {
+			return nameField;
+		}
+
+		static Resource forCollection(String path) {
+			for (Resource resource : values()) {
+				if (path.endsWith(resource.endpoint)) {
+					return resource;
+				}
+			}
+			return null;
+		}
+	}
+
+	private static final int DEFAULT_BATCH_SIZE = 50;
+
+	private static volatile String lastCookie;
+
+	/**
+	 * Filter added to every request by {@link HttpClientPool#requestSpec()};
+	 * records the ids of created entities and forgets deleted ones.
+	 */
+	static final Filter FILTER = new Filter() {
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec,
+				FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			Response response = ctx.next(requestSpec, responseSpec);
+			String method = requestSpec.getMethod();
+			if (response.getStatusCode() != 200
+					|| !"POST".equalsIgnoreCase(method) && !"DELETE".equalsIgnoreCase(method)) {
+				return response;
+			}
+			Resource resource = Resource.forCollection(EndpointPaths.pathOf(requestSpec.getURI()));
+			if (resource != null) {
+				try {
+					JsonNode root = JsonPathAccessor.read(response);
+					if ("POST".equalsIgnoreCase(method)) {
+						resource.tracked.add(JsonPathAccessor.DATA_IDS.getInt(root));
+						lastCookie = requestSpec.getCookies().getValue(LoginUtil.COOKIE_NAME);
+					} else {
+						IntList deleted = JsonPathAccessor.DATA.getIntList(root);
+						for (int i = 0; deleted != null && i < deleted.size(); i++) {
+							resource.tracked.remove(deleted.getInt(i));
+						}
+					}
+				} catch (RuntimeException e) {
+					// not the usual response shape; leave tracking as it is
+				}
+			}
+			return response;
+		}
+	};
+
+	private FixtureCleanup() {
+	}
+
+	/**
+	 * Tracks an entity created without going through
+	 * {@link HttpClientPool#requestSpec()}.
+	 *
+	 * @param resource the resource type
+	 * @param id       the id of the entity
+	 */
+	public static void track(Resource resource, int id) {
+		resource.tracked.add(id);
+	}
+
+	/**
+	 * Returns the number of tracked entities that have not been deleted.
+	 *
+	 * @param resource the resource type
+	 * @return the count
+	 */
+	public static int trackedCount(Resource resource) {
+		return resource.tracked.size();
+	}
+
+	/**
+	 * Deletes all tracked entities with the session that created the last of
+	 * them, or a new login if there is none or it has expired. Does not log in
+	 * when nothing is tracked.
+	 *
+	 * @return the number of entities deleted per resource type
+	 */
+	public static Map<Resource, Integer> cleanUpTracked() {
+		boolean any = false;
+		for (Resource resource : Resource.values()) {
+			any |= !resource.tracked.isEmpty();
+		}
+		if (!any) {
+			return new EnumMap<>(Resource.class);
+		}
+		String cookie = lastCookie;
+		if (cookie == null) {
+			cookie = LoginUtil.login();
+		}
+		Cleanup cleanup = new Cleanup(cookie);
+		cleanup.run(null);
+		if (cleanup.unauthorized) {
+			cleanup = new Cleanup(LoginUtil.login());
+			cleanup.run(null);
+		}
+		return cleanup.deleted;
+	}
+
+	/**
+	 * Deletes all tracked entities.
+	 *
+	 * @param cookieValue the OrangeHRM session cookie
+	 * @return the number of entities deleted per resource type
+	 */
+	public static Map<Resource, Integer> cleanUpTracked(String cookieValue) {
+		Cleanup cleanup = new Cleanup(cookieValue);
+		cleanup.run(null);
+		return cleanup.deleted;
+	}
+
+	/**
+	 * Deletes every entity, tracked or not, whose name starts with one of the
+	 * prefixes, such as the <code>Job_</code> titles of earlier runs.
+	 *
+	 * @param cookieValue the OrangeHRM session cookie
+	 * @param prefixes    the name prefixes; blank ones are ignored
+	 * @return the number of entities deleted per resource type
+	 */
+	public static Map<Resource, Integer> sweep(String cookieValue, Iterable<String> prefixes) {
+		List<String> nonBlank = new ArrayList<>();
+		for (String prefix : prefixes) {
+			if (prefix != null && !prefix.trim().isEmpty()) {
+				nonBlank.add(prefix.trim());
+			}
+		}
+		Cleanup cleanup = new Cleanup(cookieValue);
+		if (!nonBlank.isEmpty()) {
+			cleanup.run(name -> {
+				for (String prefix : nonBlank) {
+					if (name.startsWith(prefix)) {
+						return true;
+					}
+				}
+				return false;
+			});
+		}
+		return cleanup.deleted;
+	}
+
+	/**
+	 * One cleanup pass over all resource types.
+	 */
+	private static final class Cleanup {
+		final String cookieValue;
+		final int batchSize = Math.max(1,
+				ConfigManager.config().getInt("fixture.cleanup.batch.size", DEFAULT_BATCH_SIZE));
+		final Map<Resource, Integer> deleted = new EnumMap<>(Resource.class);
+		volatile boolean unauthorized;
+
+		Cleanup(String cookieValue) {
+			this.cookieValue = cookieValue;
+		}
+
+		/**
+		 * Deletes, per resource type in parallel, the tracked entities or, given a
+		 * name filter, the listed entities whose name it accepts.
+		 */
+		void run(Predicate<String> names) {
+			ExecutorService executor = FanOut.newExecutor();
+			try {
+				Map<Resource, Future<Integer>> futures = new EnumMap<>(Resource.class);
+				for (Resource resource : Resource.values()) {
+					futures.put(resource, executor.submit(() -> delete(resource,
+							names == null ? IntList.copyOf(resource.tracked) : matching(resource, names))));
+				}
+				for (Map.Entry<Resource, Future<Integer>> future : futures.entrySet()) {
+					deleted.put(future.getKey(), future.getValue().get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Fixture cleanup failed", e.getCause());
+			} finally {
+				executor.shutdown();
+			}
+		}
+
+		private IntList matching(Resource resource, Predicate<String> names) {
+			IntList ids = new IntList();
+			try (Paginator entities = new Paginator(resource.endpoint, cookieValue)) {
+				while (entities.hasNext()) {
+					Map<String, Object> entity = entities.next();
+					Object name = entity.get(resource.nameField);
+					if (name != null && names.test(name.toString()) && entity.get("id") instanceof Number) {
+						ids.addInt(((Number) entity.get("id")).intValue());
+					}
+				}
+			}
+			return ids;
+		}
+
+		private int delete(Resource resource, IntList ids) {
+			int count = 0;
+			for (int from = 0; from < ids.size() && !unauthorized; from += batchSize) {
+				count += deleteBatch(resource, ids, from, Math.min(ids.size(), from + batchSize));
+			}
+			return count;
+		}
+
+		/**
+		 * Deletes <code>ids[from, to)</code>, splitting the batch when the server
+		 * refuses it because some of the entities no longer exist.
+		 */
+		private int deleteBatch(Resource resource, IntList ids, int from, int to) {
+			int[] batch = new int[to - from];
+			for (int i = from; i < to; i++) {
+				batch[i - from] = ids.getInt(i);
+			}
+			Response response = RestAssured.given(HttpClientPool.requestSpec())
+					.cookie(LoginUtil.COOKIE_NAME, cookieValue).header("Content-Type", "application/json")
+					.body(BodyTemplate.IDS.render(batch)).delete(ConfigManager.config().baseUrl() + resource.endpoint);
+			int status = response.getStatusCode();
+			if (status == 200) {
+				for (int id : batch) {
+					resource.tracked.remove(id);
+				}
+				return batch.length;
+			}
+			if ((status == 404 || status == 422) && batch.length > 1) {
+				int middle = from + batch.length / 2;
+				return deleteBatch(resource, ids, from, middle) + deleteBatch(resource, ids, middle, to);
+			}
+			if (status == 404 || status == 422) {
+				resource.tracked.remove(batch[0]);
+			} else if (status == 401) {
+				unauthorized = true;
+			} else {
+				System.err.println("Fixture cleanup of " + resource + " failed with " + response.getStatusLine()
+						+ " for ids " + IntList.copyOf(ids.subList(from, to)));
+			}
+			return 0;
+		}
+	}
+}
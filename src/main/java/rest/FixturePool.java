@@ -0,0 +1,286 @@
+package rest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Entities created ahead of the tests that modify or delete them.
+ *
+ * <p>
+ * Write tests such as deleting a job title need an entity of their own. Rather
+ * than creating it on the measured path and then looking it up again, a test
+ * {@link #lease(FixtureCleanup.Resource) leases} one that the pool created in
+ * the background. A lease takes the head of a queue, so it costs no round
+ * trip, and a leased entity belongs to the test alone: parallel write tests
+ * never race for the "first" entity of a list.
+ *
+ * <p>
+ * For every resource type the pool keeps up to
+ * <code>fixture.pool.size</code> entities ready (default 3). When a lease
+ * leaves fewer than <code>fixture.pool.low.water</code> (default 1), the
+ * missing ones are created concurrently on <code>fixture.pool.threads</code>
+ * daemon threads (default 4). A lease that finds the pool empty creates its
+ * entity on the calling thread. Entities are created through
+ * {@link HttpClientPool#requestSpec()}, so the {@link FixtureCleanup} deletes
+ * the ones left over at the end of the run. Close the pool before that cleanup
+ * runs, for example in an <code>@AfterClass</code> method: closing waits for
+ * the creations under way, so none of them lands after the cleanup and is
+ * left behind.
+ */
+public final class FixturePool implements AutoCloseable {
+
+	/** An entity leased from the pool. */
+	public static final class Fixture {
+		private final FixtureCleanup.Resource resource;
+		private final int id;
+		private final String name;
+
+		Fixture(FixtureCleanup.Resource resource, int id, String name) {
+			this.resource = resource;
+			this.id = id;
+			this.name = name;
+		}
+
+		/**
+		 * Returns the resource type.
+		 *
+		 * @return the type
+		 */
+		public FixtureCleanup.Resource resource() {
+			return resource;
+		}
+
+		/**
+		 * Returns the id the server assigned.
+		 *
+		 * @return the id
+		 */
+		public int id() {
+			return id;
+		}
+
+		/**
+		 * Returns the name or title the entity was created with.
+		 *
+		 * @return the name
+		 */
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public String toString() {
+			return resource + " " + id + " (" + name + ")";
+		}
+	}
+
+	private final String baseUrl;
+	private final String cookieValue;
+	private final int size;
+	private final int lowWater;
+	private final long closeTimeoutMs;
+	private final ExecutorService executor;
+	private final Map<FixtureCleanup.Resource, Queue<Fixture>> ready = new EnumMap<>(FixtureCleanup.Resource.class);
+	/** Entities ready per type; kept apart because the queue's size is not constant time. */
+	private final Map<FixtureCleanup.Resource, AtomicInteger> available = new EnumMap<>(
+			FixtureCleanup.Resource.class);
+	private final Map<FixtureCleanup.Resource, AtomicInteger> pending = new EnumMap<>(FixtureCleanup.Resource.class);
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates an empty pool against <code>base.url</code> using the configured
+	 * sizes.
+	 *
+	 * @param cookieValue the OrangeHRM session cookie used to create entities
+	 */
+	public FixturePool(String cookieValue) {
+		this(ConfigManager.config(), cookieValue);
+	}
+
+	private FixturePool(Config config, String cookieValue) {
+		this(config.baseUrl(), cookieValue, config.getInt("fixture.pool.size", 3),
+				config.getInt("fixture.pool.low.water", 1), config.getInt("fixture.pool.threads", 4));
+	}
+
+	/**
+	 * Creates an empty pool.
+	 *
+	 * @param baseUrl     the OrangeHRM base URL, without a trailing slash
+	 * @param cookieValue the OrangeHRM session cookie used to create entities
+	 * @param size        the number of entities kept ready per resource type
+	 * @param lowWater    refill once fewer than this many are ready
+	 * @param threads     the number of background threads creating entities
+	 */
+	public FixturePool(String baseUrl, String cookieValue, int size, int lowWater, int threads) {
+		if (size <= 0 || lowWater < 0 || lowWater > size) {
+			throw new IllegalArgumentException("Need 0 <= lowWater <= size and size > 0: " + lowWater + ", " + size);
+		}
+		this.baseUrl = baseUrl;
+		this.cookieValue = cookieValue;
+		this.size = size;
+		this.lowWater = lowWater;
+		this.closeTimeoutMs = ConfigManager.config().getLong("fixture.pool.close.timeout.ms", 30000);
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, "fixture-pool-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (FixtureCleanup.Resource resource : FixtureCleanup.Resource.values()) {
+			ready.put(resource, new ConcurrentLinkedQueue<>());
+			available.put(resource, new AtomicInteger());
+			pending.put(resource, new AtomicInteger());
+		}
+	}
+
+	/**
+	 * Starts filling the pool for the given resource types in the background.
+	 * Types that are never prefilled are filled on their first lease.
+	 *
+	 * @param resources the resource types the tests will lease
+	 * @return this pool
+	 */
+	public FixturePool prefill(FixtureCleanup.Resource... resources) {
+		for (FixtureCleanup.Resource resource : resources) {
+			replenish(resource);
+		}
+		return this;
+	}
+
+	/**
+	 * Takes an entity out of the pool, creating one on the calling thread if none
+	 * is ready, and starts refilling below the low-water mark.
+	 *
+	 * @param resource the resource type
+	 * @return an entity no other caller receives
+	 * @throws IllegalStateException if an entity had to be created and the server
+	 *                               refused it
+	 */
+	public Fixture lease(FixtureCleanup.Resource resource) {
+		Fixture fixture = ready.get(resource).poll();
+		int left = fixture != null ? available.get(resource).decrementAndGet() : available.get(resource).get();
+		if (left < lowWater) {
+			replenish(resource);
+		}
+		if (fixture == null) {
+			misses.increment();
+			fixture = create(resource);
+		}
+		return fixture;
+	}
+
+	/**
+	 * Returns the number of entities ready for lease.
+	 *
+	 * @param resource the resource type
+	 * @return the count
+	 */
+	public int available(FixtureCleanup.Resource resource) {
+		return available.get(resource).get();
+	}
+
+	/**
+	 * Returns how many leases found the pool empty and had to wait for a new
+	 * entity.
+	 *
+	 * @return the count since the pool was created
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Stops scheduling new entities and waits up to
+	 * <code>fixture.pool.close.timeout.ms</code> (default 30000) for the ones
+	 * being created, so they are tracked by the {@link FixtureCleanup} before it
+	 * runs. Entities already created stay tracked; creations still running after
+	 * the timeout are interrupted.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(closeTimeoutMs, TimeUnit.MILLISECONDS)) {
+				System.err.println("Fixture pool: creations still running after " + closeTimeoutMs
+						+ " ms were interrupted and may need fixture.cleanup.sweep.prefixes");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Schedules as many creations as are missing to fill the pool, counting the
+	 * ones already scheduled.
+	 */
+	private void replenish(FixtureCleanup.Resource resource) {
+		AtomicInteger scheduled = pending.get(resource);
+		int missing;
+		int current;
+		do {
+			current = scheduled.get();
+			missing = size - available.get(resource).get() - current;
+			if (missing <= 0 || executor.isShutdown()) {
+				return;
+			}
+		} while (!scheduled.compareAndSet(current, current + missing));
+		for (int i = 0; i < missing; i++) {
+			executor.execute(() -> {
+				try {
+					Fixture fixture = create(resource);
+					// counted first, so a lease that takes it never sees a negative count
+					available.get(resource).incrementAndGet();
+					ready.get(resource).add(fixture);
+				} catch (RuntimeException e) {
+					System.err.println("Fixture pool could not create " + resource + ": " + e.getMessage());
+				} finally {
+					scheduled.decrementAndGet();
+				}
+			});
+		}
+	}
+
+	private Fixture create(FixtureCleanup.Resource resource) {
+		String name;
+		byte[] body;
+		switch (resource) {
+		case JOB_TITLES:
+			name = ApiUtil.generateUniqueName("Job_");
+			body = BodyTemplate.JOB_TITLE.render(name, "", "");
+			break;
+		case EMPLOYMENT_STATUSES:
+			name = ApiUtil.generateUniqueName("EmpStatus_");
+			body = BodyTemplate.NAME.render(name);
+			break;
+		case PAY_GRADES:
+			name = ApiUtil.generateUniqueName("PayGrade_");
+			body = BodyTemplate.NAME.render(name);
+			break;
+		default:
+			name = ApiUtil.generateUniqueName("JobCat_");
+			body = BodyTemplate.NAME.render(name);
+			break;
+		}
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie(LoginUtil.COOKIE_NAME, cookieValue)
+				.header("Content-Type", "application/json").body(body).post(baseUrl + resource.endpoint());
+		if (response.getStatusCode() != 200) {
+			throw new IllegalStateException(
+					"Creating " + resource + " " + name + " failed with " + response.getStatusLine());
+		}
+		return new Fixture(resource, JsonPathAccessor.DATA_IDS.getInt(JsonPathAccessor.read(response)), name);
+	}
+}
@@ -0,0 +1,197 @@
+package rest;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.specification.RequestSpecification;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Shared, pooled HTTP client used by every request sent through {@link ApiUtil}.
+ *
+ * <p>
+ * RestAssured creates a new Apache HttpClient for each request unless it is told
+ * otherwise, so every call pays for a fresh TCP and TLS handshake. This class
+ * keeps a single {@link DefaultHttpClient} backed by a
+ * {@link PoolingClientConnectionManager} and hands it to RestAssured through a
+ * {@link HttpClientConfig} that reuses the instance. Connections are kept alive
+ * between requests, bounded per route and in total, and evicted in the
+ * background once they have been idle for too long. The client retries
+ * transient failures of idempotent requests as the {@link RetryPolicy} allows.
+ *
+ * <p>
+ * The pool is configured from <code>config.properties</code>:
+ * <ul>
+ * <li><code>http.pool.max.total</code> - maximum connections overall</li>
+ * <li><code>http.pool.max.per.route</code> - maximum connections per host</li>
+ * <li><code>http.pool.idle.timeout.ms</code> - idle time before a connection is
+ * closed</li>
+ * <li><code>http.pool.eviction.interval.ms</code> - how often idle and expired
+ * connections are swept</li>
+ * <li><code>http.connect.timeout.ms</code> / <code>http.socket.timeout.ms</code>
+ * - connect and read timeouts</li>
+ * </ul>
+ * Limits, timeouts and the idle timeout follow configuration reloads (see
+ * {@link ConfigManager}); the eviction interval is fixed at startup.
+ */
+public final class HttpClientPool {
+
+	private static final int DEFAULT_MAX_TOTAL = 200;
+	private static final int DEFAULT_MAX_PER_ROUTE = 50;
+	private static final long DEFAULT_IDLE_TIMEOUT_MS = 30000;
+	private static final long DEFAULT_EVICTION_INTERVAL_MS = 5000;
+	private static final int DEFAULT_CONNECT_TIMEOUT_MS = 10000;
+	private static final int DEFAULT_SOCKET_TIMEOUT_MS = 30000;
+
+	private static final PoolingClientConnectionManager CONNECTION_MANAGER;
+	private static final DefaultHttpClient HTTP_CLIENT;
+	private static final ScheduledExecutorService EVICTOR;
+	private static final TransportFilter TRANSPORT_FILTER = TransportFilter.fromConfig();
+	private static volatile HttpClientConfig httpClientConfig;
+
+	static {
+		CONNECTION_MANAGER = new PoolingClientConnectionManager();
+		HTTP_CLIENT = new DefaultHttpClient(CONNECTION_MANAGER) {
+			@Override
+			protected RequestDirector createClientRequestDirector(HttpRequestExecutor requestExec,
+					ClientConnectionManager conman, ConnectionReuseStrategy reustrat,
+					ConnectionKeepAliveStrategy kastrat, HttpRoutePlanner rouplan, HttpProcessor httpProcessor,
+					HttpRequestRetryHandler retryHandler, RedirectStrategy redirectStrategy,
+					AuthenticationStrategy targetAuthStrategy, AuthenticationStrategy proxyAuthStrategy,
+					UserTokenHandler userTokenHandler, HttpParams params) {
+				return RetryPolicy.retrying(() -> super.createClientRequestDirector(requestExec, conman, reustrat,
+						kastrat, rouplan, httpProcessor, retryHandler, redirectStrategy, targetAuthStrategy,
+						proxyAuthStrategy, userTokenHandler, params));
+			}
+		};
+		HTTP_CLIENT.setHttpRequestRetryHandler(RetryPolicy.IO_RETRY_HANDLER);
+		applyConfig(ConfigManager.config());
+		ConfigManager.addListener(HttpClientPool::applyConfig);
+
+		long evictionInterval = longProperty("http.pool.eviction.interval.ms", DEFAULT_EVICTION_INTERVAL_MS);
+		EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "http-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		EVICTOR.scheduleWithFixedDelay(() -> {
+			CONNECTION_MANAGER.closeExpiredConnections();
+			CONNECTION_MANAGER.closeIdleConnections(
+					longProperty("http.pool.idle.timeout.ms", DEFAULT_IDLE_TIMEOUT_MS), TimeUnit.MILLISECONDS);
+		}, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+
+		Runtime.getRuntime().addShutdownHook(new Thread(HttpClientPool::shutdown, "http-pool-shutdown"));
+	}
+
+	private HttpClientPool() {
+	}
+
+	/**
+	 * Returns a request specification bound to the shared pooled client.
+	 *
+	 * <p>
+	 * The specification is built on top of the current global
+	 * {@link RestAssured#config()}, so settings such as relaxed HTTPS validation
+	 * that were applied globally are preserved. Responses that ask for a new login
+	 * are reported to the {@link SessionPool} owning the request cookie, created
+	 * entities are tracked for the {@link FixtureCleanup}, the
+	 * {@link ResponseCache} answers <code>GET</code> requests it holds, the
+	 * request waits for its {@link RateLimiter} permits, and the
+	 * {@link CircuitBreaker} of the target host rejects requests while it is
+	 * open. The request is then sent by RestAssured's Apache client or, when
+	 * <code>http.transport</code> selects another {@link HttpTransport}, by the
+	 * {@link TransportFilter}; both retry transient failures of idempotent
+	 * requests as the {@link RetryPolicy} allows.
+	 *
+	 * @return a {@link RequestSpecification} to merge into a request with
+	 *         <code>spec(...)</code>
+	 */
+	public static RequestSpecification requestSpec() {
+		RequestSpecBuilder builder = new RequestSpecBuilder().setConfig(RestAssured.config().httpClient(httpClientConfig))
+				.addFilter(SessionPool.EXPIRY_FILTER).addFilter(FixtureCleanup.FILTER).addFilter(ResponseCache.FILTER)
+				.addFilter(RateLimiter.FILTER).addFilter(CircuitBreaker.FILTER);
+		if (TRANSPORT_FILTER != null) {
+			builder.addFilter(TRANSPORT_FILTER);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the shared {@link HttpClientConfig} so callers that build their own
+	 * {@link io.restassured.config.RestAssuredConfig} can reuse the pool.
+	 *
+	 * @return the pooled {@link HttpClientConfig}
+	 */
+	public static HttpClientConfig httpClientConfig() {
+		return httpClientConfig;
+	}
+
+	/**
+	 * Returns a snapshot of the pool usage across all routes.
+	 *
+	 * @return {@link PoolStats} with leased, pending, available and max counts
+	 */
+	public static PoolStats stats() {
+		return CONNECTION_MANAGER.getTotalStats();
+	}
+
+	/**
+	 * Closes idle and expired connections and stops the eviction thread. Called
+	 * automatically when the JVM exits.
+	 */
+	public static void shutdown() {
+		EVICTOR.shutdownNow();
+		CONNECTION_MANAGER.shutdown();
+	}
+
+	/**
+	 * Applies pool limits and timeouts from a configuration snapshot. Called once
+	 * at startup and again whenever the configuration is reloaded; requests
+	 * already in flight keep the settings they started with.
+	 */
+	private static void applyConfig(Config config) {
+		CONNECTION_MANAGER.setMaxTotal(config.getInt("http.pool.max.total", DEFAULT_MAX_TOTAL));
+		CONNECTION_MANAGER.setDefaultMaxPerRoute(config.getInt("http.pool.max.per.route", DEFAULT_MAX_PER_ROUTE));
+		httpClientConfig = HttpClientConfig.httpClientConfig().reuseHttpClientInstance()
+				.httpClientFactory(new HttpClientConfig.HttpClientFactory() {
+					@Override
+					public HttpClient createHttpClient() {
+						return HTTP_CLIENT;
+					}
+				}).setParam(CoreConnectionPNames.CONNECTION_TIMEOUT,
+						config.getInt("http.connect.timeout.ms", DEFAULT_CONNECT_TIMEOUT_MS))
+				.setParam(CoreConnectionPNames.SO_TIMEOUT,
+						config.getInt("http.socket.timeout.ms", DEFAULT_SOCKET_TIMEOUT_MS));
+	}
+
+	static int intProperty(String key, int defaultValue) {
+		return ConfigManager.config().getInt(key, defaultValue);
+	}
+
+	static long longProperty(String key, long defaultValue) {
+		return ConfigManager.config().getLong(key, defaultValue);
+	}
+}
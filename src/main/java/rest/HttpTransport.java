@@ -0,0 +1,35 @@
+package rest;
+
+import java.io.IOException;
+
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+/**
+ * Sends a fully built RestAssured request over an alternative HTTP client.
+ *
+ * <p>
+ * By default RestAssured sends every request through the pooled Apache client
+ * from {@link HttpClientPool}. When <code>http.transport</code> names another
+ * implementation, {@link TransportFilter} hands the request to it instead and
+ * returns its {@link Response} to the caller, so {@link ApiUtil} and the
+ * {@link CustomResponse} objects it produces do not change, apart from the
+ * protocol and reason phrase of the status line, which are whatever the
+ * transport reports.
+ *
+ * <p>
+ * Implementations must be thread safe and have a public no-argument
+ * constructor.
+ */
+public interface HttpTransport {
+
+	/**
+	 * Sends the request and reads the whole response.
+	 *
+	 * @param request the request after all other filters have been applied
+	 * @return the response, including protocol, status line, headers and body
+	 * @throws IOException if the request cannot be sent or the response cannot
+	 *                     be read
+	 */
+	Response send(FilterableRequestSpecification request) throws IOException;
+}
@@ -0,0 +1,263 @@
+package rest;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A growable list of <code>int</code> values backed by an <code>int[]</code>.
+ *
+ * <p>
+ * ID lists of large listings hold one element per record. Stored as
+ * <code>List&lt;Integer&gt;</code> every ID is a separate object and checks such
+ * as <code>stream().allMatch(id -&gt; id &gt; 0)</code> unbox each one. This
+ * list keeps the values unboxed and answers {@link #containsInt(int)},
+ * {@link #min()}, {@link #max()} and {@link #allPositive()} with a plain loop
+ * over the array.
+ *
+ * <p>
+ * It still is a <code>List&lt;Integer&gt;</code>, so it can be assigned to the
+ * existing {@link CustomResponse} fields and used through the list API; values
+ * are only boxed when they are read that way. <code>null</code> elements are
+ * not supported: adding or setting one throws a
+ * <code>NullPointerException</code>.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+	private static final int[] EMPTY = new int[0];
+
+	private int[] elements;
+	private int size;
+
+	public IntList() {
+		this.elements = EMPTY;
+	}
+
+	/**
+	 * Creates an empty list.
+	 *
+	 * @param initialCapacity the number of values the list can hold before it
+	 *                        grows
+	 */
+	public IntList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+		}
+		this.elements = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+	}
+
+	/**
+	 * Copies a collection of numbers, for example a list parsed by JsonPath.
+	 *
+	 * @param values the values; must not contain <code>null</code>
+	 * @return a new list, or <code>null</code> if <code>values</code> is
+	 *         <code>null</code>
+	 */
+	public static IntList copyOf(Collection<? extends Number> values) {
+		if (values == null) {
+			return null;
+		}
+		IntList copy = new IntList(values.size());
+		if (values instanceof IntList) {
+			IntList other = (IntList) values;
+			System.arraycopy(other.elements, 0, copy.elements, 0, other.size);
+			copy.size = other.size;
+			return copy;
+		}
+		for (Number value : values) {
+			copy.addInt(value.intValue());
+		}
+		return copy;
+	}
+
+	/**
+	 * Appends a value.
+	 *
+	 * @param value the value
+	 */
+	public void addInt(int value) {
+		if (size == elements.length) {
+			grow(size + 1);
+		}
+		elements[size++] = value;
+		modCount++;
+	}
+
+	/**
+	 * Returns a value without boxing it.
+	 *
+	 * @param index the index
+	 * @return the value
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public int getInt(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * Indicates whether the list contains a value.
+	 *
+	 * @param value the value
+	 * @return <code>true</code> if it is present
+	 */
+	public boolean containsInt(int value) {
+		return indexOfInt(value) >= 0;
+	}
+
+	/**
+	 * Returns the first index of a value.
+	 *
+	 * @param value the value
+	 * @return the index, or <code>-1</code> if it is not present
+	 */
+	public int indexOfInt(int value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the smallest value.
+	 *
+	 * @return the minimum
+	 * @throws NoSuchElementException if the list is empty
+	 */
+	public int min() {
+		if (size == 0) {
+			throw new NoSuchElementException("Empty list has no minimum");
+		}
+		int min = elements[0];
+		for (int i = 1; i < size; i++) {
+			min = Math.min(min, elements[i]);
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the largest value.
+	 *
+	 * @return the maximum
+	 * @throws NoSuchElementException if the list is empty
+	 */
+	public int max() {
+		if (size == 0) {
+			throw new NoSuchElementException("Empty list has no maximum");
+		}
+		int max = elements[0];
+		for (int i = 1; i < size; i++) {
+			max = Math.max(max, elements[i]);
+		}
+		return max;
+	}
+
+	/**
+	 * Indicates whether every value is greater than zero, like
+	 * <code>stream().allMatch(id -&gt; id &gt; 0)</code>.
+	 *
+	 * @return <code>true</code> if all values are positive or the list is empty
+	 */
+	public boolean allPositive() {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] <= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a copy of the values.
+	 *
+	 * @return a new array of length {@link #size()}
+	 */
+	public int[] toIntArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public Integer set(int index, Integer value) {
+		checkIndex(index);
+		int previous = elements[index];
+		elements[index] = unbox(value);
+		return previous;
+	}
+
+	@Override
+	public boolean add(Integer value) {
+		addInt(unbox(value));
+		return true;
+	}
+
+	@Override
+	public void add(int index, Integer value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		int unboxed = unbox(value);
+		if (size == elements.length) {
+			grow(size + 1);
+		}
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = unboxed;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Integer remove(int index) {
+		checkIndex(index);
+		int removed = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return value instanceof Integer && containsInt((Integer) value);
+	}
+
+	@Override
+	public int indexOf(Object value) {
+		return value instanceof Integer ? indexOfInt((Integer) value) : -1;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private static int unbox(Integer value) {
+		return Objects.requireNonNull(value, "IntList cannot hold null");
+	}
+
+	private void grow(int minCapacity) {
+		int capacity = Math.max(minCapacity, Math.max(10, elements.length + (elements.length >> 1)));
+		elements = Arrays.copyOf(elements, capacity);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
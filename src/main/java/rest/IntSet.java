@@ -0,0 +1,353 @@
+package rest;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of <code>int</code> values stored unboxed in an open-addressing hash
+ * table with linear probing.
+ *
+ * <p>
+ * Membership checks of IDs, for example whether a created record shows up in a
+ * listing, hash the value and probe a single <code>int[]</code> instead of
+ * following <code>Integer</code> keys and entry objects of a
+ * <code>HashSet</code>. The table is kept at most half full. Zero is the marker
+ * of a free slot and is tracked with a separate flag. Removal shifts the
+ * following entries of the probe run back, so no deleted markers build up.
+ *
+ * <p>
+ * The set is a <code>Set&lt;Integer&gt;</code> for compatibility;
+ * <code>null</code> is not supported.
+ */
+public final class IntSet extends AbstractSet<Integer> {
+
+	private static final int FREE = 0;
+
+	private int[] table;
+	private int mask;
+	private int size;
+	private boolean containsZero;
+	private int modCount;
+
+	public IntSet() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty set.
+	 *
+	 * @param expectedSize the number of values the set can hold before it grows
+	 */
+	public IntSet(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+		this.table = new int[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Copies a collection of numbers.
+	 *
+	 * @param values the values; must not contain <code>null</code>
+	 * @return a new set, or <code>null</code> if <code>values</code> is
+	 *         <code>null</code>
+	 */
+	public static IntSet copyOf(Collection<? extends Number> values) {
+		if (values == null) {
+			return null;
+		}
+		IntSet copy = new IntSet(values.size());
+		if (values instanceof IntList) {
+			IntList list = (IntList) values;
+			for (int i = 0; i < list.size(); i++) {
+				copy.addInt(list.getInt(i));
+			}
+			return copy;
+		}
+		for (Number value : values) {
+			copy.addInt(value.intValue());
+		}
+		return copy;
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @param value the value
+	 * @return <code>true</code> if it was not present yet
+	 */
+	public boolean addInt(int value) {
+		if (value == FREE) {
+			if (containsZero) {
+				return false;
+			}
+			containsZero = true;
+			size++;
+			modCount++;
+			return true;
+		}
+		int slot = slot(value);
+		while (table[slot] != FREE) {
+			if (table[slot] == value) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = value;
+		size++;
+		modCount++;
+		if (size * 2 > table.length) {
+			rehash(table.length << 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes a value.
+	 *
+	 * @param value the value
+	 * @return <code>true</code> if it was present
+	 */
+	public boolean removeInt(int value) {
+		if (value == FREE) {
+			if (!containsZero) {
+				return false;
+			}
+			containsZero = false;
+			size--;
+			modCount++;
+			return true;
+		}
+		int slot = slot(value);
+		while (table[slot] != FREE) {
+			if (table[slot] == value) {
+				shiftBack(slot);
+				size--;
+				modCount++;
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Indicates whether the set contains a value.
+	 *
+	 * @param value the value
+	 * @return <code>true</code> if it is present
+	 */
+	public boolean containsInt(int value) {
+		if (value == FREE) {
+			return containsZero;
+		}
+		int slot = slot(value);
+		while (table[slot] != FREE) {
+			if (table[slot] == value) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the smallest value.
+	 *
+	 * @return the minimum
+	 * @throws NoSuchElementException if the set is empty
+	 */
+	public int min() {
+		if (size == 0) {
+			throw new NoSuchElementException("Empty set has no minimum");
+		}
+		int min = containsZero ? 0 : Integer.MAX_VALUE;
+		for (int value : table) {
+			if (value != FREE) {
+				min = Math.min(min, value);
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the largest value.
+	 *
+	 * @return the maximum
+	 * @throws NoSuchElementException if the set is empty
+	 */
+	public int max() {
+		if (size == 0) {
+			throw new NoSuchElementException("Empty set has no maximum");
+		}
+		int max = containsZero ? 0 : Integer.MIN_VALUE;
+		for (int value : table) {
+			if (value != FREE) {
+				max = Math.max(max, value);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Indicates whether every value is greater than zero.
+	 *
+	 * @return <code>true</code> if all values are positive or the set is empty
+	 */
+	public boolean allPositive() {
+		if (containsZero) {
+			return false;
+		}
+		for (int value : table) {
+			if (value < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean add(Integer value) {
+		if (value == null) {
+			throw new NullPointerException("IntSet cannot hold null");
+		}
+		return addInt(value);
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return value instanceof Integer && containsInt((Integer) value);
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		return value instanceof Integer && removeInt((Integer) value);
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(table, FREE);
+		containsZero = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns an iterator over the values. Its <code>remove()</code> copies the
+	 * table once before the first removal, since removal moves later entries of
+	 * a probe run into slots the iterator may already have passed.
+	 */
+	@Override
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>() {
+			private final int[] slots = table;
+			private int expectedModCount = modCount;
+			private boolean zeroPending = containsZero;
+			private int next = advance(0);
+			private boolean canRemove;
+			private int last;
+
+			@Override
+			public boolean hasNext() {
+				return zeroPending || next < slots.length;
+			}
+
+			@Override
+			public Integer next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (zeroPending) {
+					zeroPending = false;
+					last = FREE;
+				} else {
+					if (next >= slots.length) {
+						throw new NoSuchElementException();
+					}
+					last = slots[next];
+					next = advance(next + 1);
+				}
+				canRemove = true;
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (!canRemove) {
+					throw new IllegalStateException();
+				}
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (table == slots) {
+					table = slots.clone();
+				}
+				removeInt(last);
+				expectedModCount = modCount;
+				canRemove = false;
+			}
+
+			private int advance(int from) {
+				int slot = from;
+				while (slot < slots.length && slots[slot] == FREE) {
+					slot++;
+				}
+				return slot;
+			}
+		};
+	}
+
+	/**
+	 * Spreads the bits of the value so that sequential IDs do not fill
+	 * neighbouring slots.
+	 */
+	private int slot(int value) {
+		int hash = value * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * Empties a slot and moves each following entry of its probe run into the
+	 * gap unless the entry's home slot lies between the gap and the entry.
+	 */
+	private void shiftBack(int gap) {
+		int slot = gap;
+		while (true) {
+			slot = (slot + 1) & mask;
+			int value = table[slot];
+			if (value == FREE) {
+				table[gap] = FREE;
+				return;
+			}
+			int home = slot(value);
+			boolean reachable = gap <= slot ? home <= gap || home > slot : home <= gap && home > slot;
+			if (reachable) {
+				table[gap] = value;
+				gap = slot;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		int[] old = table;
+		table = new int[capacity];
+		mask = capacity - 1;
+		for (int value : old) {
+			if (value != FREE) {
+				int slot = slot(value);
+				while (table[slot] != FREE) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = value;
+			}
+		}
+	}
+}
@@ -0,0 +1,322 @@
+package rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import io.restassured.response.Response;
+
+/**
+ * A JSON path such as <code>data[0].id</code> or <code>meta.total</code>,
+ * parsed once and evaluated against a Jackson tree.
+ *
+ * <p>
+ * <code>response.jsonPath().getInt("data[0].id")</code> parses the body and
+ * compiles the expression as a Groovy GPath on every call. An accessor is
+ * compiled once, usually into a constant or through the cache behind
+ * {@link #compile(String)}, and evaluated against a tree that can be shared by
+ * any number of accessors, such as {@link CustomResponse#json()}.
+ *
+ * <p>
+ * The supported subset of GPath covers what the suite uses:
+ * <ul>
+ * <li><code>name</code> - a property of an object, separated by dots</li>
+ * <li><code>['name']</code> - a property whose name contains dots, such as
+ * <code>data['leave.assign_leave']</code></li>
+ * <li><code>[n]</code> - an array element; negative indexes count from the
+ * end</li>
+ * <li>a property applied to an array collects it from every element, so
+ * <code>data.id</code> is the list of all IDs</li>
+ * </ul>
+ * Values are returned as plain Java objects: objects as {@link Map}s, arrays as
+ * {@link List}s, integers as {@link Integer} (or {@link Long} when they do not
+ * fit), decimals as {@link Double}.
+ */
+public final class JsonPathAccessor {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final Map<String, JsonPathAccessor> CACHE = new ConcurrentHashMap<>();
+
+	public static final JsonPathAccessor DATA = compile("data");
+	public static final JsonPathAccessor META = compile("meta");
+	public static final JsonPathAccessor META_TOTAL = compile("meta.total");
+	public static final JsonPathAccessor DATA_IDS = compile("data.id");
+	public static final JsonPathAccessor FIRST_ID = compile("data[0].id");
+
+	private final String expression;
+	/** Property names; <code>null</code> where the step is an index. */
+	private final String[] names;
+	private final int[] indexes;
+
+	private JsonPathAccessor(String expression, List<String> names, List<Integer> indexes) {
+		this.expression = expression;
+		this.names = names.toArray(new String[0]);
+		this.indexes = new int[indexes.size()];
+		for (int i = 0; i < this.indexes.length; i++) {
+			this.indexes[i] = indexes.get(i);
+		}
+	}
+
+	/**
+	 * Returns the accessor for an expression, parsing it on first use.
+	 *
+	 * @param expression the path, for example <code>data[0].id</code>
+	 * @return the shared accessor
+	 * @throws IllegalArgumentException if the expression is not valid
+	 */
+	public static JsonPathAccessor compile(String expression) {
+		JsonPathAccessor accessor = CACHE.get(expression);
+		if (accessor == null) {
+			accessor = parse(expression);
+			JsonPathAccessor raced = CACHE.putIfAbsent(expression, accessor);
+			if (raced != null) {
+				accessor = raced;
+			}
+		}
+		return accessor;
+	}
+
+	/**
+	 * Parses a response body into a tree that accessors can be evaluated against.
+	 *
+	 * @param response the response
+	 * @return the root node
+	 * @throws UncheckedIOException if the body is not valid JSON
+	 */
+	public static JsonNode read(Response response) {
+		try {
+			return MAPPER.readTree(response.asByteArray());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Response body is not valid JSON", e);
+		}
+	}
+
+	/**
+	 * Evaluates the path.
+	 *
+	 * @param root the root of the tree
+	 * @return the node at the path, or a missing node if there is none
+	 */
+	public JsonNode node(JsonNode root) {
+		JsonNode node = root;
+		for (int i = 0; i < names.length && !node.isMissingNode(); i++) {
+			node = names[i] != null ? property(node, names[i]) : element(node, indexes[i]);
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the value at the path as an <code>int</code>.
+	 *
+	 * @param root the root of the tree
+	 * @return the value
+	 * @throws IllegalStateException if there is no number at the path
+	 */
+	public int getInt(JsonNode root) {
+		return intValue(node(root), expression);
+	}
+
+	/**
+	 * Returns the value at the path as text.
+	 *
+	 * @param root the root of the tree
+	 * @return the text of a scalar, or <code>null</code> if the path is missing or
+	 *         <code>null</code>
+	 */
+	public String getString(JsonNode root) {
+		JsonNode node = node(root);
+		return node.isMissingNode() || node.isNull() ? null : node.isValueNode() ? node.asText() : node.toString();
+	}
+
+	/**
+	 * Returns the value at the path as a plain Java object.
+	 *
+	 * @param root the root of the tree
+	 * @return a map, list, number, string or boolean, or <code>null</code>
+	 */
+	public Object get(JsonNode root) {
+		return toJava(node(root));
+	}
+
+	/**
+	 * Returns the array at the path as a list of plain Java objects.
+	 *
+	 * @param root the root of the tree
+	 * @param <T>  the element type the caller expects
+	 * @return the list, or <code>null</code> if the path does not hold an array
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getList(JsonNode root) {
+		JsonNode node = node(root);
+		return node.isArray() ? (List<T>) toJava(node) : null;
+	}
+
+	/**
+	 * Returns the object at the path as a map of plain Java objects.
+	 *
+	 * @param root the root of the tree
+	 * @return the map, or <code>null</code> if the path does not hold an object
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getMap(JsonNode root) {
+		JsonNode node = node(root);
+		return node.isObject() ? (Map<String, Object>) toJava(node) : null;
+	}
+
+	/**
+	 * Returns the array of integers at the path, for example
+	 * <code>data.id</code>, without boxing.
+	 *
+	 * @param root the root of the tree
+	 * @return the values, or <code>null</code> if the path does not hold an
+	 *         array
+	 * @throws IllegalStateException if an element is <code>null</code>, missing
+	 *                               or not a number, such as a record without
+	 *                               an ID
+	 */
+	public IntList getIntList(JsonNode root) {
+		JsonNode node = node(root);
+		if (!node.isArray()) {
+			return null;
+		}
+		IntList values = new IntList(node.size());
+		for (int i = 0; i < node.size(); i++) {
+			values.addInt(intValue(node.get(i), expression + "[" + i + "]"));
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the expression this accessor was compiled from.
+	 *
+	 * @return the expression
+	 */
+	public String expression() {
+		return expression;
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	private static int intValue(JsonNode node, String path) {
+		if (node.isNumber() || node.isTextual() && !node.asText().trim().isEmpty()) {
+			return node.isNumber() ? node.intValue() : Integer.parseInt(node.asText().trim());
+		}
+		throw new IllegalStateException("No number at '" + path + "' but " + node.getNodeType());
+	}
+
+	private static JsonNode property(JsonNode node, String name) {
+		if (node.isObject()) {
+			return node.path(name);
+		}
+		if (node.isArray()) {
+			ArrayNode collected = JsonNodeFactory.instance.arrayNode(node.size());
+			for (JsonNode element : node) {
+				JsonNode value = property(element, name);
+				collected.add(value.isMissingNode() ? JsonNodeFactory.instance.nullNode() : value);
+			}
+			return collected;
+		}
+		return MissingNode.getInstance();
+	}
+
+	private static JsonNode element(JsonNode node, int index) {
+		if (!node.isArray()) {
+			return MissingNode.getInstance();
+		}
+		return node.path(index < 0 ? node.size() + index : index);
+	}
+
+	private static Object toJava(JsonNode node) {
+		switch (node.getNodeType()) {
+		case OBJECT:
+			Map<String, Object> map = new LinkedHashMap<>();
+			for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				map.put(field.getKey(), toJava(field.getValue()));
+			}
+			return map;
+		case ARRAY:
+			List<Object> list = new ArrayList<>(node.size());
+			for (JsonNode element : node) {
+				list.add(toJava(element));
+			}
+			return list;
+		case NUMBER:
+			if (node.isInt()) {
+				return node.intValue();
+			}
+			return node.isIntegralNumber() ? (Object) node.longValue() : (Object) node.doubleValue();
+		case STRING:
+			return node.textValue();
+		case BOOLEAN:
+			return node.booleanValue();
+		default:
+			return null;
+		}
+	}
+
+	private static JsonPathAccessor parse(String expression) {
+		List<String> names = new ArrayList<>();
+		List<Integer> indexes = new ArrayList<>();
+		int i = 0;
+		int length = expression.length();
+		while (i < length) {
+			char c = expression.charAt(i);
+			if (c == '.') {
+				if (i == 0 || i == length - 1 || expression.charAt(i + 1) == '.') {
+					throw invalid(expression, i);
+				}
+				i++;
+			} else if (c == '[') {
+				int close = expression.indexOf(']', i);
+				if (close < 0) {
+					throw invalid(expression, i);
+				}
+				String inside = expression.substring(i + 1, close).trim();
+				if (inside.length() >= 2 && (inside.charAt(0) == '\'' || inside.charAt(0) == '"')
+						&& inside.charAt(inside.length() - 1) == inside.charAt(0)) {
+					names.add(inside.substring(1, inside.length() - 1));
+					indexes.add(0);
+				} else {
+					try {
+						indexes.add(Integer.parseInt(inside));
+					} catch (NumberFormatException e) {
+						throw invalid(expression, i + 1);
+					}
+					names.add(null);
+				}
+				i = close + 1;
+			} else {
+				int end = i;
+				while (end < length && expression.charAt(end) != '.' && expression.charAt(end) != '[') {
+					end++;
+				}
+				names.add(expression.substring(i, end));
+				indexes.add(0);
+				i = end;
+			}
+		}
+		if (names.isEmpty()) {
+			throw new IllegalArgumentException("Empty JSON path");
+		}
+		return new JsonPathAccessor(expression, names, indexes);
+	}
+
+	private static IllegalArgumentException invalid(String expression, int position) {
+		return new IllegalArgumentException("Invalid JSON path '" + expression + "' at position " + position);
+	}
+}
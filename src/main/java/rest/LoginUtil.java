@@ -0,0 +1,103 @@
+package rest;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Logs in to OrangeHRM over plain HTTP and returns the <code>orangehrm</code>
+ * session cookie, without starting a browser.
+ *
+ * <p>
+ * The flow mirrors what the login page does in a browser:
+ * <ol>
+ * <li><code>GET /web/index.php/auth/login</code> to obtain a pre-login session
+ * cookie and the CSRF token embedded in the page</li>
+ * <li><code>POST /web/index.php/auth/validate</code> with <code>_token</code>,
+ * <code>username</code> and <code>password</code> as form fields, without
+ * following the redirect</li>
+ * <li>read the regenerated <code>orangehrm</code> cookie from the response; a
+ * redirect back to the login page means the credentials were rejected</li>
+ * </ol>
+ * Both requests go through {@link HttpClientPool}, so a login costs two round
+ * trips on an already warm connection.
+ */
+public final class LoginUtil {
+
+	public static final String COOKIE_NAME = "orangehrm";
+	static final String LOGIN_PATH = "/web/index.php/auth/login";
+	static final String VALIDATE_PATH = "/web/index.php/auth/validate";
+
+	/**
+	 * Matches the token both in the Vue component attribute used by OrangeHRM 5
+	 * (<code>:token="&amp;quot;...&amp;quot;"</code>) and in a classic hidden
+	 * <code>_token</code> input.
+	 */
+	private static final Pattern TOKEN_PATTERN = Pattern.compile(
+			":token=\"(?:&quot;)?([^\"&]+)(?:&quot;)?\"|name=\"_token\"[^>]*value=\"([^\"]+)\"");
+
+	private LoginUtil() {
+	}
+
+	/**
+	 * Logs in with <code>base.url</code>, <code>username</code> and
+	 * <code>password</code> from <code>config.properties</code>.
+	 *
+	 * @return the authenticated <code>orangehrm</code> cookie value
+	 */
+	public static String login() {
+		return login(ConfigManager.getProperty("base.url"), ConfigManager.getProperty("username"),
+				ConfigManager.getProperty("password"));
+	}
+
+	/**
+	 * Logs in with the given credentials.
+	 *
+	 * @param baseUrl  the OrangeHRM base URL, without a trailing slash
+	 * @param username the user name
+	 * @param password the password
+	 * @return the authenticated <code>orangehrm</code> cookie value
+	 * @throws IllegalStateException if the login page has no CSRF token or the
+	 *                               credentials are rejected
+	 */
+	public static String login(String baseUrl, String username, String password) {
+		Response loginPage = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.get(baseUrl + LOGIN_PATH);
+		String preLoginCookie = loginPage.getCookie(COOKIE_NAME);
+		if (loginPage.getStatusCode() != 200 || preLoginCookie == null) {
+			throw new IllegalStateException("Unexpected login page response: " + loginPage.getStatusLine());
+		}
+		String token = extractToken(loginPage.asString());
+
+		Response validate = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation().redirects()
+				.follow(false).cookie(COOKIE_NAME, preLoginCookie).contentType("application/x-www-form-urlencoded")
+				.formParam("_token", token).formParam("username", username).formParam("password", password)
+				.post(baseUrl + VALIDATE_PATH);
+
+		String location = validate.getHeader("Location");
+		if (validate.getStatusCode() / 100 != 3 || location == null || location.contains(LOGIN_PATH)) {
+			throw new IllegalStateException("Login rejected for user '" + username + "': "
+					+ validate.getStatusLine() + (location == null ? "" : " -> " + location));
+		}
+		String sessionCookie = validate.getCookie(COOKIE_NAME);
+		return sessionCookie != null ? sessionCookie : preLoginCookie;
+	}
+
+	/**
+	 * Extracts the CSRF token from the login page HTML.
+	 *
+	 * @param html the login page body
+	 * @return the token
+	 * @throws IllegalStateException if the page contains no token
+	 */
+	static String extractToken(String html) {
+		Matcher matcher = TOKEN_PATTERN.matcher(html);
+		if (!matcher.find()) {
+			throw new IllegalStateException("CSRF token not found on the login page");
+		}
+		return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+	}
+}
@@ -0,0 +1,241 @@
+package rest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Lazily walks every page of a <code>limit</code>/<code>offset</code> OrangeHRM
+ * list endpoint such as <code>/api/v2/admin/pay-grades</code>,
+ * <code>job-titles</code> or <code>employment-statuses</code>.
+ *
+ * <p>
+ * The first page is fetched when the iterator is first used and its
+ * <code>meta.total</code> decides how many pages follow. While page N is being
+ * consumed, up to <code>prefetchDepth</code> following pages are already being
+ * requested on a {@link FanOut} executor, so the caller rarely waits for a
+ * round trip. Only the pages in flight and the page being consumed are held in
+ * memory; each record is the element of <code>data</code> as a map.
+ *
+ * <p>
+ * The iterator releases its threads once it is exhausted. Callers that stop
+ * early should {@link #close()} it, or close the {@link #stream()}:
+ *
+ * <pre>
+ * try (Stream&lt;Map&lt;String, Object&gt;&gt; grades = new Paginator(
+ * 		"/web/index.php/api/v2/admin/pay-grades", cookieValue).stream()) {
+ * 	grades.forEach(grade -&gt; ...);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Page size and prefetch depth default to <code>api.page.size</code> and
+ * <code>api.page.prefetch</code> from <code>config.properties</code>. Any
+ * <code>limit</code> or <code>offset</code> already present in the endpoint is
+ * replaced. Endpoints that do not report <code>meta.total</code> are read as a
+ * single page.
+ */
+public class Paginator implements Iterator<Map<String, Object>>, AutoCloseable {
+
+	private final String url;
+	private final String cookieValue;
+	private final int pageSize;
+	private final int prefetchDepth;
+	private final Deque<Future<Page>> prefetched = new ArrayDeque<>();
+
+	private ExecutorService executor;
+	private Iterator<Map<String, Object>> current;
+	private boolean started;
+	private boolean closed;
+	private int total;
+	private int nextOffset;
+
+	/**
+	 * Creates a paginator against <code>base.url</code> using the configured page
+	 * size and prefetch depth.
+	 *
+	 * @param endpoint    the list endpoint relative to the base URL
+	 * @param cookieValue the OrangeHRM session cookie
+	 */
+	public Paginator(String endpoint, String cookieValue) {
+		this(ConfigManager.getProperty("base.url"), endpoint, cookieValue,
+				HttpClientPool.intProperty("api.page.size", 50), HttpClientPool.intProperty("api.page.prefetch", 2));
+	}
+
+	/**
+	 * Creates a paginator.
+	 *
+	 * @param baseUrl       the OrangeHRM base URL, without a trailing slash
+	 * @param endpoint      the list endpoint relative to the base URL
+	 * @param cookieValue   the OrangeHRM session cookie
+	 * @param pageSize      the number of records requested per page
+	 * @param prefetchDepth how many pages to request ahead of the one being
+	 *                      consumed; <code>0</code> fetches pages one at a time
+	 */
+	public Paginator(String baseUrl, String endpoint, String cookieValue, int pageSize, int prefetchDepth) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+		}
+		if (prefetchDepth < 0) {
+			throw new IllegalArgumentException("prefetchDepth must not be negative: " + prefetchDepth);
+		}
+		this.url = baseUrl + stripPaging(endpoint);
+		this.cookieValue = cookieValue;
+		this.pageSize = pageSize;
+		this.prefetchDepth = prefetchDepth;
+	}
+
+	/**
+	 * Returns the records as a sequential, ordered stream. Closing the stream
+	 * closes this paginator.
+	 *
+	 * @return the records of every page
+	 */
+	public Stream<Map<String, Object>> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * Returns <code>meta.total</code> as reported by the first page. Fetches the
+	 * first page if that has not happened yet.
+	 *
+	 * @return the total number of records
+	 */
+	public int total() {
+		hasNext();
+		return total;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (current == null || !current.hasNext()) {
+			if (closed) {
+				return false;
+			}
+			if (!started) {
+				started = true;
+				Page first = fetch(0);
+				total = first.total < 0 ? first.records.size() : first.total;
+				nextOffset = pageSize;
+				current = first.records.iterator();
+			} else if (!prefetched.isEmpty()) {
+				current = await(prefetched.poll()).records.iterator();
+			} else if (nextOffset < total) {
+				current = fetch(nextOffset).records.iterator();
+				nextOffset += pageSize;
+			} else {
+				close();
+				return false;
+			}
+			prefetch();
+		}
+		return true;
+	}
+
+	@Override
+	public Map<String, Object> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return current.next();
+	}
+
+	/**
+	 * Cancels pages still in flight and releases the prefetch threads.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		current = Collections.emptyIterator();
+		for (Future<Page> page : prefetched) {
+			page.cancel(true);
+		}
+		prefetched.clear();
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private void prefetch() {
+		while (prefetched.size() < prefetchDepth && nextOffset < total) {
+			if (executor == null) {
+				executor = FanOut.newExecutor();
+			}
+			final int offset = nextOffset;
+			prefetched.add(executor.submit(() -> fetch(offset)));
+			nextOffset += pageSize;
+		}
+	}
+
+	private Page fetch(int offset) {
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.queryParam("limit", pageSize).queryParam("offset", offset).get(url);
+		if (response.getStatusCode() != 200) {
+			throw new IllegalStateException(
+					"GET " + url + " (offset " + offset + ") returned " + response.getStatusLine());
+		}
+		List<Map<String, Object>> records = new ArrayList<>(pageSize);
+		int pageTotal = StreamingJsonExtractor.page(response, records);
+		return new Page(records, pageTotal);
+	}
+
+	private Page await(Future<Page> page) {
+		try {
+			return page.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+			throw new IllegalStateException("Interrupted while waiting for the next page of " + url, e);
+		} catch (ExecutionException e) {
+			close();
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Unable to fetch the next page of " + url, e.getCause());
+		}
+	}
+
+	static String stripPaging(String endpoint) {
+		int query = endpoint.indexOf('?');
+		if (query < 0) {
+			return endpoint;
+		}
+		StringBuilder kept = new StringBuilder();
+		for (String param : endpoint.substring(query + 1).split("&")) {
+			if (param.isEmpty() || param.startsWith("limit=") || param.startsWith("offset=")) {
+				continue;
+			}
+			kept.append(kept.length() == 0 ? '?' : '&').append(param);
+		}
+		return endpoint.substring(0, query) + kept;
+	}
+
+	private static final class Page {
+		final List<Map<String, Object>> records;
+		final int total;
+
+		Page(List<Map<String, Object>> records, int total) {
+			this.records = records;
+			this.total = total;
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package rest;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+import coreUtilities.utils.Log;
+import restConfig.ConfigManager;
+
+/**
+ * Fast, reproducible randomness for request payloads.
+ *
+ * <p>
+ * Every thread gets its own {@link SplittableRandom} through
+ * {@link #current()}, so generating bodies at a high rate neither creates a
+ * <code>SecureRandom</code> per call nor contends on a shared
+ * <code>Random</code>. Independent streams, for example one per virtual user,
+ * are created with {@link #forStream(long)}.
+ *
+ * <p>
+ * All generators derive from one run seed, <code>payload.random.seed</code> in
+ * <code>config.properties</code>. When it is not set a random seed is chosen
+ * and logged at startup; setting it to that value replays the same payloads.
+ * A thread's generator is split off a root generator seeded with the run seed
+ * when the thread first asks, so its sequence depends on the order in which
+ * threads start. A stream's generator is seeded from the run seed and the
+ * stream ID alone, so code that must replay exactly, such as virtual users,
+ * uses numbered streams.
+ *
+ * <p>
+ * Besides single values there are bulk methods that append to a caller-owned
+ * {@link StringBuilder} or fill a <code>char[]</code> or ASCII
+ * <code>byte[]</code>, so a load generator can reuse one buffer for every
+ * request. Instances are not thread safe; use them from the thread that
+ * obtained them.
+ */
+public final class PayloadRandom {
+
+	private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"
+			.toCharArray();
+	private static final char[] CONSONANTS = "bcdfghjklmnprstvwz".toCharArray();
+	private static final char[] VOWELS = "aeiou".toCharArray();
+
+	private static final long SEED = seedFromConfig();
+	/** Source of the thread generators; split under its own lock. */
+	private static final SplittableRandom ROOT = new SplittableRandom(SEED);
+	private static final ThreadLocal<PayloadRandom> CURRENT = ThreadLocal.withInitial(() -> {
+		synchronized (ROOT) {
+			return new PayloadRandom(ROOT.split());
+		}
+	});
+
+	private final SplittableRandom random;
+	/** Unused random bits of the last <code>nextLong()</code>, taken 6 at a time. */
+	private long bits;
+	private int available;
+
+	private PayloadRandom(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private PayloadRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Returns the generator of the calling thread.
+	 *
+	 * @return the thread's generator
+	 */
+	public static PayloadRandom current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Creates an independent generator for a numbered stream, such as a virtual
+	 * user. The same run seed and stream ID always give the same sequence.
+	 *
+	 * @param streamId the stream number
+	 * @return a new generator
+	 */
+	public static PayloadRandom forStream(long streamId) {
+		return new PayloadRandom(mix(SEED + mix(streamId)));
+	}
+
+	/**
+	 * Returns the run seed, to log it with a failing run.
+	 *
+	 * @return the seed all generators derive from
+	 */
+	public static long seed() {
+		return SEED;
+	}
+
+	/**
+	 * Splits off a new generator whose sequence is independent of this one.
+	 *
+	 * @return the new generator
+	 */
+	public PayloadRandom split() {
+		return new PayloadRandom(random.split());
+	}
+
+	/**
+	 * Returns a value between 0 (inclusive) and <code>bound</code> (exclusive).
+	 *
+	 * @param bound the upper bound, positive
+	 * @return the value
+	 */
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	/**
+	 * Returns a value between <code>origin</code> (inclusive) and
+	 * <code>bound</code> (exclusive).
+	 *
+	 * @param origin the lower bound
+	 * @param bound  the upper bound, greater than <code>origin</code>
+	 * @return the value
+	 */
+	public int nextInt(int origin, int bound) {
+		return random.nextInt(origin, bound);
+	}
+
+	/**
+	 * Returns a uniformly distributed <code>long</code>.
+	 *
+	 * @return the value
+	 */
+	public long nextLong() {
+		return random.nextLong();
+	}
+
+	/**
+	 * Returns a uniformly distributed <code>boolean</code>.
+	 *
+	 * @return the value
+	 */
+	public boolean nextBoolean() {
+		return random.nextBoolean();
+	}
+
+	/**
+	 * Returns a random string of letters and digits.
+	 *
+	 * @param length the number of characters
+	 * @return the string
+	 */
+	public String alphanumeric(int length) {
+		char[] chars = new char[length];
+		fillAlphanumeric(chars, 0, length);
+		return new String(chars);
+	}
+
+	/**
+	 * Appends random letters and digits.
+	 *
+	 * @param into   the buffer to append to
+	 * @param length the number of characters
+	 * @return <code>into</code>
+	 */
+	public StringBuilder appendAlphanumeric(StringBuilder into, int length) {
+		for (int i = 0; i < length; i++) {
+			into.append(nextAlphanumeric());
+		}
+		return into;
+	}
+
+	/**
+	 * Fills part of a <code>char[]</code> with random letters and digits.
+	 *
+	 * @param buffer the buffer
+	 * @param offset the first index to fill
+	 * @param length the number of characters
+	 */
+	public void fillAlphanumeric(char[] buffer, int offset, int length) {
+		for (int i = offset, end = offset + length; i < end; i++) {
+			buffer[i] = nextAlphanumeric();
+		}
+	}
+
+	/**
+	 * Fills part of a <code>byte[]</code> with random ASCII letters and digits,
+	 * which need no JSON escaping.
+	 *
+	 * @param buffer the buffer
+	 * @param offset the first index to fill
+	 * @param length the number of bytes
+	 */
+	public void fillAlphanumeric(byte[] buffer, int offset, int length) {
+		for (int i = offset, end = offset + length; i < end; i++) {
+			buffer[i] = (byte) nextAlphanumeric();
+		}
+	}
+
+	/**
+	 * Appends a capitalized, pronounceable word such as <code>Tavorik</code>,
+	 * suitable for names and titles.
+	 *
+	 * @param into   the buffer to append to
+	 * @param length the number of characters, at least 1
+	 * @return <code>into</code>
+	 */
+	public StringBuilder appendName(StringBuilder into, int length) {
+		int start = into.length();
+		appendWord(into, length);
+		into.setCharAt(start, Character.toUpperCase(into.charAt(start)));
+		return into;
+	}
+
+	/**
+	 * Returns a capitalized, pronounceable word.
+	 *
+	 * @param length the number of characters, at least 1
+	 * @return the name
+	 * @see #appendName(StringBuilder, int)
+	 */
+	public String name(int length) {
+		return appendName(new StringBuilder(length), length).toString();
+	}
+
+	/**
+	 * Appends a sentence of pronounceable words of 2 to 9 letters, ending with a
+	 * period, for description and note fields.
+	 *
+	 * @param into      the buffer to append to
+	 * @param maxLength the longest text to append, including the period; at
+	 *                  least 3
+	 * @return <code>into</code>
+	 */
+	public StringBuilder appendSentence(StringBuilder into, int maxLength) {
+		int start = into.length();
+		int end = start + maxLength - 1;
+		int wordLength = random.nextInt(2, 10);
+		appendWord(into, Math.min(wordLength, end - start));
+		into.setCharAt(start, Character.toUpperCase(into.charAt(start)));
+		while (true) {
+			wordLength = random.nextInt(2, 10);
+			if (into.length() + 1 + wordLength > end || random.nextInt(12) == 0) {
+				break;
+			}
+			into.append(' ');
+			appendWord(into, wordLength);
+		}
+		return into.append('.');
+	}
+
+	/**
+	 * Returns a sentence for description and note fields.
+	 *
+	 * @param maxLength the longest text, at least 3
+	 * @return the sentence
+	 * @see #appendSentence(StringBuilder, int)
+	 */
+	public String sentence(int maxLength) {
+		return appendSentence(new StringBuilder(maxLength), maxLength).toString();
+	}
+
+	/**
+	 * Generates several names at once, reusing one buffer.
+	 *
+	 * @param count  the number of names
+	 * @param length the length of each name
+	 * @return the names
+	 */
+	public String[] names(int count, int length) {
+		String[] names = new String[count];
+		StringBuilder buffer = new StringBuilder(length);
+		for (int i = 0; i < count; i++) {
+			buffer.setLength(0);
+			names[i] = appendName(buffer, length).toString();
+		}
+		return names;
+	}
+
+	/**
+	 * Draws one of the 62 letters and digits from 6 random bits, ten per
+	 * <code>nextLong()</code>, rejecting the two values past the alphabet so
+	 * every character is equally likely.
+	 */
+	private char nextAlphanumeric() {
+		while (true) {
+			if (available < 6) {
+				bits = random.nextLong();
+				available = 64;
+			}
+			int index = (int) (bits & 63);
+			bits >>>= 6;
+			available -= 6;
+			if (index < ALPHANUMERIC.length) {
+				return ALPHANUMERIC[index];
+			}
+		}
+	}
+
+	private void appendWord(StringBuilder into, int length) {
+		boolean vowel = random.nextInt(3) == 0;
+		for (int i = 0; i < length; i++) {
+			into.append(vowel ? VOWELS[random.nextInt(VOWELS.length)] : CONSONANTS[random.nextInt(CONSONANTS.length)]);
+			vowel = !vowel;
+		}
+	}
+
+	/** The SplitMix64 finalizer, to spread related seeds apart. */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long seedFromConfig() {
+		String configured = ConfigManager.getProperty("payload.random.seed");
+		if (configured != null && !configured.trim().isEmpty()) {
+			return Long.parseLong(configured.trim());
+		}
+		long seed = new SecureRandom().nextLong();
+		Log.info("Payload random seed: " + seed + " (set payload.random.seed to replay)");
+		return seed;
+	}
+}
@@ -0,0 +1,436 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Lock-free token bucket that caps a request rate.
+ *
+ * <p>
+ * A bucket holds up to <code>burst</code> permits and refills at
+ * <code>permitsPerSecond</code>. Its whole state is one {@link AtomicLong}, the
+ * time at which the bucket would next be full (the "theoretical arrival time"
+ * of the generic cell rate algorithm); taking a permit is a single
+ * compare-and-set that moves this time forward by one interval. A blocking
+ * caller reserves its permit first and then sleeps until it is due, so waiting
+ * threads never spin or queue on a lock, and permits are handed out in the
+ * order they were reserved.
+ *
+ * <p>
+ * Permits can be taken in three ways: {@link #acquire()} blocks until the
+ * permit is due, {@link #tryAcquire()} takes one only if it is available now,
+ * and {@link #acquireAsync()} returns a future that completes when the permit
+ * is due, without blocking a thread. All of them report the time spent
+ * waiting, which is also accumulated per limiter and per thread, so it can be
+ * reported separately from request latency.
+ *
+ * <p>
+ * Requests sent through {@link HttpClientPool#requestSpec()} and
+ * {@link AsyncApiUtil} take a permit from the limiter of their endpoint, if one
+ * is configured, and then from the global limiter. Limits are read from
+ * <code>config.properties</code> as <code>permits per second[:burst]</code>,
+ * where the burst defaults to one second's worth of permits:
+ * <ul>
+ * <li><code>rate.limit.global</code> - all requests; 0 or unset means
+ * unlimited</li>
+ * <li><code>rate.limit.endpoint.&lt;path&gt;</code> - requests whose path
+ * contains <code>&lt;path&gt;</code> at a segment boundary, for example
+ * <code>rate.limit.endpoint./api/v2/admin/job-titles=5:2</code>; the longest
+ * matching path wins</li>
+ * </ul>
+ * Limiters follow configuration reloads; a limiter whose settings did not
+ * change keeps its state. Each retry made under the {@link RetryPolicy} takes
+ * the permits again, like the first attempt.
+ */
+public final class RateLimiter {
+
+	/** A limiter that never waits. */
+	public static final RateLimiter UNLIMITED = new RateLimiter("unlimited", 0, 1);
+
+	private static final String GLOBAL_KEY = "rate.limit.global";
+	private static final String ENDPOINT_PREFIX = "rate.limit.endpoint.";
+
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "rate-limiter");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final ThreadLocal<long[]> THREAD_WAIT = ThreadLocal.withInitial(() -> new long[1]);
+	private static volatile Limits limits = Limits.from(ConfigManager.config(), null);
+
+	static {
+		ConfigManager.addListener(config -> limits = Limits.from(config, limits));
+	}
+
+	/**
+	 * Filter added to every request by {@link HttpClientPool#requestSpec()};
+	 * waits for a permit of the request's endpoint and of the global limiter
+	 * before passing the request on.
+	 */
+	static final Filter FILTER = new Filter() {
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec,
+				FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			acquireFor(EndpointPaths.pathOf(requestSpec.getURI()));
+			return ctx.next(requestSpec, responseSpec);
+		}
+	};
+
+	private final String name;
+	private final double permitsPerSecond;
+	private final int burst;
+	/** Nanoseconds between permits; 0 when unlimited. */
+	private final long interval;
+	/** How far the next-free time may run ahead of now without waiting. */
+	private final long tolerance;
+	private final AtomicLong nextFree = new AtomicLong(Long.MIN_VALUE);
+	private final LongAdder acquired = new LongAdder();
+	private final LongAdder delayed = new LongAdder();
+	private final LongAdder waitedNanos = new LongAdder();
+
+	private RateLimiter(String name, double permitsPerSecond, int burst) {
+		this.name = name;
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = Math.max(1, burst);
+		this.interval = permitsPerSecond > 0 ? Math.max(1, Math.round(1e9 / permitsPerSecond)) : 0;
+		this.tolerance = interval * (this.burst - 1);
+	}
+
+	/**
+	 * Creates a limiter that is not registered for any endpoint.
+	 *
+	 * @param name             a name for statistics
+	 * @param permitsPerSecond the sustained rate; 0 for unlimited
+	 * @param burst            how many permits may be taken at once after an
+	 *                         idle period; at least 1
+	 * @return the limiter, initially full
+	 */
+	public static RateLimiter of(String name, double permitsPerSecond, int burst) {
+		return new RateLimiter(name, permitsPerSecond, burst);
+	}
+
+	/**
+	 * Takes a permit, waiting until one is available.
+	 *
+	 * @return the nanoseconds spent waiting
+	 */
+	public long acquire() {
+		long wait = reserve(Long.MAX_VALUE);
+		if (wait > 0) {
+			sleep(wait);
+		}
+		return wait;
+	}
+
+	/**
+	 * Takes a permit if one is available now.
+	 *
+	 * @return <code>true</code> if a permit was taken
+	 */
+	public boolean tryAcquire() {
+		return reserve(0) == 0;
+	}
+
+	/**
+	 * Takes a permit if one becomes available within the timeout, waiting for it.
+	 * Gives up at once, without waiting, if it would not.
+	 *
+	 * @param timeout the longest acceptable wait
+	 * @param unit    the unit of the timeout
+	 * @return <code>true</code> if a permit was taken
+	 */
+	public boolean tryAcquire(long timeout, TimeUnit unit) {
+		long wait = reserve(unit.toNanos(timeout));
+		if (wait < 0) {
+			return false;
+		}
+		if (wait > 0) {
+			sleep(wait);
+		}
+		return true;
+	}
+
+	/**
+	 * Reserves a permit and returns a future that completes when it is due.
+	 *
+	 * @return a future of the nanoseconds waited; already complete when a permit
+	 *         was available
+	 */
+	public CompletableFuture<Long> acquireAsync() {
+		long wait = reserve(Long.MAX_VALUE);
+		if (wait == 0) {
+			return CompletableFuture.completedFuture(0L);
+		}
+		CompletableFuture<Long> due = new CompletableFuture<>();
+		TIMER.schedule(() -> due.complete(wait), wait, TimeUnit.NANOSECONDS);
+		return due;
+	}
+
+	/**
+	 * Returns the name given in the configuration, for example
+	 * <code>/api/v2/admin/job-titles</code> or <code>global</code>.
+	 *
+	 * @return the name
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the sustained rate.
+	 *
+	 * @return permits per second; 0 when unlimited
+	 */
+	public double permitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	/**
+	 * Returns the number of permits handed out.
+	 *
+	 * @return the count since the limiter was created
+	 */
+	public long acquiredCount() {
+		return acquired.sum();
+	}
+
+	/**
+	 * Returns the number of permits that were not available at once.
+	 *
+	 * @return the count since the limiter was created
+	 */
+	public long delayedCount() {
+		return delayed.sum();
+	}
+
+	/**
+	 * Returns the total time callers spent waiting for permits.
+	 *
+	 * @return nanoseconds since the limiter was created
+	 */
+	public long waitedNanos() {
+		return waitedNanos.sum();
+	}
+
+	@Override
+	public String toString() {
+		return name + " " + permitsPerSecond + "/s burst " + burst + ": " + acquiredCount() + " permits, "
+				+ delayedCount() + " delayed, " + TimeUnit.NANOSECONDS.toMillis(waitedNanos()) + " ms waited";
+	}
+
+	/**
+	 * Takes the permits for a request path: its endpoint limiter, if any, then
+	 * the global one. Blocks until both are due.
+	 *
+	 * @param path the request path, for example
+	 *             <code>/web/index.php/api/v2/admin/job-titles</code>; a query
+	 *             string is ignored
+	 * @return the nanoseconds spent waiting
+	 */
+	public static long acquireFor(String path) {
+		Limits current = limits;
+		long waited = current.forPath(path).acquire() + current.global.acquire();
+		THREAD_WAIT.get()[0] += waited;
+		return waited;
+	}
+
+	/**
+	 * Takes the permits for a request path without blocking.
+	 *
+	 * @param path the request path
+	 * @return a future of the nanoseconds waited, complete once both permits are
+	 *         due
+	 */
+	public static CompletableFuture<Long> acquireAsyncFor(String path) {
+		Limits current = limits;
+		RateLimiter global = current.global;
+		return current.forPath(path).acquireAsync()
+				.thenCompose(endpointWait -> global.acquireAsync().thenApply(globalWait -> endpointWait + globalWait));
+	}
+
+	/**
+	 * Returns the global limiter.
+	 *
+	 * @return the limiter, {@link #UNLIMITED} when none is configured
+	 */
+	public static RateLimiter global() {
+		return limits.global;
+	}
+
+	/**
+	 * Returns the limiter that applies to a request path, not counting the
+	 * global one.
+	 *
+	 * @param path the request path
+	 * @return the limiter, {@link #UNLIMITED} when none is configured
+	 */
+	public static RateLimiter forPath(String path) {
+		return limits.forPath(path);
+	}
+
+	/**
+	 * Returns every configured limiter, the global one first.
+	 *
+	 * @return the limiters by name
+	 */
+	public static Map<String, RateLimiter> limiters() {
+		Limits current = limits;
+		Map<String, RateLimiter> all = new LinkedHashMap<>();
+		if (current.global != UNLIMITED) {
+			all.put(current.global.name, current.global);
+		}
+		for (RateLimiter limiter : current.endpoints) {
+			all.put(limiter.name, limiter);
+		}
+		return Collections.unmodifiableMap(all);
+	}
+
+	/**
+	 * Returns the time the calling thread spent waiting for permits in request
+	 * filters since the last call, and resets it.
+	 *
+	 * @return nanoseconds waited
+	 */
+	public static long takeThreadWaitNanos() {
+		long[] wait = THREAD_WAIT.get();
+		long waited = wait[0];
+		wait[0] = 0;
+		return waited;
+	}
+
+	/**
+	 * Moves the next-free time forward by one interval.
+	 *
+	 * @param maxWait the longest acceptable wait in nanoseconds
+	 * @return the nanoseconds until the reserved permit is due, or -1 if it would
+	 *         be due later than <code>maxWait</code> and nothing was reserved
+	 */
+	private long reserve(long maxWait) {
+		if (interval == 0) {
+			acquired.increment();
+			return 0;
+		}
+		long now = System.nanoTime();
+		long previous;
+		long wait;
+		do {
+			previous = nextFree.get();
+			// an idle bucket is full: the next-free time never lags behind now
+			long start = previous == Long.MIN_VALUE || previous - now < 0 ? now : previous;
+			wait = Math.max(0, start - now - tolerance);
+			if (wait > maxWait) {
+				return -1;
+			}
+			if (nextFree.compareAndSet(previous, start + interval)) {
+				break;
+			}
+		} while (true);
+		acquired.increment();
+		if (wait > 0) {
+			delayed.increment();
+			waitedNanos.add(wait);
+		}
+		return wait;
+	}
+
+	private static void sleep(long nanos) {
+		try {
+			TimeUnit.NANOSECONDS.sleep(nanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * An immutable set of limiters built from one configuration snapshot.
+	 */
+	private static final class Limits {
+		final RateLimiter global;
+		/** Endpoint limiters, longest path first. */
+		final List<RateLimiter> endpoints;
+
+		private Limits(RateLimiter global, List<RateLimiter> endpoints) {
+			this.global = global;
+			this.endpoints = endpoints;
+		}
+
+		static Limits from(Config config, Limits previous) {
+			Map<String, RateLimiter> old = new HashMap<>();
+			if (previous != null) {
+				old.put("global", previous.global);
+				for (RateLimiter limiter : previous.endpoints) {
+					old.put(limiter.name, limiter);
+				}
+			}
+			RateLimiter global = limiter("global", config.get(GLOBAL_KEY), old);
+			List<RateLimiter> endpoints = new ArrayList<>();
+			for (Map.Entry<String, String> entry : config.asMap().entrySet()) {
+				if (entry.getKey().startsWith(ENDPOINT_PREFIX)) {
+					RateLimiter limiter = limiter(entry.getKey().substring(ENDPOINT_PREFIX.length()), entry.getValue(),
+							old);
+					if (limiter != UNLIMITED) {
+						endpoints.add(limiter);
+					}
+				}
+			}
+			endpoints.sort((a, b) -> b.name.length() - a.name.length());
+			return new Limits(global, endpoints);
+		}
+
+		RateLimiter forPath(String path) {
+			String withoutQuery = EndpointPaths.pathOf(path);
+			for (RateLimiter limiter : endpoints) {
+				if (EndpointPaths.matches(withoutQuery, limiter.name)) {
+					return limiter;
+				}
+			}
+			return UNLIMITED;
+		}
+
+		/**
+		 * Parses <code>rate[:burst]</code>, reusing the previous limiter of the same
+		 * name when its settings are unchanged.
+		 */
+		private static RateLimiter limiter(String name, String value, Map<String, RateLimiter> old) {
+			if (value == null || value.trim().isEmpty()) {
+				return UNLIMITED;
+			}
+			String[] parts = value.trim().split(":");
+			double rate;
+			int burst;
+			try {
+				rate = Double.parseDouble(parts[0].trim());
+				burst = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : (int) Math.max(1, Math.ceil(rate));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Rate limit for " + name + " must be <permits per second>[:<burst>]"
+						+ " but is '" + value + "'", e);
+			}
+			if (rate <= 0) {
+				return UNLIMITED;
+			}
+			RateLimiter existing = old.get(name);
+			if (existing != null && existing.permitsPerSecond == rate && existing.burst == Math.max(1, burst)) {
+				return existing;
+			}
+			return new RateLimiter(name, rate, burst);
+		}
+	}
+}
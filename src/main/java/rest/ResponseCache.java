@@ -0,0 +1,330 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Opt-in cache of <code>GET</code> responses for reference data such as pay
+ * grades, job titles and employment statuses, which tests read again and
+ * again.
+ *
+ * <p>
+ * The cache is a filter in {@link HttpClientPool#requestSpec()}, so it serves
+ * every request of {@link ApiUtil} and of the test helpers. It is off unless
+ * <code>http.cache.enabled=true</code>, and only caches endpoints with a time
+ * to live:
+ * <ul>
+ * <li><code>http.cache.ttl.&lt;path&gt;</code> - milliseconds a
+ * <code>200</code> response of a URL whose path contains
+ * <code>&lt;path&gt;</code> at a segment boundary stays fresh, for example
+ * <code>http.cache.ttl./api/v2/admin/pay-grades=60000</code>; the longest
+ * matching path wins and 0 turns caching off for it</li>
+ * <li><code>http.cache.default.ttl.ms</code> - time to live of other
+ * <code>GET</code> requests (default 0, not cached)</li>
+ * <li><code>http.cache.max.entries</code> - entries kept; the least recently
+ * used is evicted first (default 500)</li>
+ * </ul>
+ * Entries are keyed by the full URL including the query string and by the
+ * credentials of the request - its cookies, <code>Cookie</code> and
+ * <code>Authorization</code> headers - so a session is only ever served what
+ * it fetched itself, never the data of a user with other rights. A fresh
+ * entry is returned without a request. A stale entry whose response carried
+ * an <code>ETag</code> or <code>Last-Modified</code> header is revalidated
+ * with <code>If-None-Match</code> or <code>If-Modified-Since</code>; a
+ * <code>304</code> answer makes it fresh again and returns it. Cache directives of the server are not consulted: the
+ * configured times to live decide.
+ *
+ * <p>
+ * Any other request - <code>POST</code>, <code>PUT</code>,
+ * <code>DELETE</code> - removes the entries of its resource path, of the
+ * resources below it and of the collections above it, so
+ * <code>DELETE .../admin/job-titles</code> drops every cached job title list.
+ * The entries are removed both before the write is sent and once its response
+ * has arrived, so a read that overlapped the write cannot store what it saw
+ * before the write took effect. A response that was in flight during an
+ * invalidation is not stored either. {@link AsyncApiUtil} does not read from
+ * the cache, but its writes invalidate it the same way.
+ */
+public final class ResponseCache {
+
+	private static final String TTL_PREFIX = "http.cache.ttl.";
+	private static final int DEFAULT_MAX_ENTRIES = 500;
+
+	/** Entries by {@link #keyOf URL and credentials}, in access order. Guarded by itself. */
+	private static final LinkedHashMap<String, Entry> ENTRIES = new LinkedHashMap<>(64, 0.75f, true);
+	/** Incremented by every invalidation, so responses fetched before it are not stored. */
+	private static final AtomicLong GENERATION = new AtomicLong();
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder REVALIDATED = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+	private static final LongAdder INVALIDATED = new LongAdder();
+	private static volatile Settings settings = new Settings(ConfigManager.config());
+
+	static {
+		ConfigManager.addListener(config -> {
+			settings = new Settings(config);
+			if (!settings.enabled) {
+				clear();
+			}
+		});
+	}
+
+	/**
+	 * Filter added to every request by {@link HttpClientPool#requestSpec()};
+	 * answers <code>GET</code> requests from the cache and invalidates it on
+	 * writes.
+	 */
+	static final Filter FILTER = new Filter() {
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec,
+				FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			Settings current = settings;
+			if (!current.enabled) {
+				return ctx.next(requestSpec, responseSpec);
+			}
+			String url = requestSpec.getURI();
+			if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+				invalidate(url);
+				try {
+					return ctx.next(requestSpec, responseSpec);
+				} finally {
+					invalidate(url);
+				}
+			}
+			long ttlNanos = current.ttlNanos(EndpointPaths.pathOf(url));
+			if (ttlNanos <= 0) {
+				return ctx.next(requestSpec, responseSpec);
+			}
+			return get(url, keyOf(url, requestSpec), ttlNanos, current.maxEntries, requestSpec, responseSpec, ctx);
+		}
+	};
+
+	private ResponseCache() {
+	}
+
+	/**
+	 * Removes the cached responses of a resource, the resources below it and the
+	 * collections above it.
+	 *
+	 * @param url the URL or path written to; a query string is ignored
+	 */
+	public static void invalidate(String url) {
+		GENERATION.incrementAndGet();
+		String path = EndpointPaths.pathOf(url);
+		synchronized (ENTRIES) {
+			for (Iterator<Entry> it = ENTRIES.values().iterator(); it.hasNext();) {
+				if (EndpointPaths.related(it.next().path, path)) {
+					it.remove();
+					INVALIDATED.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached responses.
+	 */
+	public static void clear() {
+		GENERATION.incrementAndGet();
+		synchronized (ENTRIES) {
+			ENTRIES.clear();
+		}
+	}
+
+	/**
+	 * Indicates whether the cache is turned on.
+	 *
+	 * @return the value of <code>http.cache.enabled</code>
+	 */
+	public static boolean isEnabled() {
+		return settings.enabled;
+	}
+
+	/**
+	 * Summarizes the cache use since the start of the run.
+	 *
+	 * @return for example <code>42 hits, 3 revalidated, 12 misses, 4
+	 *         invalidated, 9 entries</code>
+	 */
+	public static String stats() {
+		int size;
+		synchronized (ENTRIES) {
+			size = ENTRIES.size();
+		}
+		return HITS.sum() + " hits, " + REVALIDATED.sum() + " revalidated, " + MISSES.sum() + " misses, "
+				+ INVALIDATED.sum() + " invalidated, " + size + " entries";
+	}
+
+	/**
+	 * Returns the cache key of a request: its URL followed by the credentials
+	 * it was sent with.
+	 */
+	static String keyOf(String url, FilterableRequestSpecification requestSpec) {
+		StringBuilder key = new StringBuilder(url);
+		for (Cookie cookie : requestSpec.getCookies()) {
+			key.append("\ncookie ").append(cookie.getName()).append('=').append(cookie.getValue());
+		}
+		for (Header header : requestSpec.getHeaders()) {
+			String name = header.getName();
+			if ("Cookie".equalsIgnoreCase(name) || "Authorization".equalsIgnoreCase(name)) {
+				key.append('\n').append(name.toLowerCase(Locale.ROOT)).append(' ').append(header.getValue());
+			}
+		}
+		return key.toString();
+	}
+
+	private static Response get(String url, String key, long ttlNanos, int maxEntries,
+			FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		long generation = GENERATION.get();
+		Entry entry;
+		synchronized (ENTRIES) {
+			entry = ENTRIES.get(key);
+		}
+		if (entry != null && entry.isFresh()) {
+			HITS.increment();
+			return entry.toResponse();
+		}
+		if (entry != null && entry.etag != null) {
+			requestSpec.header("If-None-Match", entry.etag);
+		} else if (entry != null && entry.lastModified != null) {
+			requestSpec.header("If-Modified-Since", entry.lastModified);
+		}
+
+		Response response = ctx.next(requestSpec, responseSpec);
+		if (response.getStatusCode() == 304 && entry != null) {
+			REVALIDATED.increment();
+			Entry refreshed = entry.refreshed(ttlNanos);
+			store(key, refreshed, generation, maxEntries);
+			return refreshed.toResponse();
+		}
+		MISSES.increment();
+		if (response.getStatusCode() == 200) {
+			store(key, new Entry(url, response, ttlNanos), generation, maxEntries);
+		}
+		return response;
+	}
+
+	private static void store(String key, Entry entry, long generation, int maxEntries) {
+		synchronized (ENTRIES) {
+			if (GENERATION.get() != generation) {
+				// written to while the response was on its way; it may be stale
+				return;
+			}
+			ENTRIES.put(key, entry);
+			for (Iterator<Entry> it = ENTRIES.values().iterator(); ENTRIES.size() > maxEntries;) {
+				it.next();
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * A cached response. Immutable; refreshing replaces it.
+	 */
+	private static final class Entry {
+		final String path;
+		final String protocol;
+		final int statusCode;
+		final List<Header> headers;
+		final byte[] body;
+		final String etag;
+		final String lastModified;
+		final long expiresAt;
+
+		Entry(String url, Response response, long ttlNanos) {
+			this.path = EndpointPaths.pathOf(url);
+			String statusLine = response.getStatusLine();
+			int space = statusLine == null ? -1 : statusLine.indexOf(' ');
+			this.protocol = space > 0 ? statusLine.substring(0, space) : "HTTP/1.1";
+			this.statusCode = response.getStatusCode();
+			this.headers = new ArrayList<>();
+			for (Header header : response.getHeaders()) {
+				// never replay a session cookie to another caller
+				if (!"Set-Cookie".equalsIgnoreCase(header.getName())) {
+					headers.add(header);
+				}
+			}
+			this.body = response.asByteArray();
+			this.etag = response.getHeader("ETag");
+			this.lastModified = response.getHeader("Last-Modified");
+			this.expiresAt = System.nanoTime() + ttlNanos;
+		}
+
+		private Entry(Entry entry, long ttlNanos) {
+			this.path = entry.path;
+			this.protocol = entry.protocol;
+			this.statusCode = entry.statusCode;
+			this.headers = entry.headers;
+			this.body = entry.body;
+			this.etag = entry.etag;
+			this.lastModified = entry.lastModified;
+			this.expiresAt = System.nanoTime() + ttlNanos;
+		}
+
+		boolean isFresh() {
+			return expiresAt - System.nanoTime() > 0;
+		}
+
+		Entry refreshed(long ttlNanos) {
+			return new Entry(this, ttlNanos);
+		}
+
+		Response toResponse() {
+			return TransportFilter.toResponse(protocol, statusCode, headers, body);
+		}
+	}
+
+	/**
+	 * The cache settings of one configuration snapshot.
+	 */
+	private static final class Settings {
+		final boolean enabled;
+		final int maxEntries;
+		final long defaultTtlNanos;
+		/** Endpoint paths, longest first, and their times to live. */
+		final Map<String, Long> ttlNanos = new LinkedHashMap<>();
+
+		Settings(Config config) {
+			this.enabled = config.getBoolean("http.cache.enabled", false);
+			this.maxEntries = Math.max(1, config.getInt("http.cache.max.entries", DEFAULT_MAX_ENTRIES));
+			this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("http.cache.default.ttl.ms", 0));
+			List<String> paths = new ArrayList<>();
+			for (String key : config.asMap().keySet()) {
+				if (key.startsWith(TTL_PREFIX)) {
+					paths.add(key.substring(TTL_PREFIX.length()));
+				}
+			}
+			paths.sort((a, b) -> b.length() - a.length());
+			for (String path : paths) {
+				ttlNanos.put(path, TimeUnit.MILLISECONDS.toNanos(config.getLong(TTL_PREFIX + path, 0)));
+			}
+		}
+
+		long ttlNanos(String path) {
+			for (Map.Entry<String, Long> entry : ttlNanos.entrySet()) {
+				if (EndpointPaths.matches(path, entry.getKey())) {
+					return entry.getValue();
+				}
+			}
+			return defaultTtlNanos;
+		}
+	}
+}
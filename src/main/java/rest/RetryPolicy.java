@@ -0,0 +1,408 @@
+package rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RequestDirector;
+import org.apache.http.util.EntityUtils;
+
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Retries idempotent requests that failed for a transient reason.
+ *
+ * <p>
+ * Retries happen below the RestAssured filter chain: in the pooled Apache
+ * client of {@link HttpClientPool}, which asks {@link #IO_RETRY_HANDLER} about
+ * exceptions and sends through {@link #retrying(Supplier)} to retry error
+ * statuses, or in the
+ * {@link TransportFilter} of any other {@link HttpTransport}. Every filter,
+ * the logging filters and RestAssured's response time therefore see one
+ * request, however often it was sent.
+ *
+ * <p>
+ * Only <code>GET</code>, <code>PUT</code> and <code>DELETE</code> are retried,
+ * and only when the connection was reset, the server closed it without a
+ * response, a connect or read timeout expired, or the server answered
+ * <code>502</code>, <code>503</code> or <code>504</code>. Refused connections
+ * and unknown hosts are not retried: the target is down and retrying only
+ * makes the test fail later.
+ *
+ * <p>
+ * Before retry <i>n</i> the request waits for a random time between zero and
+ * <code>min(max delay, base delay * 2^(n-1))</code> ("full jitter"), so
+ * clients that failed together do not come back together. A
+ * <code>Retry-After</code> header in seconds is honoured when it fits within
+ * the maximum delay; otherwise the response is returned as is. A retry then
+ * takes the permits of its endpoint from the {@link RateLimiter} like the first
+ * attempt, and is not made at all while the {@link CircuitBreaker} of the host
+ * rejects requests.
+ *
+ * <p>
+ * All retries draw from one global budget, so a failing server cannot be hit
+ * by a retry storm: every request adds <code>percent / 100</code> of a token,
+ * every retry takes a whole one, and the balance is capped at the burst size.
+ * Over time retries therefore stay below the configured percentage of
+ * traffic. When the budget is empty the failed response or exception is passed
+ * on unchanged.
+ *
+ * <p>
+ * Retries are counted per endpoint, both for the whole run
+ * ({@link #retryCounts()}) and for the calling thread
+ * ({@link #takeThreadRetryCounts()}), which the test listener attaches to each
+ * test result. The endpoint is the method and path, with numeric path segments
+ * replaced by <code>{id}</code>.
+ *
+ * <p>
+ * The policy is configured from <code>config.properties</code>, following
+ * reloads:
+ * <ul>
+ * <li><code>http.retry.max.attempts</code> - attempts per request including
+ * the first (default 3; 1 disables retries)</li>
+ * <li><code>http.retry.base.delay.ms</code> - backoff before the first retry
+ * (default 100)</li>
+ * <li><code>http.retry.max.delay.ms</code> - upper bound of any backoff
+ * (default 2000)</li>
+ * <li><code>http.retry.budget.percent</code> - retries allowed as a percentage
+ * of requests (default 10)</li>
+ * <li><code>http.retry.budget.burst</code> - retries allowed before the
+ * percentage applies, and the most that can be saved up (default 10)</li>
+ * </ul>
+ */
+public final class RetryPolicy {
+
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+	private static final long DEFAULT_BASE_DELAY_MS = 100;
+	private static final long DEFAULT_MAX_DELAY_MS = 2000;
+	private static final double DEFAULT_BUDGET_PERCENT = 10;
+	private static final int DEFAULT_BUDGET_BURST = 10;
+	/** Context attribute holding the {@link Attempts} of a request sent by the Apache client. */
+	private static final String ATTEMPTS = "rest.retry.attempts";
+
+	private static final Map<String, LongAdder> RETRIES = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Map<String, Integer>> THREAD_RETRIES = ThreadLocal.withInitial(HashMap::new);
+	private static final Budget BUDGET = new Budget(DEFAULT_BUDGET_BURST);
+	private static final LongAdder BUDGET_EXHAUSTED = new LongAdder();
+
+	/**
+	 * Retry handler of the pooled Apache client: retries a transient exception
+	 * of a request started by {@link #retrying(Supplier)}.
+	 */
+	static final HttpRequestRetryHandler IO_RETRY_HANDLER = (exception, executionCount, context) -> {
+		Object attempts = context.getAttribute(ATTEMPTS);
+		return attempts instanceof Attempts && ((Attempts) attempts).retryAfter(exception)
+				&& ((Attempts) attempts).backOff();
+	};
+
+	private RetryPolicy() {
+	}
+
+	/**
+	 * Returns the number of retries per endpoint since the start of the run.
+	 *
+	 * @return a sorted snapshot, for example
+	 *         <code>{GET /web/index.php/api/v2/admin/job-titles=2}</code>
+	 */
+	public static Map<String, Long> retryCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		RETRIES.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+		return counts;
+	}
+
+	/**
+	 * Returns the retries per endpoint made by the calling thread since the last
+	 * call, and resets them.
+	 *
+	 * @return the counts, empty when nothing was retried
+	 */
+	public static Map<String, Integer> takeThreadRetryCounts() {
+		Map<String, Integer> counts = THREAD_RETRIES.get();
+		if (counts.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, Integer> taken = new TreeMap<>(counts);
+		counts.clear();
+		return taken;
+	}
+
+	/**
+	 * Returns how often a retry was skipped because the budget was empty.
+	 *
+	 * @return the count since the start of the run
+	 */
+	public static long budgetExhaustedCount() {
+		return BUDGET_EXHAUSTED.sum();
+	}
+
+	/**
+	 * Starts a request: pays its share into the budget and reads the settings it
+	 * is retried with.
+	 *
+	 * @param method the HTTP method
+	 * @param url    the absolute URL
+	 * @return the attempts of the request
+	 */
+	static Attempts begin(String method, String url) {
+		Config config = ConfigManager.config();
+		BUDGET.deposit(config.getDouble("http.retry.budget.percent", DEFAULT_BUDGET_PERCENT),
+				config.getInt("http.retry.budget.burst", DEFAULT_BUDGET_BURST));
+		return new Attempts(method, url, config);
+	}
+
+	/**
+	 * Creates a request director of the Apache client that retries
+	 * <code>502</code>, <code>503</code> and <code>504</code> responses. The body
+	 * of a response that is retried is consumed first, so its connection goes
+	 * back to the pool during the backoff. Each attempt is sent by a new
+	 * director, since a director cannot be used again once its connection was
+	 * released.
+	 *
+	 * @param directors creates the director of one attempt
+	 * @return the retrying director
+	 */
+	static RequestDirector retrying(Supplier<RequestDirector> directors) {
+		return (target, request, context) -> {
+			String uri = request.getRequestLine().getUri();
+			String url = uri.startsWith("/") && target != null ? target.toURI() + uri : uri;
+			Attempts attempts = begin(request.getRequestLine().getMethod(), url);
+			context.setAttribute(ATTEMPTS, attempts);
+			while (true) {
+				HttpResponse response = directors.get().execute(target, request, context);
+				Header retryAfter = response.getFirstHeader("Retry-After");
+				if (!attempts.retryAfter(response.getStatusLine().getStatusCode(),
+						retryAfter != null ? retryAfter.getValue() : null)) {
+					return response;
+				}
+				EntityUtils.consume(response.getEntity());
+				if (!attempts.backOff()) {
+					throw new InterruptedIOException("Interrupted before retrying " + attempts.endpoint());
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns the upper bound of the backoff before a retry:
+	 * <code>min(maxDelay, baseDelay * 2^(retry-1))</code>.
+	 *
+	 * @param baseDelay the backoff before the first retry
+	 * @param maxDelay  the upper bound of any backoff
+	 * @param retry     the number of the retry, from 1
+	 * @return the ceiling the random delay is drawn below
+	 */
+	static long backoffCeiling(long baseDelay, long maxDelay, int retry) {
+		int doublings = Math.min(retry - 1, 62);
+		return baseDelay > maxDelay >> doublings ? maxDelay : baseDelay << doublings;
+	}
+
+	/**
+	 * Indicates whether a status is worth retrying: a gateway error or an
+	 * overloaded server.
+	 */
+	static boolean isTransientStatus(int status) {
+		return status == 502 || status == 503 || status == 504;
+	}
+
+	/**
+	 * Indicates whether an exception, or one of its causes, is a connection
+	 * reset or a timeout.
+	 */
+	static boolean isTransient(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConnectException || cause instanceof NoRouteToHostException) {
+				return false;
+			}
+			if (cause instanceof SocketException || cause instanceof NoHttpResponseException
+					|| cause instanceof InterruptedIOException && !Thread.currentThread().isInterrupted()
+					|| cause instanceof IOException && cause.getClass().getSimpleName().endsWith("TimeoutException")) {
+				return true;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isIdempotent(String method) {
+		return "GET".equalsIgnoreCase(method) || "PUT".equalsIgnoreCase(method) || "DELETE".equalsIgnoreCase(method);
+	}
+
+	private static long retryAfterMs(String retryAfter) {
+		if (retryAfter != null) {
+			try {
+				return Long.parseLong(retryAfter.trim()) * 1000;
+			} catch (NumberFormatException e) {
+				// an HTTP date; use the backoff instead
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * The retry budget: a balance in thousandths of a retry, filled by every
+	 * request and emptied by every retry.
+	 */
+	static final class Budget {
+		/** Balance unit: one retry is worth this many. */
+		static final long TOKEN = 1000;
+
+		private final AtomicLong balance;
+
+		Budget(int initialRetries) {
+			this.balance = new AtomicLong(initialRetries * TOKEN);
+		}
+
+		/**
+		 * Adds the share of one request.
+		 *
+		 * @param percent retries allowed per 100 requests
+		 * @param burst   the most retries that can be saved up
+		 */
+		void deposit(double percent, int burst) {
+			long amount = Math.round(percent * TOKEN / 100);
+			long cap = burst * TOKEN;
+			long current;
+			do {
+				current = balance.get();
+				if (current >= cap) {
+					return;
+				}
+			} while (!balance.compareAndSet(current, Math.min(cap, current + amount)));
+		}
+
+		/**
+		 * Takes one retry.
+		 *
+		 * @return <code>false</code> if less than one retry is saved up
+		 */
+		boolean withdraw() {
+			long current;
+			do {
+				current = balance.get();
+				if (current < TOKEN) {
+					return false;
+				}
+			} while (!balance.compareAndSet(current, current - TOKEN));
+			return true;
+		}
+
+		long balance() {
+			return balance.get();
+		}
+	}
+
+	/**
+	 * The attempts of one request. Not thread safe; a request is retried on the
+	 * thread that sends it.
+	 */
+	static final class Attempts {
+		private final String method;
+		private final String url;
+		private final Config config;
+		private final int maxAttempts;
+		private int made = 1;
+		private long delayMs;
+		private String endpoint;
+
+		Attempts(String method, String url, Config config) {
+			this.method = method;
+			this.url = url;
+			this.config = config;
+			this.maxAttempts = isIdempotent(method)
+					? Math.max(1, config.getInt("http.retry.max.attempts", DEFAULT_MAX_ATTEMPTS))
+					: 1;
+		}
+
+		/**
+		 * Decides whether to retry after an exception and, if so, takes a retry
+		 * from the budget and counts it.
+		 *
+		 * @param e the exception of the last attempt
+		 * @return <code>true</code> if the request should be sent again after
+		 *         {@link #backOff()}
+		 */
+		boolean retryAfter(IOException e) {
+			return made < maxAttempts && isTransient(e) && take(0);
+		}
+
+		/**
+		 * Decides whether to retry after a response and, if so, takes a retry
+		 * from the budget and counts it.
+		 *
+		 * @param status     the status code of the last attempt
+		 * @param retryAfter its <code>Retry-After</code> header, or
+		 *                   <code>null</code>
+		 * @return <code>true</code> if the request should be sent again after
+		 *         {@link #backOff()}
+		 */
+		boolean retryAfter(int status, String retryAfter) {
+			return made < maxAttempts && isTransientStatus(status) && take(retryAfterMs(retryAfter));
+		}
+
+		/**
+		 * Waits for the backoff chosen by the last <code>retryAfter</code> and for
+		 * the rate limiter permits of the retry.
+		 *
+		 * @return <code>false</code> if the thread was interrupted
+		 */
+		boolean backOff() {
+			if (delayMs > 0) {
+				try {
+					Thread.sleep(delayMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			RateLimiter.acquireFor(EndpointPaths.pathOf(url));
+			return !Thread.currentThread().isInterrupted();
+		}
+
+		String endpoint() {
+			if (endpoint == null) {
+				endpoint = TransportFilter.endpoint(method, url);
+			}
+			return endpoint;
+		}
+
+		private boolean take(long retryAfterMs) {
+			long maxDelay = config.getLong("http.retry.max.delay.ms", DEFAULT_MAX_DELAY_MS);
+			if (retryAfterMs > maxDelay || Thread.currentThread().isInterrupted()) {
+				return false;
+			}
+			if (config.getBoolean("circuit.enabled", true) && CircuitBreaker.forUrl(url).isRejecting()) {
+				return false;
+			}
+			if (!BUDGET.withdraw()) {
+				BUDGET_EXHAUSTED.increment();
+				return false;
+			}
+			RETRIES.computeIfAbsent(endpoint(), key -> new LongAdder()).increment();
+			THREAD_RETRIES.get().merge(endpoint(), 1, Integer::sum);
+
+			long ceiling = backoffCeiling(config.getLong("http.retry.base.delay.ms", DEFAULT_BASE_DELAY_MS), maxDelay,
+					made);
+			delayMs = Math.max(retryAfterMs, ThreadLocalRandom.current().nextLong(ceiling + 1));
+			made++;
+			return true;
+		}
+	}
+}
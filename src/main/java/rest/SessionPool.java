@@ -0,0 +1,349 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * A pool of independent OrangeHRM sessions for parallel and load traffic.
+ *
+ * <p>
+ * Every session is a separate login through {@link LoginUtil}, optionally for
+ * different users, so concurrent requests no longer queue on the server's PHP
+ * session lock behind a single cookie. Sessions can be handed out in two ways:
+ * <ul>
+ * <li>{@link #forCurrentThread()} - each thread (or virtual thread) is pinned
+ * to one session, assigned round robin; sessions may be shared by several
+ * threads</li>
+ * <li>{@link #acquire()} / {@link #release(Session)} - an exclusive lease, for
+ * example one session per virtual user for the length of a journey</li>
+ * </ul>
+ * {@link Session#cookie()} is passed to {@link ApiUtil} as the cookie value.
+ *
+ * <p>
+ * Expired sessions are detected on every request sent through
+ * {@link HttpClientPool#requestSpec()}: a <code>401</code>, a redirect to the
+ * login page, or an HTML page returned for an API path marks the session whose
+ * cookie was sent as expired. It is then logged in again in the background;
+ * callers asking for its cookie in the meantime wait for the new one, other
+ * sessions are unaffected.
+ *
+ * <p>
+ * {@link #fromConfig()} reads:
+ * <ul>
+ * <li><code>session.pool.size</code> - number of sessions (default 1)</li>
+ * <li><code>session.pool.users</code> - optional comma separated
+ * <code>user:password</code> pairs, used in turn; defaults to
+ * <code>username</code>/<code>password</code></li>
+ * <li><code>session.relogin.retry.ms</code> - delay between failed re-login
+ * attempts (default 1000)</li>
+ * <li><code>session.relogin.timeout.ms</code> - how long a caller waits for a
+ * re-login (default 30000)</li>
+ * </ul>
+ */
+public class SessionPool implements AutoCloseable {
+
+	/** Sessions of every pool by their current cookie. */
+	private static final Map<String, Session> SESSIONS_BY_COOKIE = new ConcurrentHashMap<>();
+
+	private static final ScheduledExecutorService RELOGIN = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "session-relogin");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Filter added to every request by {@link HttpClientPool#requestSpec()}; marks
+	 * the session of the request cookie as expired when the server asks for a new
+	 * login.
+	 */
+	static final Filter EXPIRY_FILTER = new Filter() {
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec,
+				FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			Response response = ctx.next(requestSpec, responseSpec);
+			if (!SESSIONS_BY_COOKIE.isEmpty()) {
+				String cookie = requestSpec.getCookies().getValue(LoginUtil.COOKIE_NAME);
+				Session session = cookie == null ? null : SESSIONS_BY_COOKIE.get(cookie);
+				if (session != null && isLoginRequired(requestSpec, response)) {
+					session.expire(cookie);
+				}
+			}
+			return response;
+		}
+	};
+
+	private final String baseUrl;
+	private final List<Session> sessions;
+	private final BlockingQueue<Session> idle;
+	private final AtomicInteger nextAssignment = new AtomicInteger();
+	private final ThreadLocal<Session> threadSession = new ThreadLocal<>();
+	private final long reloginRetryMs;
+	private final long reloginTimeoutMs;
+
+	/**
+	 * Logs in one session per entry of <code>credentials</code>. The logins run
+	 * concurrently.
+	 *
+	 * @param baseUrl     the OrangeHRM base URL, without a trailing slash
+	 * @param credentials <code>{username, password}</code> pairs, one per session
+	 * @throws IllegalStateException if any login fails
+	 */
+	public SessionPool(String baseUrl, List<String[]> credentials) {
+		if (credentials.isEmpty()) {
+			throw new IllegalArgumentException("A session pool needs at least one session");
+		}
+		this.baseUrl = baseUrl;
+		this.reloginRetryMs = HttpClientPool.longProperty("session.relogin.retry.ms", 1000);
+		this.reloginTimeoutMs = HttpClientPool.longProperty("session.relogin.timeout.ms", 30000);
+		this.idle = new ArrayBlockingQueue<>(credentials.size());
+
+		List<String> cookies = FanOut.map(credentials, user -> LoginUtil.login(baseUrl, user[0], user[1]));
+		List<Session> created = new ArrayList<>(credentials.size());
+		for (int i = 0; i < credentials.size(); i++) {
+			Session session = new Session(credentials.get(i)[0], credentials.get(i)[1], cookies.get(i));
+			SESSIONS_BY_COOKIE.put(cookies.get(i), session);
+			created.add(session);
+			idle.add(session);
+		}
+		this.sessions = Collections.unmodifiableList(created);
+	}
+
+	/**
+	 * Creates a pool from <code>config.properties</code>.
+	 *
+	 * @return the logged-in pool
+	 * @throws IllegalArgumentException if an entry of
+	 *                                  <code>session.pool.users</code> is not a
+	 *                                  <code>user:password</code> pair
+	 */
+	public static SessionPool fromConfig() {
+		return fromConfig(HttpClientPool.intProperty("session.pool.size", 1));
+	}
+
+	/**
+	 * Creates a pool of a given size, with the other settings from
+	 * <code>config.properties</code>.
+	 *
+	 * @param size the number of sessions, instead of
+	 *             <code>session.pool.size</code>
+	 * @return the logged-in pool
+	 * @throws IllegalArgumentException if an entry of
+	 *                                  <code>session.pool.users</code> is not a
+	 *                                  <code>user:password</code> pair
+	 */
+	public static SessionPool fromConfig(int size) {
+		List<String[]> users = new ArrayList<>();
+		String configured = ConfigManager.getProperty("session.pool.users");
+		if (configured != null && !configured.trim().isEmpty()) {
+			for (String pair : configured.split(",")) {
+				int colon = pair.indexOf(':');
+				if (colon <= 0 || pair.substring(0, colon).trim().isEmpty()) {
+					throw new IllegalArgumentException(
+							"session.pool.users entries must be <user>:<password> but one is '" + pair.trim() + "'");
+				}
+				users.add(new String[] { pair.substring(0, colon).trim(), pair.substring(colon + 1).trim() });
+			}
+		} else {
+			users.add(new String[] { ConfigManager.getProperty("username"), ConfigManager.getProperty("password") });
+		}
+		List<String[]> credentials = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			credentials.add(users.get(i % users.size()));
+		}
+		return new SessionPool(ConfigManager.getProperty("base.url"), credentials);
+	}
+
+	/**
+	 * Returns the session pinned to the calling thread, assigning one round robin
+	 * on first use. Several threads may share a session.
+	 *
+	 * @return the session for this thread
+	 */
+	public Session forCurrentThread() {
+		Session session = threadSession.get();
+		if (session == null) {
+			session = sessions.get(Math.floorMod(nextAssignment.getAndIncrement(), sessions.size()));
+			threadSession.set(session);
+		}
+		return session;
+	}
+
+	/**
+	 * Leases a session exclusively, waiting until one is free.
+	 *
+	 * @return the leased session; return it with {@link #release(Session)}
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Session acquire() throws InterruptedException {
+		return idle.take();
+	}
+
+	/**
+	 * Leases a session exclusively if one is free within the timeout.
+	 *
+	 * @param timeout how long to wait
+	 * @param unit    the unit of <code>timeout</code>
+	 * @return the leased session, or <code>null</code> if none became free
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Session acquire(long timeout, TimeUnit unit) throws InterruptedException {
+		return idle.poll(timeout, unit);
+	}
+
+	/**
+	 * Returns an exclusively leased session to the pool.
+	 *
+	 * @param session the session obtained from {@link #acquire()}
+	 */
+	public void release(Session session) {
+		idle.offer(session);
+	}
+
+	/**
+	 * Returns every session of the pool.
+	 *
+	 * @return an unmodifiable list of sessions
+	 */
+	public List<Session> sessions() {
+		return sessions;
+	}
+
+	/**
+	 * Returns the number of sessions in the pool.
+	 *
+	 * @return the pool size
+	 */
+	public int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * Forgets every session of this pool so that their cookies are no longer
+	 * tracked. The sessions themselves are left to expire on the server.
+	 */
+	@Override
+	public void close() {
+		for (Session session : sessions) {
+			SESSIONS_BY_COOKIE.values().remove(session);
+		}
+	}
+
+	static boolean isLoginRequired(FilterableRequestSpecification request, Response response) {
+		int status = response.getStatusCode();
+		if (status == 401) {
+			return true;
+		}
+		if (status / 100 == 3) {
+			String location = response.getHeader("Location");
+			return location != null && location.contains(LoginUtil.LOGIN_PATH);
+		}
+		String contentType = response.getContentType();
+		return status == 200 && request.getURI().contains("/api/") && contentType != null
+				&& contentType.contains("text/html");
+	}
+
+	/**
+	 * One logged-in OrangeHRM session.
+	 */
+	public final class Session {
+		private final String username;
+		private final String password;
+		private volatile CompletableFuture<String> cookie;
+
+		Session(String username, String password, String cookie) {
+			this.username = username;
+			this.password = password;
+			this.cookie = CompletableFuture.completedFuture(cookie);
+		}
+
+		/**
+		 * Returns the current <code>orangehrm</code> cookie, waiting for a re-login
+		 * in progress.
+		 *
+		 * @return the cookie value to pass to {@link ApiUtil}
+		 * @throws IllegalStateException if the re-login does not finish within
+		 *                               <code>session.relogin.timeout.ms</code>
+		 */
+		public String cookie() {
+			try {
+				return cookie.get(reloginTimeoutMs, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for session of " + username, e);
+			} catch (ExecutionException | TimeoutException e) {
+				throw new IllegalStateException("Session of " + username + " could not be renewed", e);
+			}
+		}
+
+		/**
+		 * Returns the user this session is logged in as.
+		 *
+		 * @return the user name
+		 */
+		public String username() {
+			return username;
+		}
+
+		/**
+		 * Indicates whether a re-login is in progress.
+		 *
+		 * @return <code>true</code> while the session is being renewed
+		 */
+		public boolean isRenewing() {
+			return !cookie.isDone();
+		}
+
+		/**
+		 * Marks the session as expired if <code>staleCookie</code> is still its
+		 * current cookie and starts a background re-login. Expiries reported by
+		 * several requests with the same cookie start only one re-login.
+		 *
+		 * @param staleCookie the cookie the server rejected
+		 */
+		void expire(String staleCookie) {
+			CompletableFuture<String> current = cookie;
+			if (!current.isDone() || !staleCookie.equals(current.getNow(null))) {
+				return;
+			}
+			synchronized (this) {
+				if (cookie != current) {
+					return;
+				}
+				CompletableFuture<String> renewed = new CompletableFuture<>();
+				cookie = renewed;
+				SESSIONS_BY_COOKIE.remove(staleCookie, this);
+				RELOGIN.execute(() -> relogin(renewed));
+			}
+		}
+
+		private void relogin(CompletableFuture<String> renewed) {
+			try {
+				String fresh = LoginUtil.login(baseUrl, username, password);
+				SESSIONS_BY_COOKIE.put(fresh, this);
+				renewed.complete(fresh);
+			} catch (RuntimeException e) {
+				System.err.println("Re-login of " + username + " failed, retrying: " + e.getMessage());
+				RELOGIN.schedule(() -> relogin(renewed), reloginRetryMs, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+}
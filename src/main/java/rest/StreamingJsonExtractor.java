@@ -0,0 +1,373 @@
+package rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.response.Response;
+
+/**
+ * Single-pass extraction of the list endpoints on Jackson's token stream.
+ *
+ * <p>
+ * <code>response.jsonPath().getList("data")</code> builds the whole body as
+ * Groovy maps and lists, and the parsers then walk that tree again to fill the
+ * ID and name lists. This class reads the body bytes once with a
+ * {@link JsonParser} and fills the {@link CustomResponse} lists while it goes.
+ *
+ * <p>
+ * In the default mode every element of <code>data</code> is still read into a
+ * {@link Map} so that <code>userList</code> and <code>jobTitleDataList</code>
+ * are available to callers. In fields-only mode those lists are left
+ * <code>null</code> and only the fields the lists need are decoded; every
+ * other value is skipped at the token level without being materialized.
+ * <code>meta</code> is always read as a map since it is only a few fields.
+ */
+final class StreamingJsonExtractor {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+	};
+
+	private StreamingJsonExtractor() {
+	}
+
+	/**
+	 * Extracts the admin users list.
+	 *
+	 * @param response   the GET admin users response
+	 * @param fieldsOnly <code>true</code> to skip retaining <code>userList</code>
+	 * @return the populated {@link CustomResponse}
+	 */
+	static CustomResponse adminUsers(Response response, boolean fieldsOnly) {
+		List<Map<String, Object>> userList = fieldsOnly ? null : new ArrayList<>();
+		List<Integer> userIdList = new IntList();
+		List<String> userNameList = new ArrayList<>();
+		Set<String> userRoleNameSet = new HashSet<>();
+		List<String> employeeIdList = new ArrayList<>();
+		Map<String, Object> metaMap = null;
+
+		try (JsonParser parser = MAPPER.getFactory().createParser(response.asByteArray())) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						if (fieldsOnly) {
+							readAdminUserFields(parser, userIdList, userNameList, userRoleNameSet, employeeIdList);
+						} else {
+							Map<String, Object> user = parser.readValueAs(MAP_TYPE);
+							userList.add(user);
+							userIdList.add(requireId(intField(user, "id"), userIdList.size()));
+							userNameList.add(textField(user, "userName"));
+
+							Map<String, Object> userRole = objectField(user, "userRole");
+							if (userRole != null) {
+								userRoleNameSet.add(textField(userRole, "name"));
+							}
+							Map<String, Object> employee = objectField(user, "employee");
+							if (employee != null) {
+								employeeIdList.add(textField(employee, "employeeId"));
+							}
+						}
+					}
+				} else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+					metaMap = parser.readValueAs(MAP_TYPE);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to parse admin users response", e);
+		}
+
+		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), userList, metaMap,
+				userIdList, userNameList, userRoleNameSet, employeeIdList, userIdList.size());
+	}
+
+	/**
+	 * Extracts the job titles list.
+	 *
+	 * @param response   the GET job titles response
+	 * @param fieldsOnly <code>true</code> to skip retaining
+	 *                   <code>jobTitleDataList</code>
+	 * @return the populated {@link CustomResponse}
+	 */
+	static CustomResponse jobTitles(Response response, boolean fieldsOnly) {
+		List<Map<String, Object>> jobList = fieldsOnly ? null : new ArrayList<>();
+		List<Integer> jobIdList = new IntList();
+		List<Map<String, Object>> jobSpecList = new ArrayList<>();
+		Map<String, Object> metaMap = null;
+
+		try (JsonParser parser = MAPPER.getFactory().createParser(response.asByteArray())) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						if (fieldsOnly) {
+							readJobTitleFields(parser, jobIdList, jobSpecList);
+						} else {
+							Map<String, Object> job = parser.readValueAs(MAP_TYPE);
+							jobList.add(job);
+							jobIdList.add(requireId(intField(job, "id"), jobIdList.size()));
+							jobSpecList.add(objectField(job, "jobSpecification"));
+						}
+					}
+				} else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+					metaMap = parser.readValueAs(MAP_TYPE);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to parse job titles response", e);
+		}
+
+		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), jobList, metaMap,
+				jobIdList, jobSpecList, jobIdList.size());
+	}
+
+	/**
+	 * Extracts pay grade IDs, names and "CurrencyName (CurrencyId)" strings. The
+	 * pay grade objects themselves are never retained.
+	 *
+	 * @param response the GET pay grades response
+	 * @return the populated {@link CustomResponse}
+	 */
+	static CustomResponse paygrades(Response response) {
+		List<Integer> gradeIdList = new IntList();
+		List<String> gradeNameList = new ArrayList<>();
+		List<String> currencyList = new ArrayList<>();
+
+		try (JsonParser parser = MAPPER.getFactory().createParser(response.asByteArray())) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						readPaygradeFields(parser, gradeIdList, gradeNameList, currencyList);
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to parse pay grades response", e);
+		}
+
+		return new CustomResponse(response, response.getStatusCode(), response.getStatusLine(), gradeIdList,
+				gradeNameList, currencyList);
+	}
+
+	/**
+	 * Reads one page of a list endpoint.
+	 *
+	 * @param response the GET response for the page
+	 * @param records  receives every element of <code>data</code> as a map
+	 * @return <code>meta.total</code>, or <code>-1</code> when the response has
+	 *         no total
+	 */
+	static int page(Response response, List<Map<String, Object>> records) {
+		int total = -1;
+		try (JsonParser parser = MAPPER.getFactory().createParser(response.asByteArray())) {
+			expect(parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						records.add(parser.readValueAs(MAP_TYPE));
+					}
+				} else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+					Integer metaTotal = readNestedInt(parser, "total");
+					total = metaTotal == null ? -1 : metaTotal;
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to parse page response", e);
+		}
+		return total;
+	}
+
+	private static void readAdminUserFields(JsonParser parser, List<Integer> userIdList, List<String> userNameList,
+			Set<String> userRoleNameSet, List<String> employeeIdList) throws IOException {
+		Integer id = null;
+		String userName = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("id".equals(field)) {
+				id = intValue(parser, value);
+			} else if ("userName".equals(field)) {
+				userName = textValue(parser, value);
+			} else if ("userRole".equals(field) && value == JsonToken.START_OBJECT) {
+				userRoleNameSet.add(readNestedText(parser, "name"));
+			} else if ("employee".equals(field) && value == JsonToken.START_OBJECT) {
+				employeeIdList.add(readNestedText(parser, "employeeId"));
+			} else {
+				parser.skipChildren();
+			}
+		}
+		userIdList.add(requireId(id, userIdList.size()));
+		userNameList.add(userName);
+	}
+
+	private static void readJobTitleFields(JsonParser parser, List<Integer> jobIdList,
+			List<Map<String, Object>> jobSpecList) throws IOException {
+		Integer id = null;
+		Map<String, Object> jobSpec = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("id".equals(field)) {
+				id = intValue(parser, value);
+			} else if ("jobSpecification".equals(field) && value == JsonToken.START_OBJECT) {
+				jobSpec = parser.readValueAs(MAP_TYPE);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		jobIdList.add(requireId(id, jobIdList.size()));
+		jobSpecList.add(jobSpec);
+	}
+
+	private static void readPaygradeFields(JsonParser parser, List<Integer> gradeIdList, List<String> gradeNameList,
+			List<String> currencyList) throws IOException {
+		Integer id = null;
+		String name = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("id".equals(field)) {
+				id = intValue(parser, value);
+			} else if ("name".equals(field)) {
+				name = textValue(parser, value);
+			} else if ("currencies".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					String currencyId = null;
+					String currencyName = null;
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String currencyField = parser.getCurrentName();
+						JsonToken currencyValue = parser.nextToken();
+						if ("id".equals(currencyField)) {
+							currencyId = textValue(parser, currencyValue);
+						} else if ("name".equals(currencyField)) {
+							currencyName = textValue(parser, currencyValue);
+						} else {
+							parser.skipChildren();
+						}
+					}
+					currencyList.add(currencyName + " (" + currencyId + ")");
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		gradeIdList.add(requireId(id, gradeIdList.size()));
+		gradeNameList.add(name);
+	}
+
+	/**
+	 * Reads one text field out of the object the parser is positioned on and skips
+	 * the rest of it.
+	 */
+	private static String readNestedText(JsonParser parser, String name) throws IOException {
+		String text = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (name.equals(field)) {
+				text = textValue(parser, value);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return text;
+	}
+
+	private static Integer readNestedInt(JsonParser parser, String name) throws IOException {
+		Integer number = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (name.equals(field)) {
+				number = intValue(parser, value);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return number;
+	}
+
+	/**
+	 * Fails on a record without an integer <code>id</code> rather than letting a
+	 * placeholder into the ID list, where it would pass the ID assertions.
+	 */
+	private static int requireId(Integer id, int index) throws IOException {
+		if (id == null) {
+			throw new IOException("data[" + index + "] has no integer id");
+		}
+		return id;
+	}
+
+	private static Integer intField(Map<String, Object> record, String name) {
+		Object value = record.get(name);
+		return value instanceof Integer ? (Integer) value : null;
+	}
+
+	private static String textField(Map<String, Object> record, String name) {
+		Object value = record.get(name);
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * Returns a nested object of a record. Objects read with {@link #MAP_TYPE}
+	 * hold their nested objects as maps with string keys too, which is what makes
+	 * the cast safe.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> objectField(Map<String, Object> record, String name) {
+		Object value = record.get(name);
+		return value instanceof Map ? (Map<String, Object>) value : null;
+	}
+
+	private static Integer intValue(JsonParser parser, JsonToken value) throws IOException {
+		if (value == JsonToken.VALUE_NUMBER_INT) {
+			return parser.getIntValue();
+		}
+		parser.skipChildren();
+		return null;
+	}
+
+	private static String textValue(JsonParser parser, JsonToken value) throws IOException {
+		if (value == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (value.isScalarValue()) {
+			return parser.getText();
+		}
+		parser.skipChildren();
+		return null;
+	}
+
+	private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+		if (actual != expected) {
+			throw new IOException("Expected " + expected + " but found " + actual);
+		}
+	}
+}
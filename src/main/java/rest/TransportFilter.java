@@ -0,0 +1,224 @@
+package rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * Sends the request through the configured {@link HttpTransport} instead of
+ * RestAssured's Apache client, as the last filter of the chain, and retries it
+ * as the {@link RetryPolicy} allows.
+ *
+ * <p>
+ * The transport is chosen with the <code>http.transport</code> property:
+ * <ul>
+ * <li><code>apache</code> (default) - no filter, RestAssured sends the request
+ * itself</li>
+ * <li><code>jdk</code> - {@link java.net.http.HttpClient}, negotiating HTTP/2
+ * and falling back to HTTP/1.1; only compiled by the Java 21
+ * <code>virtual-threads</code> profile. For load runs only: its status lines
+ * read <code>HTTP/2 200 OK</code> or <code>HTTP/1.1 200 OK</code>, so the
+ * functional suite, which expects the <code>HTTP/1.0 200 OK</code> of the
+ * OrangeHRM server as the Apache client reports it, fails on it</li>
+ * <li>any other value - the fully qualified name of an {@link HttpTransport}
+ * implementation</li>
+ * </ul>
+ * If the configured class is not on the classpath (for example the JDK
+ * transport on the Java 8 build) a warning is printed and the Apache client is
+ * used.
+ */
+public final class TransportFilter implements Filter {
+
+	private static final String JDK_TRANSPORT = "rest.JdkHttpTransport";
+
+	private final HttpTransport transport;
+
+	public TransportFilter(HttpTransport transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * Creates the filter for the transport named by <code>http.transport</code>.
+	 *
+	 * @return the filter, or <code>null</code> when the Apache client should be
+	 *         used
+	 */
+	static TransportFilter fromConfig() {
+		String name = ConfigManager.getProperty("http.transport");
+		if (name == null || name.trim().isEmpty() || "apache".equalsIgnoreCase(name.trim())) {
+			return null;
+		}
+		String className = "jdk".equalsIgnoreCase(name.trim()) ? JDK_TRANSPORT : name.trim();
+		try {
+			HttpTransport transport = (HttpTransport) Class.forName(className).getDeclaredConstructor().newInstance();
+			return new TransportFilter(transport);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			System.err.println("HTTP transport " + className + " is not available (" + e
+					+ "), falling back to the Apache client");
+			return null;
+		}
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		RetryPolicy.Attempts attempts = RetryPolicy.begin(requestSpec.getMethod(), requestSpec.getURI());
+		while (true) {
+			Response response;
+			try {
+				response = transport.send(requestSpec);
+			} catch (IOException e) {
+				if (attempts.retryAfter(e) && attempts.backOff()) {
+					continue;
+				}
+				throw new UncheckedIOException(e);
+			}
+			// the transport has read the whole body, so a response that is not retried stays usable
+			if (!attempts.retryAfter(response.getStatusCode(), response.getHeader("Retry-After"))
+					|| !attempts.backOff()) {
+				return response;
+			}
+		}
+	}
+
+	/**
+	 * Returns the request body as bytes, encoded with the charset of the request
+	 * content type (UTF-8 when none is given).
+	 *
+	 * @param request the request
+	 * @return the body, or an empty array when the request has none
+	 */
+	static byte[] bodyBytes(FilterableRequestSpecification request) {
+		Object body = request.getBody();
+		if (body == null) {
+			return new byte[0];
+		}
+		if (body instanceof byte[]) {
+			return (byte[]) body;
+		}
+		return body.toString().getBytes(charsetOf(request.getContentType()));
+	}
+
+	/**
+	 * Renders the request cookies as a single <code>Cookie</code> header value.
+	 *
+	 * @param request the request
+	 * @return the header value, or <code>null</code> when there are no cookies
+	 */
+	static String cookieHeader(FilterableRequestSpecification request) {
+		if (!request.getCookies().exist()) {
+			return null;
+		}
+		StringBuilder header = new StringBuilder();
+		for (Cookie cookie : request.getCookies()) {
+			if (header.length() > 0) {
+				header.append("; ");
+			}
+			header.append(cookie.getName()).append('=').append(cookie.getValue());
+		}
+		return header.toString();
+	}
+
+	/**
+	 * Names the endpoint of a request for statistics: the method and the path,
+	 * with numeric path segments replaced by <code>{id}</code>, for example
+	 * <code>PUT /web/index.php/api/v2/admin/pay-grades/{id}</code>.
+	 *
+	 * @param method the HTTP method
+	 * @param url    the request URL
+	 * @return the endpoint name
+	 */
+	static String endpoint(String method, String url) {
+		String path = EndpointPaths.pathOf(url);
+		StringBuilder endpoint = new StringBuilder(method).append(' ');
+		int start = 0;
+		while (start < path.length()) {
+			int end = path.indexOf('/', start + 1);
+			if (end < 0) {
+				end = path.length();
+			}
+			String segment = path.substring(start, end);
+			endpoint.append(segment.length() > 1 && isDigits(segment, 1) ? "/{id}" : segment);
+			start = end;
+		}
+		return endpoint.toString();
+	}
+
+	/**
+	 * Builds a RestAssured {@link Response} from a response received by another
+	 * client, so the usual <code>jsonPath()</code>, <code>getStatusLine()</code>
+	 * and <code>getCookie()</code> calls work unchanged.
+	 *
+	 * @param protocol   the protocol, for example <code>HTTP/2</code>
+	 * @param statusCode the status code
+	 * @param headers    the response headers
+	 * @param body       the response body
+	 * @return the response
+	 */
+	static Response toResponse(String protocol, int statusCode, List<Header> headers, byte[] body) {
+		List<Cookie> cookies = new ArrayList<>();
+		String contentType = null;
+		for (Header header : headers) {
+			if ("Set-Cookie".equalsIgnoreCase(header.getName())) {
+				for (HttpCookie cookie : HttpCookie.parse(header.getValue())) {
+					cookies.add(new Cookie.Builder(cookie.getName(), cookie.getValue()).setPath(cookie.getPath())
+							.setDomain(cookie.getDomain()).setSecured(cookie.getSecure())
+							.setHttpOnly(cookie.isHttpOnly()).build());
+				}
+			} else if ("Content-Type".equalsIgnoreCase(header.getName())) {
+				contentType = header.getValue();
+			}
+		}
+		String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, null);
+		ResponseBuilder builder = new ResponseBuilder().setStatusCode(statusCode)
+				.setStatusLine(protocol + " " + statusCode + (reason == null ? "" : " " + reason))
+				.setHeaders(new Headers(headers)).setCookies(new Cookies(cookies)).setBody(body);
+		if (contentType != null) {
+			builder.setContentType(contentType);
+		}
+		return builder.build();
+	}
+
+	private static boolean isDigits(String text, int from) {
+		for (int i = from; i < text.length(); i++) {
+			if (!Character.isDigit(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Charset charsetOf(String contentType) {
+		if (contentType != null) {
+			for (String part : contentType.split(";")) {
+				String trimmed = part.trim();
+				if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+					try {
+						return Charset.forName(trimmed.substring(8).replace("\"", ""));
+					} catch (IllegalArgumentException e) {
+						break;
+					}
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+}
@@ -0,0 +1,128 @@
+package rest;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import restConfig.ConfigManager;
+
+/**
+ * Snowflake-style unique IDs and names for test data, without a shared set of
+ * used values.
+ *
+ * <p>
+ * An ID is a positive <code>long</code> made of, from the high bits down:
+ * <ul>
+ * <li>41 bits - milliseconds since 2024-01-01 UTC</li>
+ * <li>8 bits - node, one per JVM: <code>unique.node.id</code> (0-255) or,
+ * when not set, derived from the host name and the process ID</li>
+ * <li>4 bits - stripe, chosen from the calling thread's ID</li>
+ * <li>10 bits - sequence within the millisecond and stripe</li>
+ * </ul>
+ * Each stripe keeps its last time and sequence in its own slot of a padded
+ * {@link AtomicLongArray}, so threads on different stripes never touch the
+ * same cache line and an ID costs one uncontended compare-and-set. When a
+ * stripe runs out of sequence numbers within a millisecond it borrows the next
+ * millisecond instead of waiting, and it never goes back if the clock does, so
+ * IDs from a stripe are strictly increasing.
+ *
+ * <p>
+ * The derived node is a hash of the host name plus the process ID, so JVMs on
+ * one host get distinct nodes as long as their process IDs differ by less than
+ * 256. Across hosts two derived nodes collide one time in 256, so runs spread
+ * over several machines must give each JVM its own <code>unique.node.id</code>.
+ *
+ * <p>
+ * {@link #name(String)} renders an ID in base 36, at most 13 characters, after
+ * a prefix, and keeps the result within OrangeHRM's 50 character name limit.
+ */
+public final class UniqueIdGenerator {
+
+	/** Longest name OrangeHRM accepts for pay grades, statuses and categories. */
+	public static final int MAX_NAME_LENGTH = 50;
+
+	private static final long EPOCH = 1704067200000L;
+	private static final int SEQUENCE_BITS = 10;
+	private static final int STRIPE_BITS = 4;
+	private static final int NODE_BITS = 8;
+	private static final int STRIPES = 1 << STRIPE_BITS;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+	/** Slots between stripes, so that each stripe has its own 64 byte line. */
+	private static final int PADDING = 8;
+
+	private static final long NODE = node();
+	private static final AtomicLongArray STATE = new AtomicLongArray(STRIPES * PADDING);
+
+	private UniqueIdGenerator() {
+	}
+
+	/**
+	 * Returns a new ID, unique across threads and, with distinct node IDs,
+	 * across JVMs.
+	 *
+	 * @return a positive ID
+	 */
+	public static long nextId() {
+		int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+		int slot = stripe * PADDING;
+		long now = System.currentTimeMillis() - EPOCH;
+		long previous;
+		long next;
+		do {
+			previous = STATE.get(slot);
+			// time and sequence of the stripe, packed as time << SEQUENCE_BITS | sequence
+			next = Math.max(now << SEQUENCE_BITS, previous + 1);
+		} while (!STATE.compareAndSet(slot, previous, next));
+
+		long time = next >>> SEQUENCE_BITS;
+		return time << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS) | NODE << (STRIPE_BITS + SEQUENCE_BITS)
+				| (long) stripe << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+	}
+
+	/**
+	 * Returns a unique name: the prefix followed by a new ID in base 36. The
+	 * prefix is shortened if needed so the name fits {@link #MAX_NAME_LENGTH}.
+	 *
+	 * @param prefix the readable part, for example <code>PayGrade_</code>
+	 * @return the name
+	 */
+	public static String name(String prefix) {
+		return name(prefix, MAX_NAME_LENGTH);
+	}
+
+	/**
+	 * Returns a unique name of at most <code>maxLength</code> characters.
+	 *
+	 * @param prefix    the readable part
+	 * @param maxLength the longest name the target field accepts; at least 13
+	 * @return the name
+	 */
+	public static String name(String prefix, int maxLength) {
+		String id = Long.toString(nextId(), Character.MAX_RADIX);
+		int room = maxLength - id.length();
+		if (room < 0) {
+			throw new IllegalArgumentException("Names need at least " + id.length() + " characters");
+		}
+		return (prefix.length() > room ? prefix.substring(0, room) : prefix) + id;
+	}
+
+	private static long node() {
+		int configured = ConfigManager.config().getInt("unique.node.id", -1);
+		if (configured >= 0) {
+			if (configured >= 1 << NODE_BITS) {
+				throw new IllegalArgumentException("unique.node.id must be between 0 and " + ((1 << NODE_BITS) - 1));
+			}
+			return configured;
+		}
+		// "<pid>@<host>" on HotSpot and OpenJ9
+		String process = ManagementFactory.getRuntimeMXBean().getName();
+		int at = process.indexOf('@');
+		long pid;
+		try {
+			pid = Long.parseLong(process.substring(0, Math.max(at, 0)));
+		} catch (NumberFormatException e) {
+			pid = 0;
+		}
+		int hash = (at < 0 ? process : process.substring(at + 1)).hashCode();
+		return ((hash ^ hash >>> 16 ^ hash >>> 8) + pid) & ((1 << NODE_BITS) - 1);
+	}
+}
@@ -0,0 +1,41 @@
+package rest.dto;
+
+/**
+ * A system user from <code>/api/v2/admin/users</code>.
+ */
+@JsonDto
+public class AdminUser {
+
+	@JsonRequired
+	Integer id;
+	String userName;
+	boolean deleted;
+	@JsonField("status")
+	boolean enabled;
+	Employee employee;
+	UserRole userRole;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Employee getEmployee() {
+		return employee;
+	}
+
+	public UserRole getUserRole() {
+		return userRole;
+	}
+}
@@ -0,0 +1,29 @@
+package rest.dto;
+
+/**
+ * A currency of a {@link PayGrade}, with its salary range.
+ */
+@JsonDto
+public class Currency {
+
+	String id;
+	String name;
+	Double minSalary;
+	Double maxSalary;
+
+	public String getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Double getMinSalary() {
+		return minSalary;
+	}
+
+	public Double getMaxSalary() {
+		return maxSalary;
+	}
+}
@@ -0,0 +1,195 @@
+package rest.dto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Scalar and list decoding used by the generated decoders.
+ *
+ * <p>
+ * Values are converted rather than cast: a number sent as a string, such as
+ * <code>"id": "12"</code>, still decodes to an <code>int</code>, and a JSON
+ * <code>null</code> becomes <code>0</code> or <code>false</code> for primitive
+ * fields. Ids are therefore declared as {@link JsonRequired} wrappers, so a
+ * missing or <code>null</code> id fails instead of decoding to 0. A value of
+ * the wrong shape, for example an object where a number is expected, fails
+ * with a {@link JsonParseException} that names the token and its location
+ * instead of a {@link ClassCastException} further down.
+ */
+public final class Decoding {
+
+	public static final JsonDecoder<Integer> INTEGER = Decoding::integerValue;
+	public static final JsonDecoder<Long> LONG = Decoding::longObjectValue;
+	public static final JsonDecoder<Double> DOUBLE = Decoding::doubleObjectValue;
+	public static final JsonDecoder<Boolean> BOOLEAN = Decoding::booleanObjectValue;
+	public static final JsonDecoder<String> TEXT = Decoding::textValue;
+
+	private Decoding() {
+	}
+
+	public static int intValue(JsonParser parser) throws IOException {
+		Integer value = integerValue(parser);
+		return value == null ? 0 : value;
+	}
+
+	public static Integer integerValue(JsonParser parser) throws IOException {
+		switch (parser.getCurrentToken()) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getValueAsInt();
+		case VALUE_STRING:
+			return parser.getText().isEmpty() ? null : Integer.valueOf(parser.getText().trim());
+		default:
+			throw unexpected(parser, "an integer");
+		}
+	}
+
+	public static long longValue(JsonParser parser) throws IOException {
+		Long value = longObjectValue(parser);
+		return value == null ? 0L : value;
+	}
+
+	public static Long longObjectValue(JsonParser parser) throws IOException {
+		switch (parser.getCurrentToken()) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getValueAsLong();
+		case VALUE_STRING:
+			return parser.getText().isEmpty() ? null : Long.valueOf(parser.getText().trim());
+		default:
+			throw unexpected(parser, "an integer");
+		}
+	}
+
+	public static double doubleValue(JsonParser parser) throws IOException {
+		Double value = doubleObjectValue(parser);
+		return value == null ? 0d : value;
+	}
+
+	public static Double doubleObjectValue(JsonParser parser) throws IOException {
+		switch (parser.getCurrentToken()) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getValueAsDouble();
+		case VALUE_STRING:
+			return parser.getText().isEmpty() ? null : Double.valueOf(parser.getText().trim());
+		default:
+			throw unexpected(parser, "a number");
+		}
+	}
+
+	public static boolean booleanValue(JsonParser parser) throws IOException {
+		Boolean value = booleanObjectValue(parser);
+		return value != null && value;
+	}
+
+	public static Boolean booleanObjectValue(JsonParser parser) throws IOException {
+		switch (parser.getCurrentToken()) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_NUMBER_INT:
+			return parser.getIntValue() != 0;
+		case VALUE_STRING:
+			return parser.getText().isEmpty() ? null : Boolean.valueOf(parser.getText().trim());
+		default:
+			throw unexpected(parser, "a boolean");
+		}
+	}
+
+	public static String textValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (token.isScalarValue()) {
+			return parser.getText();
+		}
+		throw unexpected(parser, "a string");
+	}
+
+	/**
+	 * Decodes a JSON array element by element.
+	 *
+	 * @param parser  the parser, positioned on <code>START_ARRAY</code> or
+	 *                <code>null</code>
+	 * @param element the decoder for the elements
+	 * @param <T>     the element type
+	 * @return the elements, or <code>null</code> for a JSON <code>null</code>
+	 * @throws IOException if the value is not an array or an element fails to
+	 *                     decode
+	 */
+	public static <T> List<T> list(JsonParser parser, JsonDecoder<T> element) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (token != JsonToken.START_ARRAY) {
+			throw unexpected(parser, "an array");
+		}
+		List<T> values = new ArrayList<>();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			values.add(element.decode(parser));
+		}
+		return values;
+	}
+
+	/**
+	 * Checks that the parser is positioned on the start of an object, as the
+	 * generated decoders expect.
+	 *
+	 * @param parser the parser
+	 * @return <code>false</code> if the value is a JSON <code>null</code>
+	 * @throws IOException if the value is neither an object nor <code>null</code>
+	 */
+	public static boolean startObject(JsonParser parser) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			return true;
+		}
+		if (token == JsonToken.VALUE_NULL) {
+			return false;
+		}
+		throw unexpected(parser, "an object");
+	}
+
+	/**
+	 * Returns the error for a {@link JsonRequired} property that a decoded object
+	 * lacks.
+	 *
+	 * @param parser   the parser, positioned on the end of the object
+	 * @param property the JSON property name
+	 * @param type     the simple name of the DTO
+	 * @return the exception to throw
+	 */
+	public static JsonParseException missing(JsonParser parser, String property, String type) {
+		return new JsonParseException(parser, "Missing or null '" + property + "' in " + type);
+	}
+
+	static JsonParseException unexpected(JsonParser parser, String expected) {
+		return new JsonParseException(parser,
+				"Expected " + expected + " for '" + currentName(parser) + "' but found " + parser.getCurrentToken());
+	}
+
+	private static String currentName(JsonParser parser) {
+		try {
+			return parser.getCurrentName();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+}
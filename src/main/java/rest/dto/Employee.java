@@ -0,0 +1,40 @@
+package rest.dto;
+
+/**
+ * The employee an {@link AdminUser} belongs to.
+ */
+@JsonDto
+public class Employee {
+
+	@JsonRequired
+	Integer empNumber;
+	String employeeId;
+	String firstName;
+	String middleName;
+	String lastName;
+	Integer terminationId;
+
+	public int getEmpNumber() {
+		return empNumber;
+	}
+
+	public String getEmployeeId() {
+		return employeeId;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getMiddleName() {
+		return middleName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public Integer getTerminationId() {
+		return terminationId;
+	}
+}
@@ -0,0 +1,20 @@
+package rest.dto;
+
+/**
+ * An entry of <code>/api/v2/dashboard/employees/locations</code>: a location
+ * and its number of employees.
+ */
+@JsonDto
+public class EmployeeLocation {
+
+	Location location;
+	int count;
+
+	public Location getLocation() {
+		return location;
+	}
+
+	public int getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,20 @@
+package rest.dto;
+
+/**
+ * An entry of <code>/api/v2/dashboard/employees/subunit</code>: a subunit and
+ * its number of employees.
+ */
+@JsonDto
+public class EmployeeSubunit {
+
+	Subunit subunit;
+	int count;
+
+	public Subunit getSubunit() {
+		return subunit;
+	}
+
+	public int getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,20 @@
+package rest.dto;
+
+/**
+ * An employment status from <code>/api/v2/admin/employment-statuses</code>.
+ */
+@JsonDto
+public class EmploymentStatus {
+
+	@JsonRequired
+	Integer id;
+	String name;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,122 @@
+package rest.dto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The <code>{"data": ..., "meta": {...}}</code> wrapper of every OrangeHRM API
+ * response, decoded into typed DTOs.
+ *
+ * <p>
+ * <code>data</code> may be a single object (create, update) or an array (list
+ * endpoints); either way {@link #data()} returns a list. Of <code>meta</code>
+ * only <code>total</code> is kept. The body is read in one pass with a
+ * generated {@link JsonDecoder}; no maps are built and no reflection is used.
+ *
+ * @param <T> the DTO type of the <code>data</code> elements
+ */
+public final class Envelope<T> {
+
+	private static final JsonFactory JSON = new JsonFactory();
+
+	private final JsonDecoder<T> decoder;
+	private final List<T> data;
+	private final int total;
+
+	private Envelope(JsonDecoder<T> decoder, List<T> data, int total) {
+		this.decoder = decoder;
+		this.data = data;
+		this.total = total;
+	}
+
+	/**
+	 * Decodes a response body.
+	 *
+	 * @param body    the body bytes
+	 * @param decoder the decoder for the <code>data</code> elements, for example
+	 *                <code>PayGradeDecoder.INSTANCE</code>
+	 * @param <T>     the DTO type
+	 * @return the decoded envelope
+	 * @throws UncheckedIOException if the body is not JSON or does not match the
+	 *                              DTO
+	 */
+	public static <T> Envelope<T> read(byte[] body, JsonDecoder<T> decoder) {
+		List<T> data = Collections.emptyList();
+		int total = -1;
+		try (JsonParser parser = JSON.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw Decoding.unexpected(parser, "an object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("data".equals(field)) {
+					if (value == JsonToken.START_ARRAY) {
+						data = Decoding.list(parser, decoder);
+					} else if (value == JsonToken.START_OBJECT) {
+						data = Collections.singletonList(decoder.decode(parser));
+					} else {
+						parser.skipChildren();
+					}
+				} else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String metaField = parser.getCurrentName();
+						parser.nextToken();
+						if ("total".equals(metaField)) {
+							total = Decoding.intValue(parser);
+						} else {
+							parser.skipChildren();
+						}
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to decode response body", e);
+		}
+		return new Envelope<>(decoder, Collections.unmodifiableList(data), total);
+	}
+
+	/**
+	 * Returns the decoded <code>data</code> elements.
+	 *
+	 * @return an unmodifiable list; empty if the body has no <code>data</code>
+	 */
+	public List<T> data() {
+		return data;
+	}
+
+	/**
+	 * Returns the first <code>data</code> element.
+	 *
+	 * @return the element, or <code>null</code> if there is none
+	 */
+	public T first() {
+		return data.isEmpty() ? null : data.get(0);
+	}
+
+	/**
+	 * Returns <code>meta.total</code>.
+	 *
+	 * @return the total, or <code>-1</code> if the body has none
+	 */
+	public int total() {
+		return total;
+	}
+
+	/**
+	 * Returns the decoder the <code>data</code> elements were read with.
+	 *
+	 * @return the decoder
+	 */
+	public JsonDecoder<T> decoder() {
+		return decoder;
+	}
+}
@@ -0,0 +1,20 @@
+package rest.dto;
+
+/**
+ * A job category from <code>/api/v2/admin/job-categories</code>.
+ */
+@JsonDto
+public class JobCategory {
+
+	@JsonRequired
+	Integer id;
+	String name;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,30 @@
+package rest.dto;
+
+/**
+ * The job specification attachment of a {@link JobTitle}; every field is
+ * <code>null</code> when none is attached.
+ */
+@JsonDto
+public class JobSpecification {
+
+	Integer id;
+	String filename;
+	String fileType;
+	Long fileSize;
+
+	public Integer getId() {
+		return id;
+	}
+
+	public String getFilename() {
+		return filename;
+	}
+
+	public String getFileType() {
+		return fileType;
+	}
+
+	public Long getFileSize() {
+		return fileSize;
+	}
+}
@@ -0,0 +1,35 @@
+package rest.dto;
+
+/**
+ * A job title from <code>/api/v2/admin/job-titles</code>.
+ */
+@JsonDto
+public class JobTitle {
+
+	@JsonRequired
+	Integer id;
+	String title;
+	String description;
+	String note;
+	JobSpecification jobSpecification;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public JobSpecification getJobSpecification() {
+		return jobSpecification;
+	}
+}
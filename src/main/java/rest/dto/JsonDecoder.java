@@ -0,0 +1,28 @@
+package rest.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Decodes one JSON value straight from a Jackson token stream.
+ *
+ * <p>
+ * Implementations for {@link JsonDto} classes are generated at compile time;
+ * the ones for scalar values are in {@link Decoding}.
+ *
+ * @param <T> the decoded type
+ */
+public interface JsonDecoder<T> {
+
+	/**
+	 * Decodes the value the parser is positioned on. On return the parser is on
+	 * the last token of that value.
+	 *
+	 * @param parser the parser, positioned on the first token of the value
+	 * @return the decoded value, or <code>null</code> for a JSON
+	 *         <code>null</code>
+	 * @throws IOException if the value cannot be read or has an unexpected shape
+	 */
+	T decode(JsonParser parser) throws IOException;
+}
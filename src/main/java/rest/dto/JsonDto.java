@@ -0,0 +1,28 @@
+package rest.dto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a response DTO for which {@link rest.dto.processor.DecoderProcessor}
+ * generates a <code>&lt;Name&gt;Decoder</code> at compile time.
+ *
+ * <p>
+ * Every non-static field of the class is decoded from the JSON property of the
+ * same name, or the name given with {@link JsonField}. Fields must not be
+ * <code>private</code> or <code>final</code>, and the class needs a
+ * non-private no-argument constructor, so the generated decoder can create and
+ * fill it without reflection. Supported field types are the primitive types
+ * <code>int</code>, <code>long</code>, <code>double</code> and
+ * <code>boolean</code>, their wrappers, {@link String}, other
+ * <code>@JsonDto</code> types and {@link java.util.List}s of these. A wrapper
+ * field marked {@link JsonRequired} must be present and not <code>null</code>.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonDto {
+}
@@ -0,0 +1,24 @@
+package rest.dto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the JSON property a field of a {@link JsonDto} is read from, when it
+ * differs from the field name.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface JsonField {
+
+	/**
+	 * Returns the JSON property name.
+	 *
+	 * @return the property name
+	 */
+	String value();
+}
@@ -0,0 +1,23 @@
+package rest.dto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of a {@link JsonDto} that every decoded object must have. The
+ * generated decoder fails with a {@link com.fasterxml.jackson.core.JsonParseException}
+ * when the property is missing or <code>null</code>.
+ *
+ * <p>
+ * Only reference-typed fields can be required, since a primitive field cannot
+ * tell a missing value from <code>0</code>. Use it for ids, so a record without
+ * one cannot turn into id 0 and be passed on to an update or a delete.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface JsonRequired {
+}
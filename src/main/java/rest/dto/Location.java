@@ -0,0 +1,66 @@
+package rest.dto;
+
+/**
+ * A location from <code>/api/v2/admin/locations</code>. The dashboard only
+ * fills <code>id</code> and <code>name</code>.
+ */
+@JsonDto
+public class Location {
+
+	@JsonRequired
+	Integer id;
+	String name;
+	String countryCode;
+	String province;
+	String city;
+	String address;
+	String zipCode;
+	String phone;
+	String fax;
+	String note;
+	int noOfEmployees;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getCountryCode() {
+		return countryCode;
+	}
+
+	public String getProvince() {
+		return province;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public String getZipCode() {
+		return zipCode;
+	}
+
+	public String getPhone() {
+		return phone;
+	}
+
+	public String getFax() {
+		return fax;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public int getNoOfEmployees() {
+		return noOfEmployees;
+	}
+}
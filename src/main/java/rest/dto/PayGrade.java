@@ -0,0 +1,27 @@
+package rest.dto;
+
+import java.util.List;
+
+/**
+ * A pay grade from <code>/api/v2/admin/pay-grades</code>.
+ */
+@JsonDto
+public class PayGrade {
+
+	@JsonRequired
+	Integer id;
+	String name;
+	List<Currency> currencies;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public List<Currency> getCurrencies() {
+		return currencies;
+	}
+}
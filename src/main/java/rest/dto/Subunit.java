@@ -0,0 +1,20 @@
+package rest.dto;
+
+/**
+ * An organization unit.
+ */
+@JsonDto
+public class Subunit {
+
+	@JsonRequired
+	Integer id;
+	String name;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,26 @@
+package rest.dto;
+
+/**
+ * The role of an {@link AdminUser}, for example <code>Admin</code> or
+ * <code>ESS</code>.
+ */
+@JsonDto
+public class UserRole {
+
+	@JsonRequired
+	Integer id;
+	String name;
+	String displayName;
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDisplayName() {
+		return displayName;
+	}
+}
@@ -0,0 +1,286 @@
+package rest.dto.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a <code>&lt;Name&gt;Decoder</code> for every class annotated with
+ * <code>rest.dto.JsonDto</code>.
+ *
+ * <p>
+ * The generated decoder walks Jackson's token stream once, switches on the
+ * property name and assigns each field directly, so decoding needs neither
+ * reflection nor an intermediate map. Unknown properties are skipped at the
+ * token level. Fields marked <code>rest.dto.JsonRequired</code> are checked
+ * once the object is read. The decoder lives in the package of the DTO and
+ * exposes a single <code>INSTANCE</code>.
+ *
+ * <p>
+ * The processor is compiled on its own by the <code>default-compile</code>
+ * execution in <code>pom.xml</code> and then runs while the rest of
+ * <code>src/main/java</code> is compiled. It refers to the annotations by name
+ * only, so it does not depend on the classes it generates code for.
+ */
+public class DecoderProcessor extends AbstractProcessor {
+
+	static final String JSON_DTO = "rest.dto.JsonDto";
+	static final String JSON_FIELD = "rest.dto.JsonField";
+	static final String JSON_REQUIRED = "rest.dto.JsonRequired";
+	private static final String DECODING = "rest.dto.Decoding";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(JSON_DTO);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement jsonDto = processingEnv.getElementUtils().getTypeElement(JSON_DTO);
+		if (jsonDto == null) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(jsonDto)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@JsonDto is only supported on classes");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			try {
+				String source = generate(type);
+				if (source != null) {
+					try (Writer writer = processingEnv.getFiler()
+							.createSourceFile(type.getQualifiedName() + "Decoder", type).openWriter()) {
+						writer.write(source);
+					}
+				}
+			} catch (IOException e) {
+				error(type, "Unable to write decoder: " + e.getMessage());
+			}
+		}
+		return true;
+	}
+
+	private String generate(TypeElement type) {
+		if (type.getNestingKind() != NestingKind.TOP_LEVEL || type.getModifiers().contains(Modifier.ABSTRACT)) {
+			error(type, "@JsonDto classes must be top level and not abstract");
+			return null;
+		}
+		if (!hasNoArgConstructor(type)) {
+			error(type, "@JsonDto classes need a non-private no-argument constructor");
+			return null;
+		}
+		String packageName = packageOf(type);
+		String simpleName = type.getSimpleName().toString();
+		String decoderName = simpleName + "Decoder";
+
+		List<String> cases = new ArrayList<>();
+		List<String> checks = new ArrayList<>();
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			Set<Modifier> modifiers = field.getModifiers();
+			if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+				continue;
+			}
+			if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+				error(field, "@JsonDto fields must not be private or final");
+				return null;
+			}
+			String expression = valueExpression(field.asType());
+			if (expression == null) {
+				error(field, "Unsupported @JsonDto field type " + field.asType());
+				return null;
+			}
+			cases.add("\t\t\tcase \"" + propertyName(field) + "\":\n\t\t\t\tvalue." + field.getSimpleName() + " = "
+					+ expression + ";\n\t\t\t\tbreak;\n");
+			if (annotation(field, JSON_REQUIRED) != null) {
+				if (field.asType().getKind().isPrimitive()) {
+					error(field, "@JsonRequired fields must not be primitive");
+					return null;
+				}
+				checks.add("\t\tif (value." + field.getSimpleName() + " == null) {\n\t\t\tthrow " + DECODING
+						+ ".missing(parser, \"" + propertyName(field) + "\", \"" + simpleName + "\");\n\t\t}\n");
+			}
+		}
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("import java.io.IOException;\n\n");
+		source.append("import com.fasterxml.jackson.core.JsonParser;\n");
+		source.append("import com.fasterxml.jackson.core.JsonToken;\n\n");
+		source.append("/**\n * Decodes {@link ").append(simpleName).append("}. Generated by ")
+				.append(DecoderProcessor.class.getName()).append(", do not edit.\n */\n");
+		source.append("public final class ").append(decoderName).append(" implements rest.dto.JsonDecoder<")
+				.append(simpleName).append("> {\n\n");
+		source.append("\tpublic static final ").append(decoderName).append(" INSTANCE = new ").append(decoderName)
+				.append("();\n\n");
+		source.append("\tprivate ").append(decoderName).append("() {\n\t}\n\n");
+		source.append("\t@Override\n\tpublic ").append(simpleName)
+				.append(" decode(JsonParser parser) throws IOException {\n");
+		source.append("\t\tif (!").append(DECODING).append(".startObject(parser)) {\n\t\t\treturn null;\n\t\t}\n");
+		source.append("\t\t").append(simpleName).append(" value = new ").append(simpleName).append("();\n");
+		source.append("\t\twhile (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+		source.append("\t\t\tString field = parser.getCurrentName();\n");
+		source.append("\t\t\tparser.nextToken();\n");
+		source.append("\t\t\tswitch (field) {\n");
+		for (String c : cases) {
+			source.append(c);
+		}
+		source.append("\t\t\tdefault:\n\t\t\t\tparser.skipChildren();\n\t\t\t}\n");
+		source.append("\t\t}\n");
+		for (String check : checks) {
+			source.append(check);
+		}
+		source.append("\t\treturn value;\n\t}\n}\n");
+		return source.toString();
+	}
+
+	/**
+	 * Returns the Java expression that decodes a value of <code>type</code> from
+	 * a parser named <code>parser</code>, or <code>null</code> if the type is not
+	 * supported.
+	 */
+	private String valueExpression(TypeMirror type) {
+		switch (type.getKind()) {
+		case INT:
+			return DECODING + ".intValue(parser)";
+		case LONG:
+			return DECODING + ".longValue(parser)";
+		case DOUBLE:
+			return DECODING + ".doubleValue(parser)";
+		case BOOLEAN:
+			return DECODING + ".booleanValue(parser)";
+		case DECLARED:
+			break;
+		default:
+			return null;
+		}
+		DeclaredType declared = (DeclaredType) type;
+		TypeElement element = (TypeElement) declared.asElement();
+		String name = element.getQualifiedName().toString();
+		if ("java.util.List".equals(name)) {
+			if (declared.getTypeArguments().size() != 1) {
+				return null;
+			}
+			String elementDecoder = decoderReference(declared.getTypeArguments().get(0));
+			return elementDecoder == null ? null : DECODING + ".list(parser, " + elementDecoder + ")";
+		}
+		String scalar = scalarMethod(name);
+		if (scalar != null) {
+			return DECODING + "." + scalar + "(parser)";
+		}
+		return annotation(element, JSON_DTO) != null ? name + "Decoder.INSTANCE.decode(parser)" : null;
+	}
+
+	/**
+	 * Returns a reference to the <code>JsonDecoder</code> instance for a reference
+	 * type, or <code>null</code> if there is none.
+	 */
+	private String decoderReference(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+		switch (element.getQualifiedName().toString()) {
+		case "java.lang.Integer":
+			return DECODING + ".INTEGER";
+		case "java.lang.Long":
+			return DECODING + ".LONG";
+		case "java.lang.Double":
+			return DECODING + ".DOUBLE";
+		case "java.lang.Boolean":
+			return DECODING + ".BOOLEAN";
+		case "java.lang.String":
+			return DECODING + ".TEXT";
+		default:
+			return annotation(element, JSON_DTO) != null ? element.getQualifiedName() + "Decoder.INSTANCE" : null;
+		}
+	}
+
+	private static String scalarMethod(String boxedType) {
+		switch (boxedType) {
+		case "java.lang.Integer":
+			return "integerValue";
+		case "java.lang.Long":
+			return "longObjectValue";
+		case "java.lang.Double":
+			return "doubleObjectValue";
+		case "java.lang.Boolean":
+			return "booleanObjectValue";
+		case "java.lang.String":
+			return "textValue";
+		default:
+			return null;
+		}
+	}
+
+	private String propertyName(VariableElement field) {
+		AnnotationMirror jsonField = annotation(field, JSON_FIELD);
+		if (jsonField != null) {
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : jsonField.getElementValues()
+					.entrySet()) {
+				if ("value".contentEquals(entry.getKey().getSimpleName())) {
+					return entry.getValue().getValue().toString();
+				}
+			}
+		}
+		return field.getSimpleName().toString();
+	}
+
+	private static AnnotationMirror annotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+					.contentEquals(annotationName)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasNoArgConstructor(TypeElement type) {
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String packageOf(TypeElement type) {
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
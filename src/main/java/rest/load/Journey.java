@@ -0,0 +1,176 @@
+package rest.load;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rest.ApiUtil;
+import rest.BodyTemplate;
+import rest.CustomResponse;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * A scripted sequence of calls that a {@link VirtualUser} repeats, with pauses
+ * for think time in between.
+ *
+ * <p>
+ * Each step is usually one {@link ApiUtil} call and may read what earlier
+ * steps stored on the user:
+ *
+ * <pre>
+ * new Journey("status")
+ * 		.step("create", user -&gt; {
+ * 			CustomResponse created = api.PostEmpStatuses(endpoint, user.cookie(), BodyTemplate.NAME, name);
+ * 			user.put("id", created.statusIds().getInt(0));
+ * 			return created;
+ * 		})
+ * 		.think(Duration.ofSeconds(1), Duration.ofSeconds(3))
+ * 		.step("rename", user -&gt; api.PutEmploymentStatus(endpoint + "/" + user.get("id"), user.cookie(),
+ * 				BodyTemplate.NAME, newName));
+ * </pre>
+ *
+ * A step fails when it throws or returns a response with a status of 400 or
+ * more; the rest of that journey is then skipped, since later steps usually
+ * depend on it.
+ */
+public final class Journey {
+
+	/** A call made by a virtual user. */
+	public interface Step {
+		/**
+		 * Makes the call.
+		 *
+		 * @param user the user making it, with its session and stored values
+		 * @return the response, usually a {@link CustomResponse}, which is checked
+		 *         for its status code
+		 * @throws Exception if the call fails
+		 */
+		Object call(VirtualUser user) throws Exception;
+	}
+
+	/** A step, or a pause when {@link #step} is <code>null</code>. */
+	static final class Element {
+		final String name;
+		final Step step;
+		final long minThinkNanos;
+		final long maxThinkNanos;
+
+		Element(String name, Step step, long minThinkNanos, long maxThinkNanos) {
+			this.name = name;
+			this.step = step;
+			this.minThinkNanos = minThinkNanos;
+			this.maxThinkNanos = maxThinkNanos;
+		}
+	}
+
+	private final String name;
+	private final List<Element> elements = new ArrayList<>();
+
+	/**
+	 * Creates an empty journey.
+	 *
+	 * @param name the name in the report; steps are reported as
+	 *             <code>&lt;journey&gt;.&lt;step&gt;</code>
+	 */
+	public Journey(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Appends a call.
+	 *
+	 * @param stepName the name in the report
+	 * @param step     the call
+	 * @return this journey
+	 */
+	public Journey step(String stepName, Step step) {
+		elements.add(new Element(name + "." + stepName, step, 0, 0));
+		return this;
+	}
+
+	/**
+	 * Appends a fixed pause.
+	 *
+	 * @param duration how long the user thinks
+	 * @return this journey
+	 */
+	public Journey think(Duration duration) {
+		return think(duration, duration);
+	}
+
+	/**
+	 * Appends a pause of a uniformly random length, drawn from the user's own
+	 * random stream.
+	 *
+	 * @param min the shortest pause
+	 * @param max the longest pause
+	 * @return this journey
+	 */
+	public Journey think(Duration min, Duration max) {
+		if (min.isNegative() || max.compareTo(min) < 0) {
+			throw new IllegalArgumentException("Think time must satisfy 0 <= min <= max: " + min + ", " + max);
+		}
+		if (!max.isZero()) {
+			elements.add(new Element(null, null, min.toNanos(), max.toNanos()));
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the name of the journey.
+	 *
+	 * @return the name
+	 */
+	public String name() {
+		return name;
+	}
+
+	List<Element> elements() {
+		return Collections.unmodifiableList(elements);
+	}
+
+	/**
+	 * Creates the OrangeHRM journey of a user who opens the dashboard, checks
+	 * the action summary and the leave list, then creates an employment status
+	 * and renames it, passing the new ID from one step to the next. The
+	 * <code>load.think.time</code> pause, such as <code>1s-3s</code>, separates
+	 * the steps; the created statuses are removed by the
+	 * {@link rest.FixtureCleanup}.
+	 *
+	 * @return the journey
+	 */
+	public static Journey orangeHrm() {
+		Config config = ConfigManager.config();
+		String[] think = config.get("load.think.time", "1s-3s").split("-");
+		Duration minThink = LoadProfile.parseDuration(think[0]);
+		Duration maxThink = think.length > 1 ? LoadProfile.parseDuration(think[1]) : minThink;
+		String statuses = "/web/index.php/api/v2/admin/employment-statuses";
+		ApiUtil api = new ApiUtil();
+
+		return new Journey("orangehrm")
+				.step("shortcuts", user -> api.GetDashboardShortcut("/web/index.php/api/v2/dashboard/shortcuts",
+						user.cookie(), null))
+				.think(minThink, maxThink)
+				.step("actionSummary", user -> api.GetEmpActionSummary(
+						"/web/index.php/api/v2/dashboard/employees/action-summary", user.cookie(), null))
+				.think(minThink, maxThink)
+				.step("leaveInfo",
+						user -> api.GetEmpLeaveInfo("/web/index.php/api/v2/dashboard/employees/leaves?date="
+								+ LocalDate.now(), user.cookie(), null))
+				.think(minThink, maxThink)
+				.step("createStatus", user -> {
+					CustomResponse created = api.PostEmpStatuses(statuses, user.cookie(), BodyTemplate.NAME,
+							ApiUtil.generateUniqueName("EmpStatus_"));
+					if (created.getStatusCode() == 200) {
+						user.put("statusId", created.statusIds().getInt(0));
+					}
+					return created;
+				})
+				.think(minThink, maxThink)
+				.step("renameStatus", user -> api.PutEmploymentStatus(statuses + "/" + user.get("statusId"),
+						user.cookie(), BodyTemplate.NAME, ApiUtil.generateUniqueName("EmpStatus_")));
+	}
+}
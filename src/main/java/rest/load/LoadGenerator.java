@@ -0,0 +1,245 @@
+package rest.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.restassured.response.Response;
+import rest.ApiUtil;
+import rest.BodyTemplate;
+import rest.FanOut;
+import rest.FixtureCleanup;
+import rest.LoginUtil;
+import rest.PayloadRandom;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Open-model load generator that issues {@link ApiUtil} operations at a given
+ * arrival rate.
+ *
+ * <p>
+ * A single scheduler thread computes when each request is due from the
+ * {@link LoadProfile}, waits until then and hands the request to a
+ * {@link FanOut} executor. Arrivals therefore do not slow down when the server
+ * does, and response times in the {@link LoadReport} are measured from the due
+ * time, so queueing behind a saturated server shows up in the numbers instead
+ * of silently lowering the request rate ("coordinated omission"). With
+ * <code>api.virtual.threads=true</code> on Java 21 every request gets its own
+ * virtual thread; otherwise <code>api.fanout.platform.threads</code> bounds the
+ * requests in flight and the rest queue, still counted from their due time.
+ *
+ * <p>
+ * Each request runs one operation, chosen at random by weight. The generator
+ * created by {@link #orangeHrm(String)} uses the reads and writes of the
+ * functional suite, weighted by <code>load.mix</code>, for example
+ * <code>GetDashboardShortcut:5,getJobTitles:3,PostEmpStatuses:1</code>. Writes
+ * only run when <code>load.mix</code> names them; the entities they create are
+ * tracked by the {@link FixtureCleanup} and deleted after the run.
+ * Choices come from a {@link PayloadRandom} stream, so a run with a fixed
+ * <code>payload.random.seed</code> issues the same sequence.
+ *
+ * <p>
+ * Runs from a TestNG test through {@link #run(LoadProfile)}, or standalone:
+ *
+ * <pre>
+ * java -cp ... rest.load.LoadGenerator ramp:1-20:30s,hold:20:2m
+ * </pre>
+ *
+ * The profile argument is optional; see {@link LoadProfile#fromConfig(Config)}.
+ */
+public final class LoadGenerator {
+
+	/** A call to make. */
+	public interface Operation {
+		/**
+		 * Makes the call.
+		 *
+		 * @return the response, usually a {@link rest.CustomResponse}, which is
+		 *         checked for its status code; the body of a RestAssured
+		 *         {@link Response} is read, so its connection returns to the pool
+		 * @throws Exception if the call fails
+		 */
+		Object call() throws Exception;
+	}
+
+	/** PayloadRandom stream of the operation choices. */
+	private static final long MIX_STREAM = 0x4c6f6164L;
+	/** Operations of {@link #orangeHrm(String)} that create entities. */
+	private static final Set<String> WRITES = Collections.singleton("PostEmpStatuses");
+
+	private final List<String> names = new ArrayList<>();
+	private final List<Operation> operations = new ArrayList<>();
+	private final List<Integer> cumulativeWeights = new ArrayList<>();
+	private int totalWeight;
+
+	/**
+	 * Adds an operation to the mix.
+	 *
+	 * @param name      the name in the report
+	 * @param weight    the relative frequency; 0 leaves the operation out
+	 * @param operation the call
+	 * @return this generator
+	 */
+	public LoadGenerator add(String name, int weight, Operation operation) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Weight of " + name + " must not be negative: " + weight);
+		}
+		if (weight > 0) {
+			totalWeight += weight;
+			names.add(name);
+			operations.add(operation);
+			cumulativeWeights.add(totalWeight);
+		}
+		return this;
+	}
+
+	/**
+	 * Creates a generator whose operations are the {@link ApiUtil} calls of the
+	 * functional suite, weighted by <code>load.mix</code>; an empty mix runs
+	 * every read with equal weight and no writes. Entities created by write
+	 * operations go through {@link rest.HttpClientPool#requestSpec()}, whose
+	 * {@link FixtureCleanup} filter tracks them for deletion, so a write
+	 * answered with anything but <code>200</code>, or not answered at all, may
+	 * leave an entity behind for <code>fixture.cleanup.sweep.prefixes</code>
+	 * (<code>EmpStatus_</code>).
+	 *
+	 * @param cookieValue the OrangeHRM session cookie
+	 * @return the generator
+	 * @throws IllegalArgumentException if <code>load.mix</code> names an unknown
+	 *                                  operation
+	 */
+	public static LoadGenerator orangeHrm(String cookieValue) {
+		ApiUtil api = new ApiUtil();
+		Map<String, Operation> catalogue = new LinkedHashMap<>();
+		catalogue.put("GetEmpActionSummary", () -> api
+				.GetEmpActionSummary("/web/index.php/api/v2/dashboard/employees/action-summary", cookieValue, null));
+		catalogue.put("GetDashboardShortcut",
+				() -> api.GetDashboardShortcut("/web/index.php/api/v2/dashboard/shortcuts", cookieValue, null));
+		catalogue.put("GetEmpSubunit",
+				() -> api.GetEmpSubunit("/web/index.php/api/v2/dashboard/employees/subunit", cookieValue, null));
+		catalogue.put("getEmployeeLocations",
+				() -> api.getEmployeeLocations("/web/index.php/api/v2/dashboard/employees/locations", cookieValue));
+		catalogue.put("getAdminUsers", () -> api.getAdminUsers(
+				"/web/index.php/api/v2/admin/users?limit=50&offset=0&sortField=u.userName&sortOrder=ASC", cookieValue));
+		catalogue.put("getJobTitles", () -> api.getJobTitles(
+				"/web/index.php/api/v2/admin/job-titles?limit=50&offset=0&sortField=jt.jobTitleName&sortOrder=ASC",
+				cookieValue));
+		catalogue.put("GetPaygrades",
+				() -> api.GetPaygrades("/web/index.php/api/v2/admin/pay-grades?limit=50&offset=0", cookieValue));
+		catalogue.put("PostEmpStatuses", () -> api.PostEmpStatuses("/web/index.php/api/v2/admin/employment-statuses",
+				cookieValue, BodyTemplate.NAME, ApiUtil.generateUniqueName("EmpStatus_")));
+
+		LoadGenerator generator = new LoadGenerator();
+		String mix = ConfigManager.config().get("load.mix", "");
+		if (mix.trim().isEmpty()) {
+			catalogue.forEach((name, operation) -> generator.add(name, WRITES.contains(name) ? 0 : 1, operation));
+			return generator;
+		}
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			Operation operation = catalogue.get(parts[0].trim());
+			if (operation == null || parts.length != 2) {
+				throw new IllegalArgumentException("load.mix entries must be <operation>:<weight> with an operation of "
+						+ catalogue.keySet() + " but one is '" + entry + "'");
+			}
+			generator.add(parts[0].trim(), Integer.parseInt(parts[1].trim()), operation);
+		}
+		return generator;
+	}
+
+	/**
+	 * Issues requests following the profile and waits for the last of them.
+	 *
+	 * @param profile the arrival rate over time
+	 * @return the results
+	 * @throws IllegalStateException if no operation has a weight
+	 */
+	public LoadReport run(LoadProfile profile) {
+		if (operations.isEmpty()) {
+			throw new IllegalStateException("No operations to run");
+		}
+		PayloadRandom random = PayloadRandom.forStream(MIX_STREAM);
+		ExecutorService executor = FanOut.newExecutor();
+		LoadReport report = new LoadReport();
+		long start = System.nanoTime();
+		try {
+			for (long n = 0;; n++) {
+				long offset = profile.arrivalNanos(n);
+				if (offset < 0) {
+					break;
+				}
+				long due = start + offset;
+				for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+					LockSupport.parkNanos(wait);
+				}
+				int choice = choose(random.nextInt(totalWeight));
+				String name = names.get(choice);
+				Operation operation = operations.get(choice);
+				report.recordSchedulingLag(System.nanoTime() - due);
+				executor.execute(() -> {
+					long started = System.nanoTime();
+					try {
+						Object result = operation.call();
+						if (result instanceof Response) {
+							((Response) result).asByteArray();
+						}
+						report.record(name, due, started, result, null);
+					} catch (Exception | Error e) {
+						report.record(name, due, started, null, e);
+					}
+				});
+			}
+			executor.shutdown();
+			long drainMs = ConfigManager.config().getLong("load.drain.timeout.ms", 60000);
+			if (!executor.awaitTermination(drainMs, TimeUnit.MILLISECONDS)) {
+				System.err.println("Load run: requests still in flight after " + drainMs + " ms were abandoned");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+			report.finish();
+		}
+		return report;
+	}
+
+	/**
+	 * Logs in, runs the OrangeHRM mix and prints the report. Exits with status 1
+	 * when more than <code>load.max.error.percent</code> (default 1) of the
+	 * calls failed.
+	 *
+	 * @param args an optional profile, such as
+	 *             <code>ramp:1-20:30s,hold:20:2m</code>
+	 */
+	public static void main(String[] args) {
+		Config config = ConfigManager.config();
+		LoadProfile profile = args.length > 0 ? LoadProfile.parse(args[0]) : LoadProfile.fromConfig(config);
+		System.out.println("Load profile " + profile + ": " + profile.arrivals() + " requests over "
+				+ profile.duration().getSeconds() + " s");
+		LoadReport report = orangeHrm(LoginUtil.login()).run(profile);
+		System.out.println(report.summary());
+		FixtureCleanup.cleanUpTracked();
+		System.exit(report.errorPercent() > config.getDouble("load.max.error.percent", 1) ? 1 : 0);
+	}
+
+	private int choose(int ticket) {
+		int low = 0;
+		int high = cumulativeWeights.size() - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (cumulativeWeights.get(middle) > ticket) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,198 @@
+package rest.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import restConfig.Config;
+
+/**
+ * The arrival rate of an open-model load test over time: a sequence of ramp
+ * and hold phases.
+ *
+ * <p>
+ * During a ramp the rate changes linearly from one value to another, during a
+ * hold it stays constant. The arrival times follow from the rate alone, never
+ * from how fast the server answers: the <i>n</i>-th request is due when the
+ * integral of the rate reaches <i>n</i>.
+ *
+ * <p>
+ * A profile is built in code:
+ *
+ * <pre>
+ * new LoadProfile().ramp(1, 50, Duration.ofSeconds(30)).hold(50, Duration.ofMinutes(2))
+ * </pre>
+ *
+ * or parsed from text, with durations in <code>ms</code>, <code>s</code> or
+ * <code>m</code>:
+ *
+ * <pre>
+ * ramp:1-50:30s,hold:50:2m
+ * </pre>
+ */
+public final class LoadProfile {
+
+	/** Per phase: start rate, end rate, seconds, arrivals before it, start in nanoseconds. */
+	private final List<double[]> phases = new ArrayList<>();
+	private long durationNanos;
+	private double arrivals;
+
+	/**
+	 * Changes the rate linearly.
+	 *
+	 * @param fromPerSecond the rate at the start of the phase
+	 * @param toPerSecond   the rate at its end
+	 * @param duration      the length of the phase
+	 * @return this profile
+	 */
+	public LoadProfile ramp(double fromPerSecond, double toPerSecond, Duration duration) {
+		if (fromPerSecond < 0 || toPerSecond < 0 || duration.isNegative()) {
+			throw new IllegalArgumentException("Rates and duration must not be negative: " + fromPerSecond + "-"
+					+ toPerSecond + " for " + duration);
+		}
+		double seconds = duration.toNanos() / 1e9;
+		phases.add(new double[] { fromPerSecond, toPerSecond, seconds, arrivals, durationNanos });
+		durationNanos += duration.toNanos();
+		arrivals += (fromPerSecond + toPerSecond) / 2 * seconds;
+		return this;
+	}
+
+	/**
+	 * Keeps the rate constant.
+	 *
+	 * @param perSecond the rate
+	 * @param duration  the length of the phase
+	 * @return this profile
+	 */
+	public LoadProfile hold(double perSecond, Duration duration) {
+		return ramp(perSecond, perSecond, duration);
+	}
+
+	/**
+	 * Parses a comma separated list of <code>ramp:&lt;from&gt;-&lt;to&gt;:&lt;duration&gt;</code>
+	 * and <code>hold:&lt;rate&gt;:&lt;duration&gt;</code> phases.
+	 *
+	 * @param spec for example <code>ramp:1-50:30s,hold:50:2m</code>
+	 * @return the profile
+	 * @throws IllegalArgumentException if the text is not a valid profile
+	 */
+	public static LoadProfile parse(String spec) {
+		LoadProfile profile = new LoadProfile();
+		for (String phase : spec.split(",")) {
+			String[] parts = phase.trim().split(":");
+			try {
+				if (parts.length == 3 && "ramp".equalsIgnoreCase(parts[0])) {
+					String[] rates = parts[1].split("-");
+					profile.ramp(Double.parseDouble(rates[0].trim()), Double.parseDouble(rates[1].trim()),
+							parseDuration(parts[2]));
+				} else if (parts.length == 3 && "hold".equalsIgnoreCase(parts[0])) {
+					profile.hold(Double.parseDouble(parts[1].trim()), parseDuration(parts[2]));
+				} else {
+					throw new IllegalArgumentException("Unknown phase '" + phase + "'");
+				}
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("Load profile must look like ramp:1-50:30s,hold:50:2m but is '"
+						+ spec + "'", e);
+			}
+		}
+		return profile;
+	}
+
+	/**
+	 * Reads the profile from <code>load.profile</code>, or else holds
+	 * <code>load.rate</code> requests per second (default 1) for
+	 * <code>load.duration</code> (default 60s).
+	 *
+	 * @param config the configuration
+	 * @return the profile
+	 */
+	public static LoadProfile fromConfig(Config config) {
+		String spec = config.get("load.profile", "");
+		if (!spec.trim().isEmpty()) {
+			return parse(spec);
+		}
+		return new LoadProfile().hold(config.getDouble("load.rate", 1),
+				parseDuration(config.get("load.duration", "60s")));
+	}
+
+	/**
+	 * Returns the total length of all phases.
+	 *
+	 * @return the duration
+	 */
+	public Duration duration() {
+		return Duration.ofNanos(durationNanos);
+	}
+
+	/**
+	 * Returns the number of requests the profile issues.
+	 *
+	 * @return the expected number of arrivals, rounded up
+	 */
+	public long arrivals() {
+		return (long) Math.ceil(arrivals - 1e-9);
+	}
+
+	/**
+	 * Returns when a request is due.
+	 *
+	 * @param n the index of the request, from 0
+	 * @return nanoseconds from the start of the test, or -1 if the profile ends
+	 *         before it
+	 */
+	long arrivalNanos(long n) {
+		for (double[] phase : phases) {
+			double from = phase[0];
+			double to = phase[1];
+			double seconds = phase[2];
+			double inPhase = n - phase[3];
+			double phaseArrivals = (from + to) / 2 * seconds;
+			if (inPhase < 0 || inPhase >= phaseArrivals) {
+				continue;
+			}
+			// solve from * t + (to - from) * t^2 / (2 * seconds) = inPhase for t
+			double t;
+			double a = (to - from) / (2 * seconds);
+			if (Math.abs(a) < 1e-12) {
+				t = inPhase / from;
+			} else {
+				t = (-from + Math.sqrt(Math.max(0, from * from + 4 * a * inPhase))) / (2 * a);
+			}
+			return (long) phase[4] + Math.min((long) (t * 1e9), (long) (seconds * 1e9));
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		for (double[] phase : phases) {
+			if (text.length() > 0) {
+				text.append(',');
+			}
+			String seconds = LatencyHistogram.format(phase[2]) + "s";
+			if (phase[0] == phase[1]) {
+				text.append("hold:").append(LatencyHistogram.format(phase[0])).append(':').append(seconds);
+			} else {
+				text.append("ramp:").append(LatencyHistogram.format(phase[0])).append('-')
+						.append(LatencyHistogram.format(phase[1])).append(':').append(seconds);
+			}
+		}
+		return text.toString();
+	}
+
+	static Duration parseDuration(String text) {
+		String value = text.trim().toLowerCase();
+		if (value.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2).trim()));
+		}
+		if (value.endsWith("s")) {
+			return Duration.ofNanos((long) (Double.parseDouble(value.substring(0, value.length() - 1).trim()) * 1e9));
+		}
+		if (value.endsWith("m")) {
+			return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1).trim()) * 60);
+		}
+		return Duration.ofNanos(TimeUnit.SECONDS.toNanos(Long.parseLong(value)));
+	}
+}
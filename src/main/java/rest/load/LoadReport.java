@@ -0,0 +1,232 @@
+package rest.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.response.Response;
+import rest.CustomResponse;
+
+/**
+ * Results of a load run, per operation and in total.
+ *
+ * <p>
+ * Every call is recorded with two durations. The <b>response time</b> counts
+ * from the moment the call was due, so time spent waiting for a free thread or
+ * behind a slow server is included, as a real user would experience it. The
+ * <b>service time</b> counts from the moment the call was actually made. In an
+ * open-model run the two drift apart once the system under test saturates;
+ * reporting only the service time would hide that ("coordinated omission").
+ *
+ * <p>
+ * A call fails when it throws or returns a status of 400 or more. Outcomes are
+ * counted per status code or exception type.
+ */
+public final class LoadReport {
+
+	/** Statistics of one operation. */
+	public static final class Stats {
+		private final LatencyHistogram responseTime = new LatencyHistogram();
+		private final LatencyHistogram serviceTime = new LatencyHistogram();
+		private final LongAdder errors = new LongAdder();
+		private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+		/**
+		 * Returns the response times, measured from when the call was due.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram responseTime() {
+			return responseTime;
+		}
+
+		/**
+		 * Returns the service times, measured from when the call was made.
+		 *
+		 * @return the histogram
+		 */
+		public LatencyHistogram serviceTime() {
+			return serviceTime;
+		}
+
+		/**
+		 * Returns the number of failed calls.
+		 *
+		 * @return the count
+		 */
+		public long errors() {
+			return errors.sum();
+		}
+
+		/**
+		 * Returns the number of calls per outcome.
+		 *
+		 * @return for example <code>{200=1180, 503=12, SocketTimeoutException=3}</code>
+		 */
+		public Map<String, Long> outcomes() {
+			Map<String, Long> counts = new TreeMap<>();
+			outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+			return counts;
+		}
+	}
+
+	private final Map<String, Stats> operations = new ConcurrentHashMap<>();
+	private final Stats total = new Stats();
+	private final LatencyHistogram schedulingLag = new LatencyHistogram();
+	private final long startNanos = System.nanoTime();
+	private volatile long endNanos;
+
+	/**
+	 * Records a call and classifies its outcome.
+	 *
+	 * @param operation    the operation name
+	 * @param dueNanos     when the call was due, in {@link System#nanoTime()}
+	 *                     terms
+	 * @param startedNanos when it was made
+	 * @param result       what the call returned, or <code>null</code>
+	 * @param failure      what it threw, or <code>null</code>
+	 * @return whether the call failed
+	 */
+	public boolean record(String operation, long dueNanos, long startedNanos, Object result, Throwable failure) {
+		long now = System.nanoTime();
+		String outcome;
+		boolean error;
+		if (failure != null) {
+			outcome = failure.getClass().getSimpleName();
+			error = true;
+		} else {
+			int status = statusOf(result);
+			outcome = status > 0 ? String.valueOf(status) : "ok";
+			error = status >= 400;
+		}
+		record(operations.computeIfAbsent(operation, name -> new Stats()), now - dueNanos, now - startedNanos,
+				outcome, error);
+		record(total, now - dueNanos, now - startedNanos, outcome, error);
+		return error;
+	}
+
+	/**
+	 * Records a composite result, such as a whole journey, under its own name
+	 * without adding it to the totals of the calls it consists of.
+	 *
+	 * @param operation the name in the report
+	 * @param nanos     the duration
+	 * @param outcome   the outcome to count
+	 * @param error     whether it failed
+	 */
+	void recordOutcome(String operation, long nanos, String outcome, boolean error) {
+		record(operations.computeIfAbsent(operation, name -> new Stats()), nanos, nanos, outcome, error);
+	}
+
+	/**
+	 * Records how late a call was handed to a thread after it was due, which
+	 * shows whether the generator itself kept up.
+	 *
+	 * @param lagNanos the delay
+	 */
+	void recordSchedulingLag(long lagNanos) {
+		schedulingLag.recordNanos(lagNanos);
+	}
+
+	/**
+	 * Marks the end of the run, for the throughput.
+	 */
+	void finish() {
+		endNanos = System.nanoTime();
+	}
+
+	/**
+	 * Returns the statistics of one operation.
+	 *
+	 * @param operation the operation name
+	 * @return the statistics, empty if it never ran
+	 */
+	public Stats operation(String operation) {
+		Stats stats = operations.get(operation);
+		return stats != null ? stats : new Stats();
+	}
+
+	/**
+	 * Returns the statistics of all operations together.
+	 *
+	 * @return the totals
+	 */
+	public Stats total() {
+		return total;
+	}
+
+	/**
+	 * Returns the share of failed calls.
+	 *
+	 * @return a percentage, 0 when nothing ran
+	 */
+	public double errorPercent() {
+		long count = total.responseTime.count();
+		return count == 0 ? 0 : 100.0 * total.errors() / count;
+	}
+
+	/**
+	 * Returns the completed calls per second over the run.
+	 *
+	 * @return the throughput
+	 */
+	public double throughputPerSecond() {
+		long end = endNanos != 0 ? endNanos : System.nanoTime();
+		double seconds = Math.max(1, end - startNanos) / 1e9;
+		return total.responseTime.count() / seconds;
+	}
+
+	/**
+	 * Formats the results as a table, one line per operation.
+	 *
+	 * @return the report text
+	 */
+	public String summary() {
+		long end = endNanos != 0 ? endNanos : System.nanoTime();
+		StringBuilder text = new StringBuilder();
+		text.append("Load run: ").append(total.responseTime.count()).append(" calls in ")
+				.append(TimeUnit.NANOSECONDS.toSeconds(end - startNanos)).append(" s, ")
+				.append(LatencyHistogram.format(throughputPerSecond())).append("/s, ")
+				.append(LatencyHistogram.format(errorPercent())).append("% errors\n");
+		for (Map.Entry<String, Stats> entry : new TreeMap<>(operations).entrySet()) {
+			append(text, entry.getKey(), entry.getValue());
+		}
+		append(text, "TOTAL", total);
+		if (schedulingLag.count() > 0) {
+			text.append("  scheduling lag: ").append(schedulingLag).append('\n');
+		}
+		return text.toString();
+	}
+
+	@Override
+	public String toString() {
+		return summary();
+	}
+
+	private static void append(StringBuilder text, String name, Stats stats) {
+		text.append("  ").append(name).append(": response ").append(stats.responseTime).append(" | service p99=")
+				.append(LatencyHistogram.format(stats.serviceTime.percentileMillis(99))).append(" ms | ")
+				.append(stats.outcomes()).append('\n');
+	}
+
+	private static void record(Stats stats, long responseNanos, long serviceNanos, String outcome, boolean error) {
+		stats.responseTime.recordNanos(responseNanos);
+		stats.serviceTime.recordNanos(serviceNanos);
+		stats.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+		if (error) {
+			stats.errors.increment();
+		}
+	}
+
+	private static int statusOf(Object result) {
+		if (result instanceof CustomResponse) {
+			return ((CustomResponse) result).getStatusCode();
+		}
+		if (result instanceof Response) {
+			return ((Response) result).getStatusCode();
+		}
+		return 0;
+	}
+}
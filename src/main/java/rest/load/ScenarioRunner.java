@@ -0,0 +1,318 @@
+package rest.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.response.Response;
+import rest.FanOut;
+import rest.FixtureCleanup;
+import rest.SessionPool;
+import restConfig.Config;
+import restConfig.ConfigManager;
+
+/**
+ * Closed-model load: a fixed number of virtual users, each repeating a
+ * {@link Journey} with think time for the length of the run.
+ *
+ * <p>
+ * Unlike the {@link LoadGenerator}, a user starts its next call only when the
+ * previous one has answered and the think time has passed, so the request rate
+ * follows the server: this models a known population of people working in
+ * OrangeHRM, not a known arrival rate. Users start evenly spread over the
+ * ramp-up and stop starting journeys once the run is over.
+ * After a failed step a user skips the rest of the journey and pauses for
+ * the journey's first think time, or <code>load.failure.pause.ms</code>
+ * (default 1000) when it has none, before starting over, so an unavailable
+ * server is not hammered in a tight loop.
+ *
+ * <p>
+ * Each user leases a session of the {@link SessionPool} for a journey and keeps
+ * it through the think time in between, like a person who stays logged in, so
+ * the pool needs a session per user: a smaller pool is rejected up front
+ * rather than silently capping the number of active users. {@link #main}
+ * logs in <code>load.users</code> sessions.
+ *
+ * <p>
+ * No user owns a thread. Its steps run as tasks of a {@link FanOut} executor
+ * and a single timer thread resumes it after the ramp-up delay and each think
+ * time, so a thinking user holds nothing but its session. With
+ * <code>api.virtual.threads=true</code> on Java 21 every step gets a virtual
+ * thread; otherwise <code>api.fanout.platform.threads</code> bounds the steps
+ * in flight, and thousands of users run on either.
+ *
+ * <p>
+ * The {@link LoadReport} holds the latency of every step as
+ * <code>&lt;journey&gt;.&lt;step&gt;</code> and of whole journeys, think time
+ * excluded, under the journey name with <code>completed</code> or the step it
+ * failed at as the outcome.
+ */
+public final class ScenarioRunner {
+
+	private final Journey journey;
+	private final SessionPool sessions;
+
+	/**
+	 * Creates a runner.
+	 *
+	 * @param journey  what every user does
+	 * @param sessions the logged-in sessions the users lease, at least one per
+	 *                 user
+	 */
+	public ScenarioRunner(Journey journey, SessionPool sessions) {
+		this.journey = journey;
+		this.sessions = sessions;
+	}
+
+	/**
+	 * Runs <code>load.users</code> users (default 10), started over
+	 * <code>load.ramp.up</code> (default 10s), for <code>load.duration</code>
+	 * (default 60s).
+	 *
+	 * @param config the configuration
+	 * @return the results
+	 * @throws IllegalArgumentException if the pool has fewer sessions than
+	 *                                  <code>load.users</code>
+	 */
+	public LoadReport run(Config config) {
+		return run(users(config), LoadProfile.parseDuration(config.get("load.ramp.up", "10s")),
+				LoadProfile.parseDuration(config.get("load.duration", "60s")));
+	}
+
+	/**
+	 * Runs the users and waits until each has finished its last journey.
+	 *
+	 * @param users    the number of virtual users
+	 * @param rampUp   the time over which they start
+	 * @param duration the length of the run, ramp-up included
+	 * @return the results
+	 * @throws IllegalArgumentException if the pool has fewer sessions than users
+	 */
+	public LoadReport run(int users, Duration rampUp, Duration duration) {
+		if (users <= 0) {
+			throw new IllegalArgumentException("At least one virtual user is needed: " + users);
+		}
+		if (sessions.size() < users) {
+			throw new IllegalArgumentException("Each of the " + users + " virtual users keeps a session through its"
+					+ " think time, but the pool has " + sessions.size() + "; log in as many sessions as load.users");
+		}
+		ExecutorService workers = FanOut.newExecutor();
+		ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "virtual-user-timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		CountDownLatch finished = new CountDownLatch(users);
+		LoadReport report = new LoadReport();
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		try {
+			for (int id = 0; id < users; id++) {
+				UserRun run = new UserRun(new VirtualUser(id), end, report, workers, timer, finished);
+				run.resumeAt(start + rampUp.toNanos() / users * id);
+			}
+			long drainMs = ConfigManager.config().getLong("load.drain.timeout.ms", 60000);
+			if (!finished.await(duration.toMillis() + drainMs, TimeUnit.MILLISECONDS)) {
+				System.err.println("Scenario run: users still busy " + drainMs + " ms after the end were stopped");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			timer.shutdownNow();
+			workers.shutdownNow();
+			report.finish();
+		}
+		return report;
+	}
+
+	/**
+	 * Logs in a session for each of the <code>load.users</code> users, runs the
+	 * OrangeHRM journey as configured and prints the report. Exits with status 1
+	 * when more than <code>load.max.error.percent</code> (default 1) of the
+	 * calls failed.
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		Config config = ConfigManager.config();
+		LoadReport report;
+		try (SessionPool sessions = SessionPool.fromConfig(users(config))) {
+			report = new ScenarioRunner(Journey.orangeHrm(), sessions).run(config);
+		}
+		System.out.println(report.summary());
+		FixtureCleanup.cleanUpTracked();
+		System.exit(report.errorPercent() > config.getDouble("load.max.error.percent", 1) ? 1 : 0);
+	}
+
+	/**
+	 * Returns the number of virtual users of a configured run, which is also
+	 * the number of sessions it needs.
+	 *
+	 * @param config the configuration
+	 * @return <code>load.users</code>, default 10
+	 */
+	public static int users(Config config) {
+		return config.getInt("load.users", 10);
+	}
+
+	/**
+	 * One user working through its journeys. Runs a step at a time on the
+	 * workers and hands itself to the timer for every pause, so the user is
+	 * never on two threads at once.
+	 */
+	private final class UserRun implements Runnable {
+		private final VirtualUser user;
+		private final long end;
+		private final LoadReport report;
+		private final ExecutorService workers;
+		private final ScheduledExecutorService timer;
+		private final CountDownLatch finished;
+		private final List<Journey.Element> elements = journey.elements();
+		/** The first pause of the journey, taken after a failed step; <code>null</code> if it has none. */
+		private final Journey.Element firstThink;
+		/** The pause after a failed step of a journey without think time. */
+		private final long failurePauseNanos;
+
+		private SessionPool.Session session;
+		private int next;
+		private long journeyStart;
+		private long thinkNanos;
+		/** When the current pause started; 0 when not pausing. */
+		private long pauseStart;
+
+		UserRun(VirtualUser user, long end, LoadReport report, ExecutorService workers,
+				ScheduledExecutorService timer, CountDownLatch finished) {
+			this.user = user;
+			this.end = end;
+			this.report = report;
+			this.workers = workers;
+			this.timer = timer;
+			this.finished = finished;
+			Journey.Element pause = null;
+			for (Journey.Element element : elements) {
+				if (element.step == null) {
+					pause = element;
+					break;
+				}
+			}
+			this.firstThink = pause;
+			this.failurePauseNanos = TimeUnit.MILLISECONDS
+					.toNanos(ConfigManager.config().getLong("load.failure.pause.ms", 1000));
+		}
+
+		/**
+		 * Runs steps until the next pause, then schedules the rest; starts a new
+		 * journey after the last step.
+		 */
+		@Override
+		public void run() {
+			try {
+				if (pauseStart != 0) {
+					thinkNanos += System.nanoTime() - pauseStart;
+					pauseStart = 0;
+				}
+				while (true) {
+					if (session == null && !beginJourney()) {
+						finished.countDown();
+						return;
+					}
+					if (next == elements.size()) {
+						report.recordOutcome(journey.name(), System.nanoTime() - journeyStart - thinkNanos,
+								"completed", false);
+						endJourney();
+						continue;
+					}
+					Journey.Element element = elements.get(next++);
+					if (element.step == null) {
+						pause(drawThink(element));
+						return;
+					}
+					if (call(element)) {
+						report.recordOutcome(journey.name(), System.nanoTime() - journeyStart - thinkNanos,
+								"failed at " + element.name.substring(journey.name().length() + 1), true);
+						endJourney();
+						// think once after a failure, so failures do not turn into a tight loop of requests
+						pause(firstThink != null ? drawThink(firstThink) : failurePauseNanos);
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RejectedExecutionException e) {
+				// the run is over and its executors are shut down
+			}
+		}
+
+		void resumeAt(long deadline) {
+			timer.schedule(() -> {
+				try {
+					workers.execute(this);
+				} catch (RejectedExecutionException e) {
+					// the run is over and its executors are shut down
+				}
+			}, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Leases a session for the next journey.
+		 *
+		 * @return <code>false</code> once the run is over; users waiting for a
+		 *         session when it ends stop instead of starting late
+		 */
+		private boolean beginJourney() throws InterruptedException {
+			long left = end - System.nanoTime();
+			session = left > 0 ? sessions.acquire(left, TimeUnit.NANOSECONDS) : null;
+			if (session == null) {
+				return false;
+			}
+			user.begin(session);
+			next = 0;
+			journeyStart = System.nanoTime();
+			thinkNanos = 0;
+			return true;
+		}
+
+		private void endJourney() {
+			user.end();
+			sessions.release(session);
+			session = null;
+		}
+
+		/**
+		 * Makes a call and records it.
+		 *
+		 * @return <code>true</code> if it failed
+		 */
+		private boolean call(Journey.Element element) {
+			long started = System.nanoTime();
+			try {
+				Object result = element.step.call(user);
+				if (result instanceof Response) {
+					((Response) result).asByteArray();
+				}
+				return report.record(element.name, started, started, result, null);
+			} catch (Exception | Error e) {
+				return report.record(element.name, started, started, null, e);
+			}
+		}
+
+		private long drawThink(Journey.Element element) {
+			long nanos = element.minThinkNanos;
+			if (element.maxThinkNanos > element.minThinkNanos) {
+				nanos += (long) (user.random().nextInt(1 << 20) / (double) (1 << 20)
+						* (element.maxThinkNanos - element.minThinkNanos));
+			}
+			return nanos;
+		}
+
+		private void pause(long nanos) {
+			pauseStart = System.nanoTime();
+			resumeAt(pauseStart + nanos);
+		}
+	}
+}
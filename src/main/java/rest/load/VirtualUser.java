@@ -0,0 +1,115 @@
+package rest.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import rest.PayloadRandom;
+import rest.SessionPool;
+
+/**
+ * The state of one simulated user of a {@link ScenarioRunner}, handed to every
+ * {@link Journey.Step}.
+ *
+ * <p>
+ * Steps pass data to later steps through {@link #put(String, Object)} and
+ * {@link #get(String)}, for example the ID of an entity one step created and
+ * the next one updates. The values are cleared before each iteration of the
+ * journey. A user makes one call at a time; its steps may run on different
+ * threads, but the hand-offs between them are ordered by the executors, so
+ * none of this is synchronized.
+ *
+ * <p>
+ * {@link #random()} is the user's own {@link PayloadRandom} stream, numbered by
+ * its ID: with a fixed <code>payload.random.seed</code> every user makes the
+ * same choices and thinks as long as in the previous run, however the threads
+ * interleave.
+ */
+public final class VirtualUser {
+
+	private final int id;
+	private final PayloadRandom random;
+	private final Map<String, Object> values = new HashMap<>();
+	private SessionPool.Session session;
+	private long iteration;
+
+	VirtualUser(int id) {
+		this.id = id;
+		this.random = PayloadRandom.forStream(id);
+	}
+
+	/**
+	 * Returns the number of this user.
+	 *
+	 * @return from 0 up to the number of users
+	 */
+	public int id() {
+		return id;
+	}
+
+	/**
+	 * Returns how many journeys this user started before the current one.
+	 *
+	 * @return the iteration, from 0
+	 */
+	public long iteration() {
+		return iteration;
+	}
+
+	/**
+	 * Returns the cookie of the session the user holds for this journey. Waits
+	 * while the session logs in again after it expired.
+	 *
+	 * @return the <code>orangehrm</code> cookie value
+	 */
+	public String cookie() {
+		return session.cookie();
+	}
+
+	/**
+	 * Returns the user's random stream.
+	 *
+	 * @return the generator, the same for every call
+	 */
+	public PayloadRandom random() {
+		return random;
+	}
+
+	/**
+	 * Stores a value for the following steps of this journey.
+	 *
+	 * @param key   the name
+	 * @param value the value
+	 * @return this user
+	 */
+	public VirtualUser put(String key, Object value) {
+		values.put(key, value);
+		return this;
+	}
+
+	/**
+	 * Returns a value stored by an earlier step of this journey.
+	 *
+	 * @param key the name
+	 * @param <T> the type the value was stored as
+	 * @return the value
+	 * @throws IllegalStateException if no earlier step stored it
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key) {
+		Object value = values.get(key);
+		if (value == null) {
+			throw new IllegalStateException("No earlier step of user " + id + " stored '" + key + "'");
+		}
+		return (T) value;
+	}
+
+	void begin(SessionPool.Session session) {
+		this.session = session;
+		values.clear();
+	}
+
+	void end() {
+		session = null;
+		iteration++;
+	}
+}
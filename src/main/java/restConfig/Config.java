@@ -0,0 +1,206 @@
+package restConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable snapshot of the suite configuration.
+ *
+ * <p>
+ * A snapshot is built once from <code>config.properties</code> with two layers
+ * of overrides on top, highest precedence first:
+ * <ol>
+ * <li>JVM system properties with the same key, e.g.
+ * <code>-Dbase.url=https://staging.example.com</code></li>
+ * <li>environment variables named <code>HRM_</code> followed by the key in
+ * upper case with dots and dashes replaced by underscores, e.g.
+ * <code>HRM_BASE_URL</code> or <code>HRM_HTTP_POOL_MAX_TOTAL</code></li>
+ * </ol>
+ * The <code>HRM_</code> prefix keeps common variables such as
+ * <code>USERNAME</code> on Windows from overriding the suite credentials.
+ *
+ * <p>
+ * Instances never change after construction, so they can be read from any
+ * thread without locking. {@link ConfigManager} publishes the current snapshot
+ * and swaps it for a new one on reload.
+ */
+public final class Config {
+
+	static final String ENV_PREFIX = "HRM_";
+	private static final String[] JVM_PREFIXES = { "java.", "javax.", "jdk.", "sun.", "os.", "user.", "file.",
+			"line.", "path.", "awt.", "native.", "stdout.", "stderr.", "maven.", "surefire.", "basedir", "classworlds",
+			"library.", "guice." };
+
+	private final Map<String, String> values;
+	private final String baseUrl;
+	private final String username;
+	private final String password;
+
+	Config(Properties file, Map<String, String> environment, Properties systemProperties) {
+		Map<String, String> merged = new HashMap<>();
+		for (String key : file.stringPropertyNames()) {
+			merged.put(key, file.getProperty(key).trim());
+		}
+		for (String key : file.stringPropertyNames()) {
+			String override = environment.get(envName(key));
+			if (override != null) {
+				merged.put(key, override.trim());
+			}
+		}
+		for (Map.Entry<String, String> entry : environment.entrySet()) {
+			if (entry.getKey().startsWith(ENV_PREFIX)) {
+				merged.putIfAbsent(entry.getKey().substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_',
+						'.'), entry.getValue().trim());
+			}
+		}
+		for (String key : merged.keySet().toArray(new String[0])) {
+			String override = systemProperties.getProperty(key);
+			if (override != null) {
+				merged.put(key, override.trim());
+			}
+		}
+		for (String key : systemProperties.stringPropertyNames()) {
+			if (!merged.containsKey(key) && !isJvmKey(key)) {
+				merged.put(key, systemProperties.getProperty(key).trim());
+			}
+		}
+		this.values = Collections.unmodifiableMap(merged);
+		this.baseUrl = stripTrailingSlash(values.get("base.url"));
+		this.username = values.get("username");
+		this.password = values.get("password");
+	}
+
+	/**
+	 * Returns the OrangeHRM base URL, without a trailing slash.
+	 *
+	 * @return <code>base.url</code>
+	 */
+	public String baseUrl() {
+		return baseUrl;
+	}
+
+	/**
+	 * Returns the login user name.
+	 *
+	 * @return <code>username</code>
+	 */
+	public String username() {
+		return username;
+	}
+
+	/**
+	 * Returns the login password.
+	 *
+	 * @return <code>password</code>
+	 */
+	public String password() {
+		return password;
+	}
+
+	/**
+	 * Returns a raw value.
+	 *
+	 * @param key the property key
+	 * @return the value, or <code>null</code> if the key is not set
+	 */
+	public String get(String key) {
+		return values.get(key);
+	}
+
+	/**
+	 * Returns a value, or a default if the key is not set or blank.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value to use when the key is missing
+	 * @return the value
+	 */
+	public String get(String key, String defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : value;
+	}
+
+	/**
+	 * Returns an <code>int</code> value.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value to use when the key is missing
+	 * @return the value
+	 * @throws NumberFormatException if the value is not an integer
+	 */
+	public int getInt(String key, int defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+	}
+
+	/**
+	 * Returns a <code>long</code> value.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value to use when the key is missing
+	 * @return the value
+	 * @throws NumberFormatException if the value is not an integer
+	 */
+	public long getLong(String key, long defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+	}
+
+	/**
+	 * Returns a <code>double</code> value.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value to use when the key is missing
+	 * @return the value
+	 * @throws NumberFormatException if the value is not a number
+	 */
+	public double getDouble(String key, double defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+	}
+
+	/**
+	 * Returns a <code>boolean</code> value; anything other than
+	 * <code>true</code> (ignoring case) is <code>false</code>.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value to use when the key is missing
+	 * @return the value
+	 */
+	public boolean getBoolean(String key, boolean defaultValue) {
+		String value = values.get(key);
+		return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+	}
+
+	/**
+	 * Returns every key and value of this snapshot.
+	 *
+	 * @return an unmodifiable map
+	 */
+	public Map<String, String> asMap() {
+		return values;
+	}
+
+	static String envName(String key) {
+		return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+	}
+
+	/**
+	 * Keeps the standard JVM properties such as <code>java.version</code> out of
+	 * the snapshot; any other system property is treated as suite configuration.
+	 */
+	private static boolean isJvmKey(String key) {
+		for (String prefix : JVM_PREFIXES) {
+			if (key.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String stripTrailingSlash(String url) {
+		return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+	}
+}
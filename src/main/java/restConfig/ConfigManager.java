@@ -1,22 +1,145 @@
 package restConfig;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * Holds the current {@link Config} snapshot.
+ *
+ * <p>
+ * The file is read once, on first use, from the path in the
+ * <code>config.file</code> system property, or
+ * <code>{user.dir}/src/main/resources/config.properties</code>, or finally the
+ * <code>config.properties</code> classpath resource. System property and
+ * environment overrides are applied as described in {@link Config}.
+ *
+ * <p>
+ * Reads are a single volatile load and never block. With
+ * <code>config.watch=true</code> a daemon thread watches the file and, when it
+ * changes, builds a new snapshot and swaps it in atomically, so long soak runs
+ * can retune the base URL, timeouts or concurrency without a restart.
+ * Components that cache derived state, such as {@link rest.HttpClientPool},
+ * register a listener with {@link #addListener(Consumer)}.
+ */
 public class ConfigManager {
-	private static Properties props = new Properties();
+
+	private static final String DEFAULT_PATH = "src/main/resources/config.properties";
+
+	private static final List<Consumer<Config>> LISTENERS = new CopyOnWriteArrayList<>();
+	private static final Path FILE = locate();
+	private static volatile Config current = load();
 
 	static {
-		try {
-			FileInputStream fis = new FileInputStream("src/main/resources/config.properties");
-			props.load(fis);
+		if (current.getBoolean("config.watch", false)) {
+			startWatching();
+		}
+	}
+
+	/**
+	 * Returns the current configuration snapshot.
+	 *
+	 * @return the snapshot; never changes once returned
+	 */
+	public static Config config() {
+		return current;
+	}
+
+	/**
+	 * Returns a single value from the current snapshot.
+	 *
+	 * @param key the property key
+	 * @return the value, or <code>null</code> if the key is not set
+	 */
+	public static String getProperty(String key) {
+		return current.get(key);
+	}
+
+	/**
+	 * Registers a callback that receives every new snapshot after a reload.
+	 *
+	 * @param listener the callback, invoked on the watcher thread
+	 */
+	public static void addListener(Consumer<Config> listener) {
+		LISTENERS.add(listener);
+	}
+
+	/**
+	 * Re-reads the file and environment and publishes a new snapshot.
+	 *
+	 * @return the new snapshot
+	 */
+	public static Config reload() {
+		Config reloaded = load();
+		current = reloaded;
+		for (Consumer<Config> listener : LISTENERS) {
+			try {
+				listener.accept(reloaded);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+		return reloaded;
+	}
+
+	private static Config load() {
+		Properties file = new Properties();
+		try (InputStream in = FILE != null ? Files.newInputStream(FILE)
+				: ConfigManager.class.getClassLoader().getResourceAsStream("config.properties")) {
+			if (in != null) {
+				file.load(in);
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		return new Config(file, System.getenv(), System.getProperties());
 	}
 
-	public static String getProperty(String key) {
-		return props.getProperty(key);
+	private static Path locate() {
+		String configured = System.getProperty("config.file");
+		Path path = configured != null ? Paths.get(configured)
+				: Paths.get(System.getProperty("user.dir"), DEFAULT_PATH);
+		return Files.isRegularFile(path) ? path.toAbsolutePath() : null;
+	}
+
+	private static void startWatching() {
+		if (FILE == null) {
+			System.err.println("config.watch is set but config.properties is not a file on disk; not watching");
+			return;
+		}
+		Thread watcher = new Thread(() -> {
+			try (WatchService watchService = FILE.getFileSystem().newWatchService()) {
+				FILE.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+						StandardWatchEventKinds.ENTRY_CREATE);
+				while (true) {
+					WatchKey key = watchService.take();
+					boolean changed = false;
+					for (WatchEvent<?> event : key.pollEvents()) {
+						changed |= FILE.getFileName().equals(event.context());
+					}
+					key.reset();
+					if (changed) {
+						reload();
+					}
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}, "config-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
 	}
 }
@@ -0,0 +1,56 @@
+package coreUtilities.testutils;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+/**
+ * TestNG executor factory that runs suites and test methods on virtual threads.
+ *
+ * <p>
+ * It keeps TestNG's own dependency-graph aware executor, so priorities,
+ * <code>dependsOnMethods</code> and the <code>parallel</code> mode from the suite
+ * file behave exactly as before; only the worker threads are replaced. A
+ * blocked HTTP call therefore parks a virtual thread instead of holding a
+ * platform thread, and <code>thread-count</code> can be raised to the number of
+ * concurrent test methods rather than the number of CPU cores.
+ *
+ * <p>
+ * Only compiled by the <code>virtual-threads</code> Maven profile (Java 21+),
+ * which passes it to TestNG with <code>-threadpoolfactoryclass</code>.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+	@Override
+	public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+			IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+		GraphThreadPoolExecutor<ISuite> executor = new GraphThreadPoolExecutor<>(name, graph, factory, corePoolSize,
+				maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+		executor.setThreadFactory(virtualThreads("testng-suite-"));
+		return executor;
+	}
+
+	@Override
+	public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+			IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+		GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+				corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+		executor.setThreadFactory(virtualThreads("testng-method-"));
+		return executor;
+	}
+
+	private static ThreadFactory virtualThreads(String prefix) {
+		return Thread.ofVirtual().name(prefix, 0).factory();
+	}
+}
@@ -0,0 +1,140 @@
+package rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * {@link HttpTransport} backed by {@link java.net.http.HttpClient}.
+ *
+ * <p>
+ * The client asks for HTTP/2 and negotiates it through ALPN, so concurrent list
+ * calls (pay grades, job titles, employment statuses) to the same host are
+ * multiplexed as streams over one connection. Servers that do not offer HTTP/2
+ * are spoken to over HTTP/1.1 with the client's own keep-alive pool. The
+ * negotiated protocol is reported in the status line, e.g.
+ * <code>HTTP/2 200 OK</code>, with the standard reason phrase rather than the
+ * server's own.
+ *
+ * <p>
+ * This transport is meant for load runs ({@link rest.load.LoadGenerator},
+ * {@link rest.load.ScenarioRunner}), which only look at status codes. It is not
+ * valid for the functional suite: its tests compare the whole status line with
+ * the <code>HTTP/1.0 200 OK</code> the Apache client reports for OrangeHRM, and
+ * every one of them fails on <code>HTTP/2</code> or <code>HTTP/1.1</code>.
+ *
+ * <p>
+ * Selected with <code>http.transport=jdk</code>; only compiled by the Java 21
+ * <code>virtual-threads</code> profile. Server certificates are validated,
+ * as by the Apache client, unless <code>http.transport.relaxed.https</code> is
+ * <code>true</code>.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+	/** Headers the JDK client manages itself; cookies are rebuilt from the request cookies. */
+	private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+			"upgrade", "cookie");
+
+	private final HttpClient followingClient;
+	private final HttpClient nonFollowingClient;
+	private final Duration requestTimeout;
+
+	public JdkHttpTransport() {
+		requestTimeout = Duration.ofMillis(HttpClientPool.longProperty("http.socket.timeout.ms", 30000));
+		followingClient = newClient(HttpClient.Redirect.NORMAL);
+		nonFollowingClient = newClient(HttpClient.Redirect.NEVER);
+	}
+
+	@Override
+	public Response send(FilterableRequestSpecification request) throws IOException {
+		byte[] body = TransportFilter.bodyBytes(request);
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getURI()))
+				.timeout(requestTimeout).method(request.getMethod(), body.length == 0
+						? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+		for (Header header : request.getHeaders()) {
+			if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+				builder.header(header.getName(), header.getValue());
+			}
+		}
+		String cookies = TransportFilter.cookieHeader(request);
+		if (cookies != null) {
+			builder.header("Cookie", cookies);
+		}
+
+		HttpClient client = request.getConfig().getRedirectConfig().followsRedirects() ? followingClient
+				: nonFollowingClient;
+		HttpResponse<byte[]> response;
+		try {
+			response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for " + request.getURI(), e);
+		}
+
+		List<Header> headers = new ArrayList<>();
+		for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+			if (header.getKey().startsWith(":")) {
+				continue;
+			}
+			for (String value : header.getValue()) {
+				headers.add(new Header(header.getKey(), value));
+			}
+		}
+		String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+		return TransportFilter.toResponse(protocol, response.statusCode(), headers, response.body());
+	}
+
+	private HttpClient newClient(HttpClient.Redirect redirect) {
+		HttpClient.Builder builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+				.followRedirects(redirect)
+				.connectTimeout(Duration.ofMillis(HttpClientPool.longProperty("http.connect.timeout.ms", 10000)));
+		if (ConfigManager.config().getBoolean("http.transport.relaxed.https", false)) {
+			builder.sslContext(trustAllContext());
+		}
+		return builder.build();
+	}
+
+	private static SSLContext trustAllContext() {
+		TrustManager trustAll = new X509TrustManager() {
+			@Override
+			public void checkClientTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public void checkServerTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public X509Certificate[] getAcceptedIssuers() {
+				return new X509Certificate[0];
+			}
+		};
+		try {
+			SSLContext context = SSLContext.getInstance("TLS");
+			context.init(null, new TrustManager[] { trustAll }, new SecureRandom());
+			return context;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to create a trust-all SSL context", e);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BodyMatcherTest {
+
+	private static byte[] utf8(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test(description = "Needles that overlap, nest or share a suffix are all reported")
+	public void overlappingNeedles() {
+		BodyMatcher matcher = BodyMatcher.of("he", "she", "his", "hers", "rs", "s");
+
+		BodyMatcher.Result result = matcher.scan(utf8("ushers"));
+
+		Assert.assertEquals(result.missing(), Collections.singletonList("his"), result.toString());
+		Assert.assertTrue(result.found("she"));
+		Assert.assertTrue(result.found("he"));
+		Assert.assertTrue(result.found("hers"));
+		Assert.assertFalse(matcher.scan(utf8("ushe")).found("hers"));
+	}
+
+	@Test(description = "A needle is found when the automaton falls back from a longer partial match")
+	public void failureLinks() {
+		BodyMatcher matcher = BodyMatcher.of("aab", "ab", "abcd", "bc");
+
+		Assert.assertEquals(matcher.scan(utf8("aaabc")).missing(), Collections.singletonList("abcd"));
+		Assert.assertTrue(matcher.scan(utf8("aababcd")).allFound());
+		Assert.assertFalse(matcher.scan(utf8("abab")).found("bc"));
+	}
+
+	@Test(description = "Empty bodies, empty needles and matchers without needles")
+	public void emptyInput() {
+		BodyMatcher matcher = BodyMatcher.of("data", "");
+
+		BodyMatcher.Result result = matcher.scan(new byte[0]);
+		Assert.assertEquals(result.foundCount(), 1);
+		Assert.assertTrue(result.found(""));
+		Assert.assertFalse(result.found("data"));
+
+		BodyMatcher none = BodyMatcher.of();
+		Assert.assertTrue(none.scan(utf8("anything")).allFound());
+		Assert.assertFalse(none.scan(utf8("anything")).anyFound());
+
+		Assert.assertTrue(BodyMatcher.contains(new byte[0], ""));
+		Assert.assertFalse(BodyMatcher.contains(new byte[0], "a"));
+		Assert.assertFalse(BodyMatcher.contains(utf8("ab"), "abc"));
+	}
+
+	@Test(description = "Multi-byte UTF-8 needles match whole characters only")
+	public void multiByteUtf8() {
+		BodyMatcher matcher = BodyMatcher.of("M\u00fcller", "\u65e5\u672c", "\u20ac", "\ud83d\ude00", "\u00fc");
+		byte[] body = utf8("{\"name\":\"M\u00fcller\",\"city\":\"\u65e5\u672c\u6a4b\",\"pay\":\"100 \u20ac\"}");
+
+		BodyMatcher.Result result = matcher.scan(body);
+		Assert.assertEquals(result.missing(), Collections.singletonList("\ud83d\ude00"));
+
+		// the lead byte of "u-umlaut" alone is no match, nor is a Latin-1 encoding of it
+		byte[] truncated = Arrays.copyOf(utf8("M\u00fc"), 2);
+		Assert.assertFalse(matcher.scan(truncated).found("\u00fc"));
+		Assert.assertFalse(matcher.scan("M\u00fcller".getBytes(StandardCharsets.ISO_8859_1)).anyFound());
+		Assert.assertTrue(BodyMatcher.contains(body, "\u65e5\u672c"));
+		Assert.assertFalse(BodyMatcher.contains(body, "\u672c\u65e5"));
+	}
+
+	@Test(description = "Only the given range of a buffer is scanned")
+	public void scanRange() {
+		BodyMatcher matcher = BodyMatcher.of("abc");
+		byte[] buffer = utf8("xxabcxx");
+
+		Assert.assertTrue(matcher.scan(buffer, 2, 3).allFound());
+		Assert.assertFalse(matcher.scan(buffer, 3, 4).anyFound());
+		Assert.assertFalse(matcher.scan(buffer, 0, 4).anyFound());
+	}
+
+	@Test(description = "More than 64 needles are tracked across words and agree with String.contains")
+	public void agreesWithStringContains() {
+		Random random = new Random(7);
+		List<String> needles = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			needles.add(randomText(random, 1 + random.nextInt(4)));
+		}
+		BodyMatcher matcher = BodyMatcher.of(needles);
+
+		for (int round = 0; round < 50; round++) {
+			String body = randomText(random, random.nextInt(200));
+			BodyMatcher.Result result = matcher.scan(utf8(body));
+			for (int i = 0; i < needles.size(); i++) {
+				Assert.assertEquals(result.found(i), body.contains(needles.get(i)), needles.get(i) + " in " + body);
+				Assert.assertEquals(BodyMatcher.contains(utf8(body), needles.get(i)), body.contains(needles.get(i)));
+			}
+		}
+	}
+
+	private static String randomText(Random random, int length) {
+		String alphabet = "abc\u00e9\u20ac";
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return text.toString();
+	}
+}
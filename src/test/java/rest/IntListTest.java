@@ -0,0 +1,66 @@
+package rest;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class IntListTest {
+
+	@Test(description = "Values added through the int and the list API are read back in order")
+	public void addAndGet() {
+		IntList list = new IntList(1);
+		list.addInt(3);
+		list.add(-7);
+		list.add(1, 5);
+		for (int i = 0; i < 20; i++) {
+			list.addInt(i);
+		}
+
+		Assert.assertEquals(list.size(), 23);
+		Assert.assertEquals(list.subList(0, 3), Arrays.asList(3, 5, -7));
+		Assert.assertEquals(list.getInt(22), 19);
+		Assert.assertEquals(list.indexOf(-7), 2);
+		Assert.assertEquals(list.min(), -7);
+		Assert.assertEquals(list.max(), 19);
+		Assert.assertFalse(list.allPositive());
+	}
+
+	@Test(description = "remove, set and clear update the values and the size")
+	public void removeSetAndClear() {
+		IntList list = IntList.copyOf(Arrays.asList(1, 2, 3, 4));
+
+		Assert.assertEquals(list.remove(1).intValue(), 2);
+		Assert.assertEquals(list.set(0, 9).intValue(), 1);
+		Assert.assertTrue(list.remove(Integer.valueOf(4)));
+		Assert.assertEquals(list.toIntArray(), new int[] { 9, 3 });
+		Assert.assertTrue(list.allPositive());
+
+		list.clear();
+		Assert.assertTrue(list.isEmpty());
+		Assert.assertTrue(list.allPositive());
+		Assert.assertThrows(NoSuchElementException.class, list::min);
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(0));
+	}
+
+	@Test(description = "null is rejected by every write instead of being unboxed")
+	public void rejectsNull() {
+		IntList list = IntList.copyOf(Arrays.asList(1));
+
+		Assert.assertThrows(NullPointerException.class, () -> list.add(null));
+		Assert.assertThrows(NullPointerException.class, () -> list.add(0, null));
+		Assert.assertThrows(NullPointerException.class, () -> list.set(0, null));
+		Assert.assertEquals(list.toIntArray(), new int[] { 1 });
+		Assert.assertFalse(list.contains(null));
+	}
+
+	@Test(description = "An IntList equals the boxed list of the same values")
+	public void equalsBoxedList() {
+		IntList list = IntList.copyOf(Arrays.asList(4, 0, -2));
+
+		Assert.assertEquals(list, Arrays.asList(4, 0, -2));
+		Assert.assertEquals(list.hashCode(), Arrays.asList(4, 0, -2).hashCode());
+		Assert.assertNull(IntList.copyOf(null));
+	}
+}
@@ -0,0 +1,117 @@
+package rest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class IntSetTest {
+
+	@Test(description = "Zero, negative and colliding values are stored once each across rehashes")
+	public void addAndContains() {
+		IntSet set = new IntSet(2);
+		Assert.assertTrue(set.addInt(0));
+		Assert.assertFalse(set.addInt(0));
+		for (int i = -50; i < 1000; i += 3) {
+			set.add(i);
+		}
+
+		Assert.assertEquals(set.size(), 351);
+		Assert.assertTrue(set.containsInt(0));
+		Assert.assertTrue(set.contains(997));
+		Assert.assertFalse(set.contains(998));
+		Assert.assertFalse(set.contains(null));
+		Assert.assertEquals(set.min(), -50);
+		Assert.assertEquals(set.max(), 997);
+		Assert.assertFalse(set.allPositive());
+	}
+
+	@Test(description = "remove keeps every other value reachable, matching a HashSet")
+	public void removeMatchesHashSet() {
+		Random random = new Random(42);
+		IntSet set = new IntSet();
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 20000; i++) {
+			// a small range, so probe runs are long and removals shift entries back
+			int value = random.nextInt(512) - 64;
+			if (random.nextBoolean()) {
+				Assert.assertEquals(set.addInt(value), expected.add(value), "add " + value);
+			} else {
+				Assert.assertEquals(set.removeInt(value), expected.remove(value), "remove " + value);
+			}
+		}
+
+		Assert.assertEquals(set, expected);
+		for (int value = -64; value < 448; value++) {
+			Assert.assertEquals(set.containsInt(value), expected.contains(value), "contains " + value);
+		}
+	}
+
+	@Test(description = "Iterator.remove, retainAll, removeAll and clear work through the Set API")
+	public void bulkRemoval() {
+		IntSet set = IntSet.copyOf(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+
+		Assert.assertTrue(set.retainAll(Arrays.asList(0, 2, 4, 6, 8, 10, 12)));
+		Assert.assertEquals(set, new HashSet<>(Arrays.asList(0, 2, 4, 6, 8, 10)));
+
+		Assert.assertTrue(set.removeAll(Arrays.asList(0, 4)));
+		Assert.assertEquals(set, new HashSet<>(Arrays.asList(2, 6, 8, 10)));
+
+		int seen = 0;
+		for (Iterator<Integer> iterator = set.iterator(); iterator.hasNext();) {
+			int value = iterator.next();
+			seen++;
+			if (value > 5) {
+				iterator.remove();
+			}
+		}
+		Assert.assertEquals(seen, 4);
+		Assert.assertEquals(set, new HashSet<>(Arrays.asList(2)));
+
+		set.clear();
+		Assert.assertTrue(set.isEmpty());
+		Assert.assertFalse(set.containsInt(2));
+		Assert.assertTrue(set.addInt(2));
+	}
+
+	@Test(description = "Iterator.remove visits every value once although removal moves entries")
+	public void iteratorRemoveVisitsEachValueOnce() {
+		IntSet set = new IntSet(4);
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 200; i++) {
+			set.addInt(i * 64);
+			expected.add(i * 64);
+		}
+
+		Set<Integer> seen = new HashSet<>();
+		for (Iterator<Integer> iterator = set.iterator(); iterator.hasNext();) {
+			int value = iterator.next();
+			Assert.assertTrue(seen.add(value), "visited twice: " + value);
+			iterator.remove();
+		}
+		Assert.assertEquals(seen, expected);
+		Assert.assertTrue(set.isEmpty());
+	}
+
+	@Test(description = "Misuse of the iterator and null values are rejected")
+	public void rejectsMisuse() {
+		IntSet set = IntSet.copyOf(Arrays.asList(1, 2));
+
+		Iterator<Integer> iterator = set.iterator();
+		Assert.assertThrows(IllegalStateException.class, iterator::remove);
+		iterator.next();
+		iterator.remove();
+		Assert.assertThrows(IllegalStateException.class, iterator::remove);
+
+		Iterator<Integer> stale = set.iterator();
+		set.addInt(3);
+		Assert.assertThrows(java.util.ConcurrentModificationException.class, stale::next);
+
+		Assert.assertThrows(NullPointerException.class, () -> set.add(null));
+		Assert.assertFalse(set.remove(null));
+	}
+}
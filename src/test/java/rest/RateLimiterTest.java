@@ -0,0 +1,111 @@
+package rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RateLimiterTest {
+
+	@Test(description = "A full bucket hands out the burst at once and then refuses")
+	public void burst() {
+		RateLimiter limiter = RateLimiter.of("burst", 1, 5);
+		for (int i = 0; i < 5; i++) {
+			Assert.assertTrue(limiter.tryAcquire(), "permit " + i + " of the burst");
+		}
+		Assert.assertFalse(limiter.tryAcquire());
+		Assert.assertFalse(limiter.tryAcquire(100, TimeUnit.MILLISECONDS), "the next permit is due in a second");
+
+		Assert.assertEquals(limiter.acquiredCount(), 5);
+		Assert.assertEquals(limiter.delayedCount(), 0);
+		Assert.assertEquals(limiter.waitedNanos(), 0);
+	}
+
+	@Test(description = "After the burst, permits are spaced by the interval")
+	public void steadyStateSpacing() {
+		RateLimiter limiter = RateLimiter.of("steady", 50, 2);
+		long start = System.nanoTime();
+		long waited = 0;
+		for (int i = 0; i < 12; i++) {
+			waited += limiter.acquire();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		// 2 permits at once, then 10 at 20 ms each
+		Assert.assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(195), "elapsed " + elapsed);
+		Assert.assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "elapsed " + elapsed);
+		Assert.assertEquals(limiter.acquiredCount(), 12);
+		Assert.assertEquals(limiter.delayedCount(), 10);
+		Assert.assertEquals(limiter.waitedNanos(), waited);
+	}
+
+	@Test(description = "Threads sharing a limiter together keep to its rate")
+	public void concurrentSpacing() throws Exception {
+		RateLimiter limiter = RateLimiter.of("shared", 100, 1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			long start = System.nanoTime();
+			List<Future<?>> done = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				done.add(executor.submit(() -> {
+					for (int i = 0; i < 5; i++) {
+						limiter.acquire();
+					}
+				}));
+			}
+			for (Future<?> future : done) {
+				future.get(5, TimeUnit.SECONDS);
+			}
+			long elapsed = System.nanoTime() - start;
+
+			// 1 permit at once, then 19 at 10 ms each
+			Assert.assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(185), "elapsed " + elapsed);
+			Assert.assertEquals(limiter.acquiredCount(), 20);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(description = "An idle bucket refills up to the burst and no further")
+	public void refill() throws InterruptedException {
+		RateLimiter limiter = RateLimiter.of("refill", 100, 3);
+		for (int i = 0; i < 3; i++) {
+			Assert.assertTrue(limiter.tryAcquire());
+		}
+		Assert.assertFalse(limiter.tryAcquire());
+
+		Thread.sleep(100);
+		for (int i = 0; i < 3; i++) {
+			Assert.assertTrue(limiter.tryAcquire(), "permit " + i + " after refilling");
+		}
+		Assert.assertFalse(limiter.tryAcquire());
+	}
+
+	@Test(description = "An asynchronous permit completes when it is due")
+	public void acquireAsync() throws Exception {
+		RateLimiter limiter = RateLimiter.of("async", 20, 1);
+		Assert.assertTrue(limiter.acquireAsync().isDone());
+
+		long start = System.nanoTime();
+		CompletableFuture<Long> due = limiter.acquireAsync();
+		long waited = due.get(5, TimeUnit.SECONDS);
+		Assert.assertTrue(waited > 0);
+		Assert.assertTrue(System.nanoTime() - start >= waited - TimeUnit.MILLISECONDS.toNanos(1));
+		Assert.assertEquals(limiter.delayedCount(), 1);
+	}
+
+	@Test(description = "The unlimited limiter never waits")
+	public void unlimited() {
+		RateLimiter limiter = RateLimiter.of("none", 0, 1);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals(limiter.acquire(), 0);
+		}
+		Assert.assertEquals(limiter.delayedCount(), 0);
+	}
+}
@@ -0,0 +1,110 @@
+package rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import org.apache.http.NoHttpResponseException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RetryPolicyTest {
+
+	@Test(description = "Deposits add the percentage of a retry and stop at the burst size")
+	public void budgetDeposit() {
+		RetryPolicy.Budget budget = new RetryPolicy.Budget(0);
+		budget.deposit(10, 2);
+		Assert.assertEquals(budget.balance(), 100);
+		budget.deposit(2.5, 2);
+		Assert.assertEquals(budget.balance(), 125);
+
+		for (int i = 0; i < 100; i++) {
+			budget.deposit(10, 2);
+		}
+		Assert.assertEquals(budget.balance(), 2 * RetryPolicy.Budget.TOKEN);
+	}
+
+	@Test(description = "Withdrawals take a whole retry and fail below one")
+	public void budgetWithdraw() {
+		RetryPolicy.Budget budget = new RetryPolicy.Budget(1);
+		Assert.assertTrue(budget.withdraw());
+		Assert.assertEquals(budget.balance(), 0);
+		Assert.assertFalse(budget.withdraw());
+
+		for (int i = 0; i < 9; i++) {
+			budget.deposit(10, 10);
+		}
+		Assert.assertFalse(budget.withdraw(), "0.9 of a retry is not enough");
+		Assert.assertEquals(budget.balance(), 900);
+		budget.deposit(10, 10);
+		Assert.assertTrue(budget.withdraw());
+		Assert.assertEquals(budget.balance(), 0);
+	}
+
+	@Test(description = "The backoff ceiling doubles from the base delay up to the maximum")
+	public void backoffCeiling() {
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, 1), 100);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, 2), 200);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, 5), 1600);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, 6), 2000);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(3000, 2000, 1), 2000);
+	}
+
+	@Test(description = "Many retries reach the maximum instead of overflowing")
+	public void backoffCeilingOverflow() {
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, 64), 2000);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(100, 2000, Integer.MAX_VALUE), 2000);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(1, Long.MAX_VALUE, 63), 1L << 62);
+		Assert.assertEquals(RetryPolicy.backoffCeiling(2, Long.MAX_VALUE, 64), Long.MAX_VALUE);
+	}
+
+	@Test(description = "Only gateway errors and an overloaded server are retried")
+	public void transientStatus() {
+		Assert.assertTrue(RetryPolicy.isTransientStatus(502));
+		Assert.assertTrue(RetryPolicy.isTransientStatus(503));
+		Assert.assertTrue(RetryPolicy.isTransientStatus(504));
+		Assert.assertFalse(RetryPolicy.isTransientStatus(500));
+		Assert.assertFalse(RetryPolicy.isTransientStatus(501));
+		Assert.assertFalse(RetryPolicy.isTransientStatus(429));
+		Assert.assertFalse(RetryPolicy.isTransientStatus(200));
+	}
+
+	@Test(description = "Resets and timeouts are transient, refused connections and unknown hosts are not")
+	public void transientException() {
+		Assert.assertTrue(RetryPolicy.isTransient(new SocketException("Connection reset")));
+		Assert.assertTrue(RetryPolicy.isTransient(new SocketTimeoutException("Read timed out")));
+		Assert.assertTrue(RetryPolicy.isTransient(new NoHttpResponseException("failed to respond")));
+		Assert.assertTrue(RetryPolicy.isTransient(new PoolTimeoutException()));
+		Assert.assertFalse(RetryPolicy.isTransient(new ConnectException("Connection refused")));
+		Assert.assertFalse(RetryPolicy.isTransient(new UnknownHostException("nowhere")));
+		Assert.assertFalse(RetryPolicy.isTransient(new IOException("other")));
+		Assert.assertFalse(RetryPolicy.isTransient(new IllegalStateException("other")));
+	}
+
+	@Test(description = "Wrapped causes are searched")
+	public void transientCause() {
+		Assert.assertTrue(RetryPolicy.isTransient(new UncheckedIOException(new SocketException("Connection reset"))));
+		Assert.assertTrue(
+				RetryPolicy.isTransient(new RuntimeException(new IOException(new SocketTimeoutException("timed out")))));
+		Assert.assertFalse(RetryPolicy.isTransient(new UncheckedIOException(new ConnectException("refused"))));
+	}
+
+	@Test(description = "An interrupt is not retried")
+	public void interruptedIsNotTransient() {
+		Thread.currentThread().interrupt();
+		try {
+			Assert.assertFalse(RetryPolicy.isTransient(new InterruptedIOException("interrupted")));
+		} finally {
+			Thread.interrupted();
+		}
+		Assert.assertTrue(RetryPolicy.isTransient(new InterruptedIOException("interrupted")));
+	}
+
+	private static final class PoolTimeoutException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+}
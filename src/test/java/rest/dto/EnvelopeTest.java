@@ -0,0 +1,54 @@
+package rest.dto;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EnvelopeTest {
+
+	@Test(description = "A list body decodes into DTOs, with ids sent as numbers or strings")
+	public void decodesList() {
+		Envelope<JobCategory> envelope = read(
+				"{\"data\":[{\"id\":3,\"name\":\"Sales\"},{\"id\":\"4\",\"name\":\"IT\"}],\"meta\":{\"total\":2}}",
+				JobCategoryDecoder.INSTANCE);
+		Assert.assertEquals(envelope.data().size(), 2);
+		Assert.assertEquals(envelope.data().get(0).getId(), 3);
+		Assert.assertEquals(envelope.data().get(1).getId(), 4);
+		Assert.assertEquals(envelope.data().get(1).getName(), "IT");
+	}
+
+	@Test(description = "A record whose id is null fails instead of decoding to id 0")
+	public void rejectsNullId() {
+		assertMissingId("{\"data\":{\"id\":null,\"name\":\"Grade 1\"},\"meta\":[]}", PayGradeDecoder.INSTANCE,
+				"Missing or null 'id' in PayGrade");
+	}
+
+	@Test(description = "A record without an id fails instead of decoding to id 0")
+	public void rejectsMissingId() {
+		assertMissingId("{\"data\":[{\"id\":1,\"title\":\"QA\"},{\"title\":\"Dev\"}]}", JobTitleDecoder.INSTANCE,
+				"Missing or null 'id' in JobTitle");
+	}
+
+	@Test(description = "Optional ids of nested objects may stay null")
+	public void optionalNestedId() {
+		JobTitle title = read("{\"data\":{\"id\":7,\"title\":\"QA\",\"jobSpecification\":{\"id\":null}}}",
+				JobTitleDecoder.INSTANCE).first();
+		Assert.assertEquals(title.getId(), 7);
+		Assert.assertNull(title.getJobSpecification().getId());
+	}
+
+	private static void assertMissingId(String body, JsonDecoder<?> decoder, String message) {
+		try {
+			read(body, decoder);
+			Assert.fail("decoded a record without an id");
+		} catch (UncheckedIOException e) {
+			Assert.assertTrue(e.getCause().getMessage().startsWith(message), e.getCause().getMessage());
+		}
+	}
+
+	private static <T> Envelope<T> read(String body, JsonDecoder<T> decoder) {
+		return Envelope.read(body.getBytes(StandardCharsets.UTF_8), decoder);
+	}
+}
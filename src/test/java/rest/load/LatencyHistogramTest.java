@@ -0,0 +1,71 @@
+package rest.load;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+	@Test(description = "Values below 128 us have a bucket each")
+	public void linearBuckets() {
+		for (long micros = 0; micros < 128; micros++) {
+			Assert.assertEquals(LatencyHistogram.index(micros), micros);
+			Assert.assertEquals(LatencyHistogram.highestEquivalent((int) micros), micros);
+		}
+	}
+
+	@Test(description = "Each power of two from 128 us is split into 64 buckets")
+	public void logLinearEdges() {
+		Assert.assertEquals(LatencyHistogram.index(128), 128);
+		Assert.assertEquals(LatencyHistogram.index(129), 128);
+		Assert.assertEquals(LatencyHistogram.index(130), 129);
+		Assert.assertEquals(LatencyHistogram.index(255), 191);
+		Assert.assertEquals(LatencyHistogram.index(256), 192);
+		Assert.assertEquals(LatencyHistogram.index(259), 192);
+		Assert.assertEquals(LatencyHistogram.index(260), 193);
+		Assert.assertEquals(LatencyHistogram.highestEquivalent(128), 129);
+		Assert.assertEquals(LatencyHistogram.highestEquivalent(191), 255);
+		Assert.assertEquals(LatencyHistogram.highestEquivalent(192), 259);
+		Assert.assertEquals(LatencyHistogram.index(LatencyHistogram.MAX_MICROS), LatencyHistogram.BUCKETS - 1);
+		Assert.assertEquals(LatencyHistogram.highestEquivalent(LatencyHistogram.BUCKETS - 1),
+				LatencyHistogram.MAX_MICROS);
+	}
+
+	@Test(description = "Buckets are contiguous: each ends right before the next begins")
+	public void contiguousBuckets() {
+		for (int i = 0; i < LatencyHistogram.BUCKETS - 1; i++) {
+			long highest = LatencyHistogram.highestEquivalent(i);
+			Assert.assertEquals(LatencyHistogram.index(highest), i, "highest value of bucket " + i);
+			Assert.assertEquals(LatencyHistogram.index(highest + 1), i + 1, "first value after bucket " + i);
+		}
+	}
+
+	@Test(description = "Negative and overlong durations are clamped to the range")
+	public void clamping() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordNanos(-5);
+		histogram.recordNanos(TimeUnit.DAYS.toNanos(30));
+
+		Assert.assertEquals(histogram.count(), 2);
+		Assert.assertEquals(histogram.percentileMillis(50), 0.0);
+		Assert.assertEquals(histogram.maxMillis(), LatencyHistogram.MAX_MICROS / 1000.0);
+		Assert.assertEquals(histogram.percentileMillis(100), LatencyHistogram.MAX_MICROS / 1000.0);
+	}
+
+	@Test(description = "Percentiles are the upper bound of their bucket, capped at the maximum")
+	public void percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long micros = 1; micros <= 100; micros++) {
+			histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+		}
+		histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(1000));
+
+		Assert.assertEquals(histogram.percentileMillis(50), 0.051);
+		Assert.assertEquals(histogram.percentileMillis(99), 0.1);
+		// 1000 us falls in the bucket 992..1007
+		Assert.assertEquals(histogram.percentileMillis(100), 1.0);
+		Assert.assertEquals(histogram.percentileMillis(0), 0.001);
+		Assert.assertEquals(new LatencyHistogram().percentileMillis(99), 0.0);
+	}
+}
@@ -0,0 +1,83 @@
+package rest.load;
+
+import java.time.Duration;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LoadProfileTest {
+
+	private static final long TOLERANCE_NANOS = 1000;
+
+	@Test(description = "A hold spaces arrivals evenly and ends after rate times duration")
+	public void holdSpacing() {
+		LoadProfile profile = new LoadProfile().hold(10, Duration.ofSeconds(1));
+
+		Assert.assertEquals(profile.arrivals(), 10);
+		for (int n = 0; n < 10; n++) {
+			assertNanos(profile.arrivalNanos(n), n * 100000000L);
+		}
+		Assert.assertEquals(profile.arrivalNanos(10), -1);
+	}
+
+	@Test(description = "A ramp up from zero places the n-th arrival where the integral of the rate reaches n")
+	public void rampUp() {
+		// rate 5t, integral 2.5t^2 = n
+		LoadProfile profile = new LoadProfile().ramp(0, 10, Duration.ofSeconds(2));
+
+		Assert.assertEquals(profile.arrivals(), 10);
+		assertNanos(profile.arrivalNanos(0), 0);
+		for (int n = 1; n < 10; n++) {
+			assertNanos(profile.arrivalNanos(n), (long) (Math.sqrt(n / 2.5) * 1e9));
+		}
+		Assert.assertEquals(profile.arrivalNanos(10), -1);
+		long firstGap = profile.arrivalNanos(1) - profile.arrivalNanos(0);
+		long lastGap = profile.arrivalNanos(9) - profile.arrivalNanos(8);
+		Assert.assertTrue(lastGap < firstGap, "arrivals get closer as the rate rises");
+	}
+
+	@Test(description = "A ramp down spaces arrivals further apart")
+	public void rampDown() {
+		// rate 10 - 5t, integral 10t - 2.5t^2 = n
+		LoadProfile profile = new LoadProfile().ramp(10, 0, Duration.ofSeconds(2));
+
+		Assert.assertEquals(profile.arrivals(), 10);
+		for (int n = 0; n < 10; n++) {
+			assertNanos(profile.arrivalNanos(n), (long) ((10 - Math.sqrt(100 - 10 * n)) / 5 * 1e9));
+		}
+		Assert.assertEquals(profile.arrivalNanos(10), -1);
+	}
+
+	@Test(description = "Phases follow each other, with arrival counts and offsets carried over")
+	public void rampThenHold() {
+		LoadProfile profile = LoadProfile.parse("ramp:0-10:2s,hold:10:1s");
+
+		Assert.assertEquals(profile.arrivals(), 20);
+		Assert.assertEquals(profile.duration(), Duration.ofSeconds(3));
+		assertNanos(profile.arrivalNanos(9), (long) (Math.sqrt(9 / 2.5) * 1e9));
+		assertNanos(profile.arrivalNanos(10), 2000000000L);
+		assertNanos(profile.arrivalNanos(15), 2500000000L);
+		assertNanos(profile.arrivalNanos(19), 2900000000L);
+		Assert.assertEquals(profile.arrivalNanos(20), -1);
+		Assert.assertEquals(LoadProfile.parse(profile.toString()).arrivalNanos(15), profile.arrivalNanos(15));
+	}
+
+	@Test(description = "A phase without arrivals is skipped")
+	public void idlePhase() {
+		LoadProfile profile = new LoadProfile().hold(0, Duration.ofSeconds(5)).hold(2, Duration.ofSeconds(1));
+
+		Assert.assertEquals(profile.arrivals(), 2);
+		assertNanos(profile.arrivalNanos(0), 5000000000L);
+		assertNanos(profile.arrivalNanos(1), 5500000000L);
+		Assert.assertEquals(profile.arrivalNanos(2), -1);
+	}
+
+	@Test(description = "Malformed profiles are rejected", expectedExceptions = IllegalArgumentException.class)
+	public void parseRejectsUnknownPhase() {
+		LoadProfile.parse("ramp:1-5:10s,spike:50:1s");
+	}
+
+	private static void assertNanos(long actual, long expected) {
+		Assert.assertTrue(Math.abs(actual - expected) <= TOLERANCE_NANOS, "expected " + expected + " but was " + actual);
+	}
+}
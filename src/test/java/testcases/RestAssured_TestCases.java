@@ -2,12 +2,12 @@ package testcases;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import io.restassured.RestAssured;
-import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.apache.poi.ss.util.NumberToTextConverter;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
@@ -18,12 +18,27 @@ import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import rest.ApiUtil;
+import rest.BodyTemplate;
+import rest.FixtureCleanup;
+import rest.FixturePool;
+import rest.HttpClientPool;
+import rest.JsonPathAccessor;
+import rest.LoginUtil;
+import rest.PayloadRandom;
+import rest.SessionPool;
+import rest.load.Journey;
+import rest.load.LoadGenerator;
+import rest.load.LoadProfile;
+import rest.load.LoadReport;
+import rest.load.ScenarioRunner;
+import restConfig.ConfigManager;
 import testcases.TestCodeValidator;
 import coreUtilities.utils.FileOperations;
 import org.apache.poi.xssf.usermodel.*;
@@ -36,10 +51,8 @@ import java.util.Set;
 import org.apache.poi.ss.usermodel.*;
 import static org.testng.Assert.assertEquals;
 import rest.CustomResponse;
-import java.security.SecureRandom;
 import io.restassured.http.ContentType;
 
-import java.security.SecureRandom;
 import io.restassured.http.ContentType;
 
 @SuppressWarnings("unused")
@@ -56,20 +69,33 @@ public class RestAssured_TestCases {
 	private String excelPath = System.getProperty("user.dir") + "\\src\\main\\resources\\TestData.xlsx";
 	private static String jobTitleIdToDelete;
 	private static int idBefore;
+	private static FixturePool fixturePool;
 
-	@Test(priority = 0, groups = { "PL1" }, description = "1. Login to the application using Selenium WebDriver\n"
-			+ "2. Extract the cookie named 'orangehrm' after successful login\n"
-			+ "3. Store the cookie value for subsequent API requests")
+	@Test(priority = 0, groups = { "PL1" }, description = "1. Login to the application over HTTP (CSRF token + credentials)\n"
+			+ "2. Fall back to Selenium WebDriver when login.mode=selenium or the HTTP login fails\n"
+			+ "3. Extract the cookie named 'orangehrm' after successful login\n"
+			+ "4. Store the cookie value for subsequent API requests")
 	public void loginWithSeleniumAndGetCookie() throws InterruptedException {
 		RestAssured.useRelaxedHTTPSValidation();
-		WebDriverManager.chromedriver().setup();
-		WebDriver driver = new ChromeDriver();
 
 		apiUtil = new ApiUtil();
 		baseUrl = apiUtil.getBaseUrl();
 		username = apiUtil.getUsername();
 		password = apiUtil.getPassword();
+		testCodeValidator = new TestCodeValidator();
 
+		if (!"selenium".equalsIgnoreCase(ConfigManager.getProperty("login.mode"))) {
+			try {
+				cookieValue = LoginUtil.login(baseUrl, username, password);
+				startFixturePool();
+				return;
+			} catch (RuntimeException e) {
+				System.out.println("HTTP login failed, falling back to Selenium: " + e.getMessage());
+			}
+		}
+
+		WebDriverManager.chromedriver().setup();
+		WebDriver driver = new ChromeDriver();
 		driver.get(baseUrl + "/web/index.php/auth/login");
 		Thread.sleep(3000); // Wait for page load
 
@@ -89,11 +115,11 @@ public class RestAssured_TestCases {
 		}
 
 		driver.quit();
-		testCodeValidator = new TestCodeValidator();
 
 		if (cookieValue == null) {
 			throw new RuntimeException("orangehrm cookie not found after login");
 		}
+		startFixturePool();
 	}
 
 	/**
@@ -226,8 +252,7 @@ public class RestAssured_TestCases {
 		System.out.println("Status Code: " + customResponse.getStatusCode());
 		System.out.println("Status Line: " + customResponse.getStatusLine());
 		System.out.println("Response Body: " + customResponse.getResponseBody());
-		JsonPath jsonPath = customResponse.getResponse().jsonPath();
-		Map<String, Object> data = jsonPath.getMap("data");
+		Map<String, Object> data = customResponse.getMap("data");
 
 		// Safely extract values
 		Boolean leaveAssignLeave = customResponse.leaveAssignLeave;
@@ -541,51 +566,42 @@ public class RestAssured_TestCases {
 	 * Precondition: - A valid OrangeHRM session cookie must be available from a
 	 * successful login via Selenium in the 'loginWithSeleniumAndGetCookie' method.
 	 *
-	 * Test Steps: 1. Create a new job title using the createJobTitle() method. 2.
-	 * Fetch the first job title ID using the GET
-	 * /web/index.php/api/v2/admin/job-titles endpoint. 3. Store the fetched ID as
-	 * 'idBefore'. 4. Construct the DELETE request body with 'idBefore' in the "ids"
-	 * array. 5. Send a DELETE request to /web/index.php/api/v2/admin/job-titles
-	 * with the valid cookie and request body. 6. Assert that the response status
-	 * code is 200 (OK). 7. Fetch the first job title ID again using GET
-	 * /web/index.php/api/v2/admin/job-titles. 8. Store the new ID as 'idAfter'. 9.
-	 * Verify that 'idAfter' is not equal to 'idBefore' to ensure deletion took
-	 * effect.
+	 * Test Steps: 1. Lease a job title created ahead of the test from the fixture
+	 * pool and store its ID as 'idBefore'. 2. Construct the DELETE request body
+	 * with 'idBefore' in the "ids" array. 3. Send a DELETE request to
+	 * /web/index.php/api/v2/admin/job-titles with the valid cookie and request
+	 * body. 4. Assert that the response status code is 200 (OK). 5. Verify that
+	 * the IDs reported as deleted contain 'idBefore'.
 	 *
-	 * Expected Results: - Status code is 200 after deletion. - The deleted job
-	 * title ID is no longer the first job title in the list. - API call
-	 * successfully removes the specified job title.
+	 * Expected Results: - Status code is 200 after deletion. - The leased job
+	 * title ID is reported as deleted. - API call successfully removes the
+	 * specified job title.
 	 */
 
 	@Test(priority = 9, dependsOnMethods = "loginWithSeleniumAndGetCookie", groups = {
-			"PL1" }, description = "1. Fetch job title ID using GET '/web/index.php/api/v2/admin/job-titles' also add a new job title before deleting\n"
+			"PL1" }, description = "1. Lease a job title created ahead of the test from the fixture pool\n"
 					+ "2. Delete that job title using DELETE '/web/index.php/api/v2/admin/job-titles'\n"
-					+ "3. Assert response code is 200 and first job title is different after deletion")
+					+ "3. Assert response code is 200 and the leased job title is reported as deleted")
 	public void DeleteJobTitleByIdTest() throws Exception {
 
-		createJobTitle();
-		// Step 1: Fetch the first job title ID before deletion
-		int idBefore = getFirstJobTitleId();
-		System.out.println("First Job Title ID before deletion: " + idBefore);
+		// Step 1: Lease a job title created ahead of the test
+		int idBefore = fixturePool.lease(FixtureCleanup.Resource.JOB_TITLES).id();
+		System.out.println("Job Title ID to be deleted: " + idBefore);
 
-		String requestBody = "{\n" + "  \"ids\": [" + idBefore + "]\n" + "}";
 		String endpoint = "/web/index.php/api/v2/admin/job-titles";
 
 		// Step 2: Delete the job title
-		CustomResponse customResponse = apiUtil.DeleteJobTitleById(endpoint, cookieValue, requestBody);
+		CustomResponse customResponse = apiUtil.DeleteJobTitleById(endpoint, cookieValue, BodyTemplate.IDS,
+				new int[] { idBefore });
 
 		// Step 3: Assert response status
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Status code should be 200 after deletion");
 		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "The status line does not match!");
 
-		// Step 4: Fetch the first job title ID after deletion
-		int idAfter = getFirstJobTitleId();
-		System.out.println("First Job Title ID after deletion: " + idAfter);
-
-		// Step 5: Validate that the first job title ID after deletion is different from
-		// the deleted one
-		Assert.assertNotEquals(idAfter, idBefore,
-				"First job title ID after deletion should not match the deleted job title ID");
+		// Step 4: Validate that the leased job title is reported as deleted
+		Assert.assertNotNull(customResponse.statusIdList, "Deleted job title ID list should not be null");
+		Assert.assertTrue(customResponse.statusIdList.contains(idBefore),
+				"Deleted job title IDs should contain the leased job title ID " + idBefore);
 	}
 
 	/**
@@ -650,7 +666,7 @@ public class RestAssured_TestCases {
 				"Grade ID list and Grade Name list sizes should match");
 
 		// Validate IDs are positive integers
-		Assert.assertTrue(customResponse.empIdList.stream().allMatch(id -> id > 0), "All Grade IDs should be positive");
+		Assert.assertTrue(customResponse.empIds().allPositive(), "All Grade IDs should be positive");
 
 		// Validate Names are not blank
 		Assert.assertTrue(customResponse.empNameList.stream().allMatch(name -> name != null && !name.trim().isEmpty()),
@@ -698,13 +714,9 @@ public class RestAssured_TestCases {
 		System.out.println("name is :" + uniquename + "id is");
 		// Step 2: Hard‑coded request body
 		// Step 2: Correct request body format (OrangeHRM requires currencies)
-		String requestBody = "{\n" + "  \"name\": \"" + uniquename + "\"\n" + "}";
-
-		System.out.println(requestBody);
-
 		// Step 3: Call API method
 		CustomResponse customResponse = apiUtil.PutPaygrades("/web/index.php/api/v2/admin/pay-grades/" + id,
-				cookieValue, requestBody);
+				cookieValue, BodyTemplate.NAME, uniquename);
 
 		// Step 4: Validate implementation
 		boolean isImplementationCorrect = TestCodeValidator.validateTestMethodFromFile(apiUtilPath, "PutPaygrades",
@@ -712,7 +724,7 @@ public class RestAssured_TestCases {
 		Assert.assertTrue(isImplementationCorrect, "Implementation is incorrect or missing required steps.");
 
 		// Step 5: Logging for debugging
-		System.out.println("Request Body: " + requestBody);
+		System.out.println("Request Body: " + new String(BodyTemplate.NAME.render(uniquename), StandardCharsets.UTF_8));
 		System.out.println("Status Code: " + customResponse.getStatusCode());
 		System.out.println("Response Body: " + customResponse.getResponseBody());
 
@@ -751,7 +763,7 @@ public class RestAssured_TestCases {
 	public void PostEmpStatuses() throws IOException {
 
 		// Step 1: Generate unique name
-		String uniqueName = "PayGrade_" + System.currentTimeMillis();
+		String uniqueName = ApiUtil.generateUniqueName("PayGrade_");
 
 		// Step 2: Create request body
 		String requestBody = "{\n" + "  \"name\": \"" + uniqueName + "\"\n" + "}";
@@ -785,13 +797,12 @@ public class RestAssured_TestCases {
 	 * endpoint.
 	 *
 	 * Precondition: - A valid OrangeHRM session cookie obtained via Selenium login.
-	 * - An existing employment status ID available from a previous POST or GET
-	 * request.
+	 * - An employment status leased from the fixture pool.
 	 *
 	 * Test Steps: 1. Generate a unique employment status name using a random string
 	 * for test isolation. 2. Construct the JSON request body with the generated
-	 * name. 3. Build the endpoint URL using the previously stored employment status
-	 * ID. 4. Send a PUT request to update the employment status name, including the
+	 * name. 3. Build the endpoint URL using the leased employment status ID.
+	 * 4. Send a PUT request to update the employment status name, including the
 	 * valid cookie. 5. Log the request body, HTTP status code, and response body
 	 * for debugging.
 	 *
@@ -801,22 +812,22 @@ public class RestAssured_TestCases {
 	 */
 
 	@Test(priority = 13, dependsOnMethods = "loginWithSeleniumAndGetCookie", groups = {
-			"PL1" }, description = "1. Fetch employment status ID using GET '/web/index.php/api/v2/admin/employment-statuses'\n"
+			"PL1" }, description = "1. Lease an employment status created ahead of the test from the fixture pool\n"
 					+ "2. Construct endpoint '/web/index.php/api/v2/admin/employment-statuses/{id}'\n"
 					+ "3. Send a PUT request with a valid cookie and body containing a new name\n"
 					+ "4. Print request/response details\n"
 					+ "5. Assert response code is 200 and updated name is reflected in the response")
 	public void PutEmploymentStatusTest() throws IOException {
 
-// Step 1: Get existing employment status ID
-//		int id = getFirstEmploymentStatus();
+// Step 1: Lease an employment status created ahead of the test
+		int id = fixturePool.lease(FixtureCleanup.Resource.EMPLOYMENT_STATUSES).id();
 		String uniqueName = generateRandomString(8);
 		System.out.println("Generated Employment Status Name: " + uniqueName);
 
 // Step 2: Create request body
 		String requestBody = "{\n" + "  \"name\": \"" + uniqueName + "\"\n" + "}";
 
-		String endpoint = "/web/index.php/api/v2/admin/employment-statuses/" + idBefore;
+		String endpoint = "/web/index.php/api/v2/admin/employment-statuses/" + id;
 
 // Step 3: Send PUT request
 		CustomResponse customResponse = apiUtil.PutEmploymentStatus(endpoint, cookieValue, requestBody);
@@ -848,45 +859,43 @@ public class RestAssured_TestCases {
 	 * Precondition: - A valid OrangeHRM session cookie obtained via Selenium login.
 	 * - At least one employment status exists in the system.
 	 *
-	 * Test Steps: 1. Create a new employment status to ensure a valid record exists
-	 * for deletion. 2. Retrieve the first employment status ID before deletion. 3.
-	 * Construct the request body containing the employment status ID. 4. Send a
-	 * DELETE request to the employment-statuses endpoint with the valid cookie. 5.
-	 * Assert that the API returns HTTP 200 OK, indicating successful deletion. 6.
-	 * Fetch the first employment status ID after deletion for verification.
+	 * Test Steps: 1. Lease an employment status created ahead of the test from the
+	 * fixture pool. 2. Construct the request body containing the employment status
+	 * ID. 3. Send a DELETE request to the employment-statuses endpoint with the
+	 * valid cookie. 4. Assert that the API returns HTTP 200 OK, indicating
+	 * successful deletion. 5. Verify that the leased ID is reported as deleted.
 	 *
 	 * Expected Results: - The API should return HTTP 200 OK after deletion. - The
-	 * first employment status ID after deletion should differ from the deleted ID.
-	 * - Response body should not be null after deletion.
+	 * leased employment status ID is reported as deleted. - Response body should
+	 * not be null after deletion.
 	 */
 
 	@Test(priority = 14, dependsOnMethods = "loginWithSeleniumAndGetCookie", groups = {
-			"PL1" }, description = "1. Fetch employment status ID using GET '/web/index.php/api/v2/admin/employment-statuses'\n"
+			"PL1" }, description = "1. Lease an employment status created ahead of the test from the fixture pool\n"
 					+ "2. Delete that employment status using DELETE '/web/index.php/api/v2/admin/employment-statuses'\n"
-					+ "3. Assert response code is 200 and verify that the first employment status ID has changed")
+					+ "3. Assert response code is 200 and verify that the leased employment status is reported as deleted")
 	public void DeleteEmploymentStatusByIdTest() throws Exception {
 
-		// Step 1: Get first employment status ID before deletion
-		createEmploymentStatus();
-		idBefore = getFirstEmploymentStatus();
+		// Step 1: Lease an employment status created ahead of the test
+		int idBefore = fixturePool.lease(FixtureCleanup.Resource.EMPLOYMENT_STATUSES).id();
 		System.out.println("Employment Status ID to be deleted: " + idBefore);
 
-		String requestBody = "{\n" + "  \"ids\": [" + idBefore + "]\n" + "}";
 		String endpoint = "/web/index.php/api/v2/admin/employment-statuses";
 
 		// Step 2: Send DELETE request
-		CustomResponse customResponse = apiUtil.DeleteJobTitleById(endpoint, cookieValue, requestBody);
+		CustomResponse customResponse = apiUtil.DeleteJobTitleById(endpoint, cookieValue, BodyTemplate.IDS,
+				new int[] { idBefore });
 
 		// Step 3: Assert deletion response status
 		Assert.assertEquals(customResponse.getStatusCode(), 200, "Expected status code 200 after deletion");
 		Assert.assertEquals(customResponse.getStatusLine(), "HTTP/1.0 200 OK", "The status line does not match!");
 
-		// Step 4: Get employment status ID after deletion
-		int idAfter = getFirstEmploymentStatus();
+		// Step 4: Verify the leased employment status is reported as deleted
 		System.out.println("Here it is" + customResponse.getResponseBody());
-		// int idAfter = deleteResponse.empId;
-		System.out.println("First Employment Status ID after deletion: " + idAfter);
 		Assert.assertNotNull(customResponse.getResponseBody(), "Response body should not be null after deletion");
+		Assert.assertNotNull(customResponse.statusIdList, "Deleted employment status ID list should not be null");
+		Assert.assertTrue(customResponse.statusIdList.contains(idBefore),
+				"Deleted employment status IDs should contain the leased ID " + idBefore);
 	}
 
 	/**
@@ -944,57 +953,133 @@ public class RestAssured_TestCases {
 
 	}
 
-	/*------------Helper Methods------------*/
+	/**
+	 * Load Test: Issue the dashboard and admin requests of this suite at the
+	 * arrival rate of <code>load.profile</code> (or <code>load.rate</code> for
+	 * <code>load.duration</code>), weighted by <code>load.mix</code>.
+	 *
+	 * Not part of the PL1 group; run it with testng-load.xml. Logs in on its own
+	 * when the login test did not run.
+	 *
+	 * Expected Results: - No more than <code>load.max.error.percent</code> of the
+	 * calls fail.
+	 */
 
-	public void createJobTitleById() {
+	@Test(groups = { "load" }, description = "1. Log in over HTTP unless a session cookie is already available\n"
+			+ "2. Send the weighted operation mix at the configured arrival rate, independent of response times\n"
+			+ "3. Print response and service time percentiles per operation\n"
+			+ "4. Assert that the error rate stays within load.max.error.percent")
+	public void openModelLoadTest() {
+		if (cookieValue == null) {
+			cookieValue = LoginUtil.login();
+		}
+		LoadProfile profile = LoadProfile.fromConfig(ConfigManager.config());
+		System.out.println("Load profile " + profile + ": " + profile.arrivals() + " requests");
 
-		String requestBody = String.format(
-				"{ \"title\": \"%s\", \"description\": \"%s\", \"specification\": null, \"note\": \"\" }",
-				generateRandomString(8), // title
-				generateRandomString(10) // description
-		);
+		LoadReport report = LoadGenerator.orangeHrm(cookieValue).run(profile);
+		System.out.println(report.summary());
 
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).contentType(ContentType.JSON)
-				.body(requestBody).post(baseUrl + "/web/index.php/api/v2/admin/employment-statuses");
+		double maxErrorPercent = ConfigManager.config().getDouble("load.max.error.percent", 1);
+		Assert.assertTrue(report.errorPercent() <= maxErrorPercent,
+				"Error rate " + report.errorPercent() + "% exceeds " + maxErrorPercent + "%");
+	}
 
+	/**
+	 * Load Test: Run <code>load.users</code> virtual users that each repeat the
+	 * OrangeHRM journey (dashboard shortcuts, action summary, leave info, then
+	 * create and rename an employment status) with <code>load.think.time</code>
+	 * between steps, for <code>load.duration</code>.
+	 *
+	 * Not part of the PL1 group; run it with testng-load.xml. Every user keeps a
+	 * session of its own, so a {@link SessionPool} of <code>load.users</code>
+	 * sessions is logged in.
+	 *
+	 * Expected Results: - No more than <code>load.max.error.percent</code> of the
+	 * calls fail.
+	 */
+
+	@Test(groups = { "load" }, description = "1. Log in a session for each of the load.users virtual users\n"
+			+ "2. Start load.users users over load.ramp.up, each repeating the journey with think time\n"
+			+ "3. Print per-step and per-journey latency percentiles\n"
+			+ "4. Assert that the error rate stays within load.max.error.percent")
+	public void closedModelLoadTest() {
+		LoadReport report;
+		try (SessionPool sessions = SessionPool.fromConfig(ScenarioRunner.users(ConfigManager.config()))) {
+			report = new ScenarioRunner(Journey.orangeHrm(), sessions).run(ConfigManager.config());
+		}
+		System.out.println(report.summary());
+
+		double maxErrorPercent = ConfigManager.config().getDouble("load.max.error.percent", 1);
+		Assert.assertTrue(report.errorPercent() <= maxErrorPercent,
+				"Error rate " + report.errorPercent() + "% exceeds " + maxErrorPercent + "%");
 	}
 
-	public String generateRandomString(int length) {
+	/*------------Helper Methods------------*/
 
-		String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-		SecureRandom RANDOM = new SecureRandom();
-		StringBuilder sb = new StringBuilder(length);
+	/**
+	 * Starts creating the job titles and employment statuses that the write tests
+	 * lease, in the background, with the session of the login test.
+	 */
+	private void startFixturePool() {
+		if (fixturePool == null) {
+			fixturePool = new FixturePool(cookieValue).prefill(FixtureCleanup.Resource.JOB_TITLES,
+					FixtureCleanup.Resource.EMPLOYMENT_STATUSES);
+		}
+	}
 
-		for (int i = 0; i < length; i++) {
-			int index = RANDOM.nextInt(CHARACTERS.length());
-			sb.append(CHARACTERS.charAt(index));
+	/**
+	 * Waits for the fixtures still being created, so that the fixture cleanup at
+	 * the end of the suite deletes them too.
+	 */
+	@AfterClass(alwaysRun = true)
+	public void closeFixturePool() {
+		if (fixturePool != null) {
+			fixturePool.close();
+			fixturePool = null;
 		}
+	}
+
+	public void createJobTitleById() {
+
+		byte[] requestBody = BodyTemplate.JOB_TITLE.render(generateRandomString(8), // title
+				generateRandomString(10), // description
+				"" // note
+		);
+
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.contentType(ContentType.JSON).body(requestBody)
+				.post(baseUrl + "/web/index.php/api/v2/admin/employment-statuses");
 
-		return sb.toString();
+	}
+
+	public String generateRandomString(int length) {
+		return PayloadRandom.current().alphanumeric(length);
 	}
 
 	public void CreateEmp() {
 		String name = generateRandomString(8);
 
-		// Create JSON body as a string
-		String requestBody = "{ \"name\": \"" + name + "\" }";
+		// Create JSON body from the template
+		byte[] requestBody = BodyTemplate.NAME.render(name);
 
 		// Send POST request with body and cookie
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).contentType(ContentType.JSON)
-				.body(requestBody).post(baseUrl + "/web/index.php/api/v2/admin/employment-statuses");
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.contentType(ContentType.JSON).body(requestBody)
+				.post(baseUrl + "/web/index.php/api/v2/admin/employment-statuses");
 
 		// Log response
-		System.out.println("Request Body: " + requestBody);
+		System.out.println("Request Body: " + new String(requestBody, StandardCharsets.UTF_8));
 		System.out.println("Status Code: " + response.getStatusCode());
 		System.out.println("Response Body: " + response.getBody().asString());
 	}
 
 	public int getPayGradeid() {
 		String endpoint = "/web/index.php/api/v2/admin/pay-grades?limit=50&offset=0";
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(baseUrl + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(baseUrl + endpoint);
 
 		if (response.statusCode() == 200) {
-			int firstId = response.jsonPath().getInt("data[0].id");
+			int firstId = JsonPathAccessor.FIRST_ID.getInt(JsonPathAccessor.read(response));
 			System.out.println("First Job Title ID: " + firstId);
 			return firstId;
 		} else {
@@ -1006,10 +1091,11 @@ public class RestAssured_TestCases {
 	public int getemploymentstatusid() {
 		String endpoint = "/web/index.php/api/v2/admin/employment-statuses?limit=50&offset=0";
 
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(baseUrl + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(baseUrl + endpoint);
 
 		if (response.statusCode() == 200) {
-			int firstId = response.jsonPath().getInt("data[0].id");
+			int firstId = JsonPathAccessor.FIRST_ID.getInt(JsonPathAccessor.read(response));
 			System.out.println("First Job Title ID: " + firstId);
 			return firstId;
 		} else {
@@ -1022,18 +1108,17 @@ public class RestAssured_TestCases {
 	public void createJobTitle() {
 		String endpoint = "/web/index.php/api/v2/admin/job-titles";
 
-		// Generate a unique title using timestamp
-		String uniqueTitle = "Job_" + System.currentTimeMillis();
+		// Generate a unique title
+		String uniqueTitle = ApiUtil.generateUniqueName("Job_");
 
 		// Build request body
-		String requestBody = "{\n" + "  \"title\": \"" + uniqueTitle + "\",\n" + "  \"description\": \"\",\n"
-				+ "  \"specification\": null,\n" + "  \"note\": \"\"\n" + "}";
+		byte[] requestBody = BodyTemplate.JOB_TITLE.render(uniqueTitle, "", "");
 
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).post(baseUrl + endpoint).then().extract()
-				.response();
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody)
+				.post(baseUrl + endpoint).then().extract().response();
 
-		System.out.println("Create Job Title Request Body: " + requestBody);
+		System.out.println("Create Job Title Request Body: " + new String(requestBody, StandardCharsets.UTF_8));
 		System.out.println("Create Job Title Response Code: " + response.getStatusCode());
 		System.out.println("Create Job Title Response: " + response.asString());
 
@@ -1045,10 +1130,11 @@ public class RestAssured_TestCases {
 	public int getFirstEmploymentStatus() {
 		String endpoint = "/web/index.php/api/v2/admin/employment-statuses?limit=50&offset=0";
 
-		Response response = RestAssured.given().cookie("orangehrm", cookieValue).get(baseUrl + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).cookie("orangehrm", cookieValue)
+				.get(baseUrl + endpoint);
 
 		if (response.statusCode() == 200) {
-			int firstId = response.jsonPath().getInt("data[0].id");
+			int firstId = JsonPathAccessor.FIRST_ID.getInt(JsonPathAccessor.read(response));
 			System.out.println("First Job Title ID: " + firstId);
 			return firstId;
 		} else {
@@ -1061,13 +1147,13 @@ public class RestAssured_TestCases {
 	public int getFirstJobTitleId() {
 		String endpoint = "/web/index.php/api/v2/admin/job-titles?limit=50&offset=0&sortField=jt.jobTitleName&sortOrder=ASC";
 
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.get(baseUrl + endpoint);
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).get(baseUrl + endpoint);
 
 		System.out.println("Get Job Titles Response: " + response.asString());
 
 		if (response.statusCode() == 200) {
-			List<Map<String, Object>> dataList = response.jsonPath().getList("data");
+			List<Map<String, Object>> dataList = JsonPathAccessor.DATA.getList(JsonPathAccessor.read(response));
 			if (dataList != null && !dataList.isEmpty() && dataList.get(0).get("id") != null) {
 				int firstId = ((Number) dataList.get(0).get("id")).intValue();
 				System.out.println("First Job Title ID: " + firstId);
@@ -1086,16 +1172,17 @@ public class RestAssured_TestCases {
 		String endpoint = "/web/index.php/api/v2/admin/employment-statuses";
 
 		// Generate a random string for name
-		String uniqueName = "EmpStatus_" + System.currentTimeMillis();
+		String uniqueName = ApiUtil.generateUniqueName("EmpStatus_");
 
 		// Request body
-		String requestBody = "{\n" + "  \"name\": \"" + uniqueName + "\"\n" + "}";
+		byte[] requestBody = BodyTemplate.NAME.render(uniqueName);
 
-		Response response = RestAssured.given().relaxedHTTPSValidation().cookie("orangehrm", cookieValue)
-				.header("Content-Type", "application/json").body(requestBody).post(baseUrl + endpoint).then().extract()
-				.response();
+		Response response = RestAssured.given(HttpClientPool.requestSpec()).relaxedHTTPSValidation()
+				.cookie("orangehrm", cookieValue).header("Content-Type", "application/json").body(requestBody)
+				.post(baseUrl + endpoint).then().extract().response();
 
-		System.out.println("Create Employment Status Request Body: " + requestBody);
+		System.out.println(
+				"Create Employment Status Request Body: " + new String(requestBody, StandardCharsets.UTF_8));
 		System.out.println("Create Employment Status Response Code: " + response.getStatusCode());
 		System.out.println("Create Employment Status Response: " + response.asString());
 